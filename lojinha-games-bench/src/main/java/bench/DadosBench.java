@@ -0,0 +1,95 @@
+package bench;
+
+import dao.JogoDAO;
+import model.Jogo;
+import util.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+// Banco e catálogo de teste dos benchmarks.
+//
+// O banco é o H2 em memória (ver @Fork nos benchmarks: -Dlojinha.db.url=...),
+// acessado pelo mesmo ConnectionFactory/pool do sistema, que reconhece o H2
+// pela URL e já cria as tabelas (db/h2/schema.sql do sistema).
+// O catálogo é gerado com semente fixa: toda execução mede os mesmos dados.
+final class DadosBench {
+
+    private DadosBench() {}
+
+    // Argumento das JVMs dos benchmarks que usam banco.
+    static final String URL_H2 = "-Dlojinha.db.url=jdbc:h2:mem:lojinha;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String[] PALAVRAS = {
+        "Super", "Mario", "Kart", "Zelda", "Legend", "FIFA", "Call", "Duty", "Gran", "Turismo",
+        "Dark", "Souls", "Elden", "Ring", "Halo", "Forza", "Horizon", "God", "War", "Spider",
+        "Man", "Resident", "Evil", "Street", "Fighter", "Final", "Fantasy", "Sonic", "Edição", "Deluxe"
+    };
+
+    private static final String[] PLATAFORMAS = { "PS5", "PS4", "Xbox Series", "Xbox One", "Switch", "PC" };
+
+    // Grava "quantidade" jogos pelo próprio JogoDAO.inserirLote.
+    static void popular(JogoDAO dao, int quantidade) {
+        dao.inserirLote(catalogo(quantidade));
+    }
+
+    // IDs de todos os jogos gravados.
+    static int[] ids() {
+        List<Integer> lista = new ArrayList<>();
+        try (Connection c = ConnectionFactory.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id FROM jogo")) {
+
+            while (rs.next()) lista.add(rs.getInt(1));
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar ids: " + e.getMessage());
+        }
+        return lista.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Catálogo em memória (com IDs 1..quantidade), sem banco.
+    static List<Jogo> lista(int quantidade) {
+        List<Jogo> lista = new ArrayList<>(quantidade);
+        int id = 1;
+        for (Jogo j : catalogo(quantidade)) {
+            j.setId(id++);
+            lista.add(j);
+        }
+        return lista;
+    }
+
+    // Gera os jogos um a um (1 milhão de jogos não precisa caber numa lista).
+    static Iterable<Jogo> catalogo(int quantidade) {
+        return () -> new Iterator<>() {
+            private final Random rnd = new Random(42);
+            private int gerados = 0;
+
+            @Override
+            public boolean hasNext() {
+                return gerados < quantidade;
+            }
+
+            @Override
+            public Jogo next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                gerados++;
+                return novoJogo(rnd);
+            }
+        };
+    }
+
+    static Jogo novoJogo(Random rnd) {
+        String titulo = PALAVRAS[rnd.nextInt(PALAVRAS.length)] + " "
+                + PALAVRAS[rnd.nextInt(PALAVRAS.length)] + " " + (1 + rnd.nextInt(9999));
+        String plataforma = PLATAFORMAS[rnd.nextInt(PLATAFORMAS.length)];
+        long preco = 990 + rnd.nextInt(50_000);
+        return new Jogo(titulo, plataforma, preco, null);
+    }
+}
@@ -0,0 +1,140 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.ImageStorage;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Upload de imagem (ImageStorage.salvarImagem) e redimensionamento da capa
+// (o que a tela faz para mostrar a imagem), com imagens de vários tamanhos.
+//
+// As imagens são gravadas em ./imagens (pasta de onde o benchmark é rodado)
+// e apagadas ao fim de cada iteração.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImageStorageBenchmark {
+
+    // Lado da imagem em pixels (256 => ~30 KB, 1024 => ~400 KB, 4096 => ~6 MB em JPEG).
+    @Param({ "256", "1024", "4096" })
+    public int lado;
+
+    private BufferedImage imagem;
+    private byte[] jpeg;
+    private Path arquivoRepetido;
+
+    private final Set<String> salvas = new LinkedHashSet<>();
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        imagem = gerarImagem(lado);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "jpg", out);
+        jpeg = out.toByteArray();
+
+        arquivoRepetido = Files.createTempFile("bench-", ".jpg");
+        Files.write(arquivoRepetido, jpeg);
+    }
+
+    // Arquivo com conteúdo inédito a cada chamada (bytes extras depois do fim do JPEG):
+    // mede o caminho completo (cópia + hash + capa + ícone), sem deduplicação.
+    // Estado separado: só o salvarImagemNova paga a gravação do arquivo antes de cada chamada.
+    @State(Scope.Thread)
+    public static class ArquivoNovo {
+        Path arquivo;
+        long contador = 0;
+
+        @Setup(Level.Trial)
+        public void criar() throws Exception {
+            arquivo = Files.createTempFile("bench-", ".jpg");
+        }
+
+        @Setup(Level.Invocation)
+        public void preencher(ImageStorageBenchmark bench) throws Exception {
+            byte[] conteudo = new byte[bench.jpeg.length + Long.BYTES];
+            System.arraycopy(bench.jpeg, 0, conteudo, 0, bench.jpeg.length);
+            ByteBuffer.wrap(conteudo, bench.jpeg.length, Long.BYTES).putLong(++contador);
+            Files.write(arquivo, conteudo);
+        }
+
+        @TearDown(Level.Trial)
+        public void apagar() throws Exception {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void apagarSalvas() {
+        for (String caminho : salvas) ImageStorage.removerImagem(caminho);
+        salvas.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws Exception {
+        Files.deleteIfExists(arquivoRepetido);
+    }
+
+    @Benchmark
+    public String salvarImagemNova(ArquivoNovo novo) {
+        String caminho = ImageStorage.salvarImagem(novo.arquivo);
+        salvas.add(caminho);
+        return caminho;
+    }
+
+    // Mesma imagem de novo: só cópia + hash (capa e ícone já existem).
+    @Benchmark
+    public String salvarImagemRepetida() {
+        String caminho = ImageStorage.salvarImagem(arquivoRepetido);
+        salvas.add(caminho);
+        return caminho;
+    }
+
+    // Redimensionar para a capa do preview (280x280).
+    @Benchmark
+    public BufferedImage redimensionarCapa() {
+        return ImageStorage.redimensionar(imagem, ImageStorage.TAMANHO_CAPA, ImageStorage.TAMANHO_CAPA);
+    }
+
+    // Imagem "de foto": gradiente com ruído (JPEG de tamanho realista).
+    private static BufferedImage gerarImagem(int lado) {
+        BufferedImage img = new BufferedImage(lado, lado, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setPaint(new java.awt.GradientPaint(0, 0, Color.BLUE, lado, lado, Color.ORANGE));
+        g.fillRect(0, 0, lado, lado);
+        g.dispose();
+
+        Random rnd = new Random(lado);
+        for (int i = 0; i < lado * lado / 4; i++) {
+            int x = rnd.nextInt(lado), y = rnd.nextInt(lado);
+            img.setRGB(x, y, img.getRGB(x, y) ^ (rnd.nextInt() & 0x3F3F3F));
+        }
+        return img;
+    }
+}
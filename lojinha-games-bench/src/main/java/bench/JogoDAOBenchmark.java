@@ -0,0 +1,83 @@
+package bench;
+
+import dao.JogoDAO;
+import dao.Pagina;
+import model.Jogo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// CRUD e listagem do JogoDAO com 1 mil, 100 mil e 1 milhão de jogos no banco.
+//
+// Cada combinação de @Param roda numa JVM nova (fork), com um H2 em memória
+// novo: o pool do ConnectionFactory é criado já apontando para ele.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx3g", DadosBench.URL_H2 })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JogoDAOBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int linhas;
+
+    private final JogoDAO dao = new JogoDAO();
+    private final Random rnd = new Random(7);
+
+    private int[] ids;
+
+    // Jogo alterado pelo benchmark "atualizar" (a versão avança a cada chamada).
+    private Jogo alvo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DadosBench.popular(dao, linhas);
+        ids = DadosBench.ids();
+        alvo = dao.buscarPorId(ids[ids.length / 2]);
+    }
+
+    @Benchmark
+    public Jogo buscarPorId() {
+        return dao.buscarPorId(ids[rnd.nextInt(ids.length)]);
+    }
+
+    // INSERT + DELETE: a tabela fica sempre do mesmo tamanho.
+    @Benchmark
+    public boolean inserirExcluir() {
+        Jogo j = dao.inserir(DadosBench.novoJogo(rnd));
+        return dao.excluir(j.getId());
+    }
+
+    @Benchmark
+    public Jogo atualizar() {
+        alvo.setPrecoCentavos(990 + rnd.nextInt(50_000));
+        return dao.atualizar(alvo);
+    }
+
+    // Primeira página da tabela (o que a tela faz ao abrir).
+    @Benchmark
+    public Pagina<Jogo> listarPagina() {
+        return dao.listarPagina(null, 200, true);
+    }
+
+    // Catálogo inteiro numa lista.
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Jogo> listar() {
+        return dao.listar();
+    }
+}
@@ -0,0 +1,82 @@
+package bench;
+
+import dao.JogoDAO;
+import model.Jogo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import view.JogoTableModel;
+import view.TarefasBanco;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Model da JTable: preencher com N jogos e ler as células como a JTable lê.
+// Não usa banco (mostrarResultado recebe a lista pronta).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx3g", "-Djava.awt.headless=true" })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TableModelBenchmark {
+
+    // Linhas visíveis numa tela típica.
+    private static final int LINHAS_VISIVEIS = 40;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int linhas;
+
+    private List<Jogo> jogos;
+    private TarefasBanco tarefas;
+    private JogoTableModel modelo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        jogos = DadosBench.lista(linhas);
+        tarefas = new TarefasBanco(1, null);
+        modelo = new JogoTableModel(new JogoDAO(), tarefas, 200, 10, null);
+        modelo.mostrarResultado(jogos, jogos.size(), j -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        tarefas.encerrar();
+    }
+
+    // Troca o conteúdo inteiro da tabela.
+    @Benchmark
+    public int preencher() {
+        modelo.mostrarResultado(jogos, jogos.size(), j -> true);
+        return modelo.getRowCount();
+    }
+
+    // Desenhar uma tela: todas as colunas das linhas visíveis.
+    @Benchmark
+    public void desenharTela(Blackhole bh) {
+        int inicio = linhas / 2;
+        for (int l = inicio; l < inicio + LINHAS_VISIVEIS; l++) {
+            for (int c = 0; c < modelo.getColumnCount(); c++) bh.consume(modelo.getValueAt(l, c));
+        }
+    }
+
+    // Rolar a tabela do começo ao fim.
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void rolarTudo(Blackhole bh) {
+        for (int l = 0; l < modelo.getRowCount(); l++) {
+            for (int c = 0; c < modelo.getColumnCount(); c++) bh.consume(modelo.getValueAt(l, c));
+        }
+    }
+}
@@ -3,17 +3,39 @@
 package app;
 
 // Importa classes do Swing para trabalhar com interface gráfica.
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 // Importa a tela principal do sistema (View no MVC).
 import view.TelaProdutosForm;
 
+// Configurações da loja (lojinha.properties, variáveis de ambiente, -D...).
+import util.Configuracao;
+
+// Tempos das operações (JConsole e arquivo CSV).
+import util.Metricas;
+
+// Grava onde a tela travou (pilha da thread da tela + operações em andamento).
+import util.VigiaEdt;
+
 public class Main {
 
     // Método principal: é o ponto de entrada do programa Java.
     public static void main(String[] args) {
 
+        // Lê a configuração uma vez, antes de tudo: um valor errado aparece agora,
+        // com a lista de problemas, e não como um erro estranho no meio do uso.
+        Configuracao config;
+        try {
+            config = Configuracao.atual();
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            JOptionPane.showMessageDialog(null, e.getMessage(), "Configuração", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+            return;
+        }
+
         try {
             // Percorre todos os "temas visuais" (Look and Feel) disponíveis no sistema.
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
@@ -34,6 +56,14 @@ public class Main {
         // Isso evita que o programa pare por causa do visual.
         } catch (Exception ignored) {}
 
+        // Grava os tempos das operações em metricas/*.csv a cada N segundos.
+        // Ex.: lojinha.metricas.intervalo=60 (sem a opção, não grava; o JMX funciona sempre).
+        Metricas.iniciarRegistro(config.getMetricasIntervaloS());
+
+        // Vigia da tela: evento que segurar a tela por mais de N ms vai para logs/.
+        // Ex.: lojinha.edt.limite=500 (sem a opção, desligado).
+        VigiaEdt.iniciar(config.getEdtLimiteMs());
+
         // Garante que a interface gráfica rode na Thread de interface (Event Dispatch Thread).
         // Isso é uma boa prática no Swing.
         SwingUtilities.invokeLater(() ->
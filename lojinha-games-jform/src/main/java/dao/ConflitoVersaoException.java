@@ -0,0 +1,39 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+
+// Lançada por JogoDAO.atualizar quando o jogo mudou no banco depois de
+// ter sido carregado (outra pessoa salvou antes).
+//
+// Traz as duas versões para a tela decidir o que fazer:
+// - tentativa => o que o usuário quis gravar (com a versão antiga)
+// - atual     => como o jogo está agora no banco (null se foi excluído)
+public class ConflitoVersaoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Jogo não é Serializable: os jogos ficam de fora se a exceção for serializada.
+    private final transient Jogo tentativa;
+    private final transient Jogo atual;
+
+    public ConflitoVersaoException(Jogo tentativa, Jogo atual) {
+        super(atual == null
+                ? "O jogo \"" + tentativa.getTitulo() + "\" foi excluído por outro usuário."
+                : "O jogo \"" + tentativa.getTitulo() + "\" foi alterado por outro usuário.");
+        this.tentativa = tentativa;
+        this.atual = atual;
+    }
+
+    public Jogo getTentativa() {
+        return tentativa;
+    }
+
+    public Jogo getAtual() {
+        return atual;
+    }
+
+    public boolean foiExcluido() {
+        return atual == null;
+    }
+}
@@ -0,0 +1,193 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Filtro da busca de jogos no banco.
+// Campos nulos (ou vazios) não filtram nada.
+public class FiltroJogo {
+
+    // Como o texto do título é comparado:
+    // PREFIXO  => título começa com o texto   (titulo LIKE 'x%', usa idx_jogo_titulo)
+    // PALAVRAS => todas as palavras aparecem (MATCH ... AGAINST, usa o índice FULLTEXT)
+    // CONTEM   => texto em qualquer parte     (LIKE '%x%', percorre a tabela: evite em catálogos grandes)
+    public enum ModoTitulo { PREFIXO, PALAVRAS, CONTEM }
+
+    // Ordem do resultado (sempre desempatando pelo id, para a paginação por keyset).
+    public enum Ordenacao { TITULO, PRECO_MENOR, PRECO_MAIOR }
+
+    // Palavras menores que isso não entram no índice FULLTEXT do MySQL
+    // (innodb_ft_min_token_size = 3) e são ignoradas na busca por palavras.
+    public static final int TAMANHO_MINIMO_PALAVRA = 3;
+
+    private String titulo;
+    private ModoTitulo modoTitulo = ModoTitulo.PREFIXO;
+    private String plataforma;
+    // Faixa de preço em centavos (null = sem limite).
+    private Long precoMinimo;
+    private Long precoMaximo;
+    private Ordenacao ordenacao = Ordenacao.TITULO;
+
+    public FiltroJogo() {}
+
+    // Cópia independente (mudar uma não muda a outra).
+    public FiltroJogo(FiltroJogo outro) {
+        this.titulo = outro.titulo;
+        this.modoTitulo = outro.modoTitulo;
+        this.plataforma = outro.plataforma;
+        this.precoMinimo = outro.precoMinimo;
+        this.precoMaximo = outro.precoMaximo;
+        this.ordenacao = outro.ordenacao;
+    }
+
+    // ===== GETTERS E SETTERS =====
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public ModoTitulo getModoTitulo() {
+        return modoTitulo;
+    }
+
+    public void setModoTitulo(ModoTitulo modoTitulo) {
+        this.modoTitulo = modoTitulo;
+    }
+
+    public String getPlataforma() {
+        return plataforma;
+    }
+
+    public void setPlataforma(String plataforma) {
+        this.plataforma = plataforma;
+    }
+
+    public Long getPrecoMinimo() {
+        return precoMinimo;
+    }
+
+    public void setPrecoMinimo(Long precoMinimo) {
+        this.precoMinimo = precoMinimo;
+    }
+
+    public Long getPrecoMaximo() {
+        return precoMaximo;
+    }
+
+    public void setPrecoMaximo(Long precoMaximo) {
+        this.precoMaximo = precoMaximo;
+    }
+
+    public Ordenacao getOrdenacao() {
+        return ordenacao;
+    }
+
+    public void setOrdenacao(Ordenacao ordenacao) {
+        this.ordenacao = ordenacao;
+    }
+
+    public boolean temTitulo() {
+        return titulo != null && !titulo.isBlank();
+    }
+
+    public boolean temPlataforma() {
+        return plataforma != null && !plataforma.isBlank();
+    }
+
+    // Palavras do título usadas no modo PALAVRAS (as curtas demais ficam de fora).
+    public List<String> palavras() {
+        List<String> lista = new ArrayList<>();
+        if (!temTitulo()) return lista;
+        for (String palavra : titulo.trim().split("[^\\p{L}\\p{N}]+")) {
+            if (palavra.length() >= TAMANHO_MINIMO_PALAVRA) lista.add(palavra);
+        }
+        return lista;
+    }
+
+    // Modo realmente usado: PALAVRAS sem nenhuma palavra válida vira PREFIXO.
+    public ModoTitulo modoEfetivo() {
+        if (modoTitulo == ModoTitulo.PALAVRAS && palavras().isEmpty()) return ModoTitulo.PREFIXO;
+        return modoTitulo;
+    }
+
+    // true => não filtra nada (lista o catálogo inteiro).
+    public boolean isVazio() {
+        return !temTitulo() && !temPlataforma() && precoMinimo == null && precoMaximo == null;
+    }
+
+    // ==============================
+    // FILTRO EM MEMÓRIA
+    // ==============================
+    // Mesmo critério do SQL, para decidir se uma linha salva agora
+    // deve aparecer na tabela filtrada (sem ir ao banco).
+    // Assim como o MySQL, ignora maiúsculas e acentos.
+    public boolean aceita(Jogo j) {
+        return criterio().test(j);
+    }
+
+    // O mesmo teste, com o texto do filtro já normalizado uma vez só.
+    // Use este para testar muitos jogos (ex.: o catálogo inteiro, em paralelo):
+    // o Predicate devolvido não muda mais, mesmo que o filtro seja alterado depois.
+    public Predicate<Jogo> criterio() {
+
+        String plataformaBusca = temPlataforma() ? normalizar(plataforma.trim()) : null;
+        Long minimo = precoMinimo;
+        Long maximo = precoMaximo;
+        ModoTitulo modo = modoEfetivo();
+        String busca = temTitulo() ? normalizar(titulo.trim()) : null;
+
+        // Modo PALAVRAS: cada palavra buscada precisa ser início de alguma palavra do título.
+        List<String> inicios = new ArrayList<>();
+        for (String palavra : palavras()) inicios.add(" " + normalizar(palavra));
+
+        return j -> {
+            if (plataformaBusca != null && !plataformaBusca.equals(normalizar(j.getPlataforma()))) return false;
+            if (minimo != null && j.getPrecoCentavos() < minimo) return false;
+            if (maximo != null && j.getPrecoCentavos() > maximo) return false;
+            if (busca == null) return true;
+
+            String t = normalizar(j.getTitulo());
+
+            switch (modo) {
+                case PREFIXO:
+                    return t.startsWith(busca);
+                case CONTEM:
+                    return t.contains(busca);
+                default:
+                    String comEspacos = " " + SEPARADORES.matcher(t).replaceAll(" ");
+                    for (String inicio : inicios) {
+                        if (!comEspacos.contains(inicio)) return false;
+                    }
+                    return true;
+            }
+        };
+    }
+
+    // Expressões compiladas uma vez só (o critério roda para cada jogo do catálogo).
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Minúsculas e sem acentos ("Edição" => "edicao").
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+
+        // Caminho rápido: sem nenhum caractere acentuado não há o que decompor.
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) ascii = texto.charAt(i) < 0x80;
+        if (ascii) return texto.toLowerCase(Locale.ROOT);
+
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+}
@@ -9,53 +9,209 @@ import model.Jogo;
 // Classe responsável por criar conexões com o banco.
 import util.ConnectionFactory;
 
+// Guarda/remove os arquivos de imagem.
+import util.ImageStorage;
+
+// Tempo de cada operação (JMX / CSV).
+import util.Metricas;
+
+// Preço em centavos <=> DECIMAL do banco.
+import util.Preco;
+
+import java.math.BigDecimal;
+
 // Importações do JDBC (Java Database Connectivity).
 import java.sql.*;
 
 // Importações para trabalhar com listas.
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 // Classe DAO do Jogo.
 // Ela faz o CRUD (Create, Read, Update, Delete) no banco.
-public class JogoDAO {
+public class JogoDAO implements JogoRepositorio {
+
+    private static final Logger LOG = Logger.getLogger(JogoDAO.class.getName());
+
+    // Converte cada linha do ResultSet em Jogo (pela posição das colunas).
+    private static final RowMapper<Jogo> MAPPER = JogoRowMapper.INSTANCIA;
+
+    // Tempo de cada operação (ver util.Metricas).
+    private static final Metricas.Cronometro TEMPO_INSERIR = Metricas.cronometro("dao.inserir");
+    private static final Metricas.Cronometro TEMPO_INSERIR_LOTE = Metricas.cronometro("dao.inserirLote");
+    private static final Metricas.Cronometro TEMPO_ATUALIZAR = Metricas.cronometro("dao.atualizar");
+    private static final Metricas.Cronometro TEMPO_REAJUSTAR = Metricas.cronometro("dao.reajustarPrecos");
+    private static final Metricas.Cronometro TEMPO_EXCLUIR = Metricas.cronometro("dao.excluir");
+    private static final Metricas.Cronometro TEMPO_LIBERAR_IMAGEM = Metricas.cronometro("dao.liberarImagemSeOrfa");
+    private static final Metricas.Cronometro TEMPO_LISTAR = Metricas.cronometro("dao.listar");
+    private static final Metricas.Cronometro TEMPO_PERCORRER = Metricas.cronometro("dao.forEach");
+    private static final Metricas.Cronometro TEMPO_BUSCAR_PAGINA = Metricas.cronometro("dao.buscarPagina");
+    private static final Metricas.Cronometro TEMPO_PLATAFORMAS = Metricas.cronometro("dao.listarPlataformas");
+    private static final Metricas.Cronometro TEMPO_BUSCAR_POR_ID = Metricas.cronometro("dao.buscarPorId");
+    // Só a conversão das linhas em Jogo (JogoRowMapper), somada por consulta:
+    // o que sobra de dao.listar/buscarPagina/forEach é banco e rede.
+    private static final Metricas.Cronometro TEMPO_MAPEAR = Metricas.cronometro("dao.mapear");
+
+    // Os comandos SQL ficam em SqlJogo: o mesmo texto sempre, para o cache de
+    // statements do pool reaproveitar o comando já preparado.
+
+    // Identifica este programa aberto no registro de alterações (jogo_changes):
+    // o MonitorAlteracoes ignora o que foi gravado por ele mesmo.
+    public static final String ORIGEM = UUID.randomUUID().toString();
+
+    // Tipos de alteração gravados em jogo_changes.operacao.
+    public static final char INSERCAO = 'I';
+    public static final char ATUALIZACAO = 'U';
+    public static final char EXCLUSAO = 'D';
+
+    // Toda escrita grava também uma linha em jogo_changes, NA MESMA TRANSAÇÃO:
+    // ou as duas ficam no banco, ou nenhuma. As outras telas abertas leem só
+    // essas linhas (ver MonitorAlteracoes) em vez de recarregar a tabela.
 
     // ==============================
     // INSERIR (CREATE)
     // ==============================
-    public void inserir(Jogo j) {
+    // Devolve o próprio jogo, já com o ID gerado pelo banco.
+    public Jogo inserir(Jogo j) {
+
+        long inicio = TEMPO_INSERIR.iniciar();
 
         // Comando SQL para inserir dados no banco.
         // ? são parâmetros que serão preenchidos depois.
-        String sql = "INSERT INTO jogo (titulo, plataforma, preco, imagem_path) VALUES (?, ?, ?, ?)";
+        String sql = SqlJogo.INSERIR;
 
         // try-with-resources:
         // Abre conexão e fecha automaticamente depois.
+        // RETURN_GENERATED_KEYS: pede ao banco o ID criado pelo AUTO_INCREMENT.
         try (Connection c = ConnectionFactory.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+             PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            // INSERT do jogo + registro da alteração: uma transação.
+            c.setAutoCommit(false);
 
             // Define os valores nos ? da query.
             ps.setString(1, j.getTitulo());
             ps.setString(2, j.getPlataforma());
-            ps.setDouble(3, j.getPreco());
+            ps.setBigDecimal(3, Preco.paraDecimal(j.getPrecoCentavos()));
             ps.setString(4, j.getImagemPath());
 
             // Executa o INSERT no banco.
             ps.executeUpdate();
 
+            // Lê o ID gerado e coloca no objeto.
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) j.setId(rs.getInt(1));
+            }
+
+            registrarAlteracao(c, j.getId(), INSERCAO);
+            c.commit();
+
+            return j;
+
         } catch (Exception e) {
             // Caso dê erro, mostra mensagem.
             throw new RuntimeException("Erro ao inserir: " + e.getMessage());
+        } finally {
+            TEMPO_INSERIR.registrar(inicio);
+        }
+    }
+
+    // ==============================
+    // INSERIR EM LOTE (importação de catálogo)
+    // ==============================
+    // Usa addBatch/executeBatch: vários INSERTs vão ao banco de uma vez
+    // (com rewriteBatchedStatements o driver junta tudo num INSERT multi-linha).
+    // Cada bloco de "tamanhoLote" jogos é uma transação: se der erro no meio,
+    // os blocos anteriores já ficam gravados.
+
+    // Recebe o total de jogos gravados até agora; devolve false para interromper.
+    public interface ProgressoLote {
+        boolean continuar(long inseridos);
+    }
+
+    public static final int TAMANHO_LOTE_PADRAO = 1000;
+
+    public long inserirLote(Iterable<Jogo> jogos) {
+        return inserirLote(jogos, TAMANHO_LOTE_PADRAO, null);
+    }
+
+    // Devolve quantos jogos foram gravados.
+    public long inserirLote(Iterable<Jogo> jogos, int tamanhoLote, ProgressoLote progresso) {
+
+        if (tamanhoLote < 1) throw new IllegalArgumentException("Tamanho de lote inválido: " + tamanhoLote);
+
+        // Depois das validações: quem começa o cronômetro precisa chegar ao finally.
+        long inicio = TEMPO_INSERIR_LOTE.iniciar();
+
+        String sql = SqlJogo.INSERIR;
+
+        long inseridos = 0;
+
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement alteracoes = c.prepareStatement(SqlJogo.REGISTRAR_ALTERACAO)) {
+
+            c.setAutoCommit(false);
+
+            int noLote = 0;
+            for (Jogo j : jogos) {
+
+                ps.setString(1, j.getTitulo());
+                ps.setString(2, j.getPlataforma());
+                ps.setBigDecimal(3, Preco.paraDecimal(j.getPrecoCentavos()));
+                ps.setString(4, j.getImagemPath());
+                ps.addBatch();
+
+                // Bloco completo: envia e confirma.
+                if (++noLote == tamanhoLote) {
+                    ps.executeBatch();
+                    registrarInseridos(ps, alteracoes);
+                    c.commit();
+                    inseridos += noLote;
+                    noLote = 0;
+
+                    if (progresso != null && !progresso.continuar(inseridos)) return inseridos;
+                }
+            }
+
+            // Último bloco (incompleto).
+            if (noLote > 0) {
+                ps.executeBatch();
+                registrarInseridos(ps, alteracoes);
+                c.commit();
+                inseridos += noLote;
+                if (progresso != null) progresso.continuar(inseridos);
+            }
+
+            return inseridos;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao inserir lote (" + inseridos + " já gravados): " + e.getMessage());
+        } finally {
+            TEMPO_INSERIR_LOTE.registrar(inicio);
         }
     }
 
     // ==============================
     // ATUALIZAR (UPDATE)
     // ==============================
-    public void atualizar(Jogo j) {
+    // Concorrência otimista: o UPDATE só acontece se a versão no banco ainda
+    // for a de j.getVersao() (a que o usuário carregou). Nada fica travado
+    // enquanto o usuário edita; o conflito só é detectado na hora de gravar.
+    //
+    // Devolve o jogo como ficou gravado no banco (com a versão nova).
+    // Se outra pessoa alterou ou excluiu o jogo antes, lança ConflitoVersaoException.
+    public Jogo atualizar(Jogo j) {
+
+        long inicio = TEMPO_ATUALIZAR.iniciar();
 
         // SQL para atualizar um registro.
-        String sql = "UPDATE jogo SET titulo = ?, plataforma = ?, preco = ?, imagem_path = ? WHERE id = ?";
+        String sql = SqlJogo.ATUALIZAR;
 
         try (Connection c = ConnectionFactory.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -63,39 +219,241 @@ public class JogoDAO {
             // Passa novos valores.
             ps.setString(1, j.getTitulo());
             ps.setString(2, j.getPlataforma());
-            ps.setDouble(3, j.getPreco());
+            ps.setBigDecimal(3, Preco.paraDecimal(j.getPrecoCentavos()));
             ps.setString(4, j.getImagemPath());
 
-            // Define qual ID será atualizado.
+            // Define qual ID será atualizado (e a versão esperada).
             ps.setInt(5, j.getId());
+            ps.setInt(6, j.getVersao());
 
-            // Executa o UPDATE.
-            ps.executeUpdate();
+            // UPDATE + registro da alteração: uma transação.
+            c.setAutoCommit(false);
+
+            // Executa o UPDATE. Nenhuma linha => a versão mudou (ou o jogo sumiu).
+            if (ps.executeUpdate() == 0) {
+                throw new ConflitoVersaoException(j, buscarPorIdNoBanco(c, j.getId()));
+            }
 
+            registrarAlteracao(c, j.getId(), ATUALIZACAO);
+            c.commit();
+
+            j.setVersao(j.getVersao() + 1);
+            return j;
+
+        } catch (ConflitoVersaoException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao atualizar: " + e.getMessage());
+        } finally {
+            TEMPO_ATUALIZAR.registrar(inicio);
+        }
+    }
+
+    // Dentro da transação do reajuste: o jogo está com a versão seguinte à da
+    // prévia e com o preço novo? (o UPDATE deste reajuste segura a linha até o commit)
+    private static boolean foiReajustado(Connection c, RegraReajuste.Alteracao a) throws SQLException {
+        Jogo atual = buscarPorIdNoBanco(c, a.getId());
+        return atual != null
+                && atual.getVersao() == a.getJogo().getVersao() + 1
+                && atual.getPrecoCentavos() == a.getPrecoNovo();
+    }
+
+    // ==============================
+    // REAJUSTE DE PREÇOS EM MASSA
+    // ==============================
+    // Grava o resultado de uma RegraReajuste numa única transação:
+    // os UPDATEs vão em lotes (addBatch/executeBatch; com rewriteBatchedStatements
+    // o driver manda cada lote numa ida só ao banco) e o commit é um só no final.
+    // 100 mil preços = uma transação e cerca de 100 idas ao banco, não 100 mil.
+    //
+    // Cada UPDATE confere a versão: se outra pessoa mudou o jogo depois da
+    // prévia, aquele jogo fica como está (não entra no resultado).
+    // Se der erro, nada é gravado (rollback).
+    //
+    // Devolve os jogos realmente alterados, já com o preço novo.
+    public List<Jogo> reajustarPrecos(List<RegraReajuste.Alteracao> alteracoes) {
+
+        String sql = SqlJogo.REAJUSTAR_PRECO;
+
+        List<Jogo> alterados = new ArrayList<>(alteracoes.size());
+        if (alteracoes.isEmpty()) return alterados;
+
+        long inicio = TEMPO_REAJUSTAR.iniciar();
+
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             PreparedStatement registro = c.prepareStatement(SqlJogo.REGISTRAR_ALTERACAO)) {
+
+            c.setAutoCommit(false);
+
+            int inicioLote = 0;
+            for (int i = 0; i < alteracoes.size(); i++) {
+
+                RegraReajuste.Alteracao a = alteracoes.get(i);
+                ps.setBigDecimal(1, Preco.paraDecimal(a.getPrecoNovo()));
+                ps.setInt(2, a.getId());
+                ps.setInt(3, a.getJogo().getVersao());
+                ps.addBatch();
+
+                // Lote completo (ou o último): envia, mas só confirma no fim.
+                if (i - inicioLote + 1 == TAMANHO_LOTE_PADRAO || i == alteracoes.size() - 1) {
+                    int[] linhas = ps.executeBatch();
+                    for (int k = 0; k < linhas.length; k++) {
+                        // SUCCESS_NO_INFO: o driver não soube contar (ex.: lote reescrito
+                        // pelo rewriteBatchedStatements). Um UPDATE que não achou a versão
+                        // também volta assim: relê o jogo para saber se foi este que gravou.
+                        boolean gravou = linhas[k] == Statement.SUCCESS_NO_INFO
+                                ? foiReajustado(c, alteracoes.get(inicioLote + k))
+                                : linhas[k] > 0;
+                        if (gravou) {
+                            Jogo novo = alteracoes.get(inicioLote + k).jogoReajustado();
+                            alterados.add(novo);
+                            adicionarRegistro(registro, novo.getId(), ATUALIZACAO);
+                        }
+                    }
+                    registro.executeBatch();
+                    inicioLote = i + 1;
+                }
+            }
+
+            c.commit();
+            return alterados;
+
+        } catch (Exception e) {
+            // A conexão volta ao pool com rollback: nenhum preço muda.
+            throw new RuntimeException("Erro ao reajustar preços: " + e.getMessage());
+        } finally {
+            TEMPO_REAJUSTAR.registrar(inicio);
         }
     }
 
     // ==============================
     // EXCLUIR (DELETE)
     // ==============================
-    public void excluir(int id) {
+    // Devolve true se algum registro foi removido.
+    // Se a imagem do jogo não for usada por mais nenhum outro, apaga o arquivo.
+    public boolean excluir(int id) {
+
+        long inicio = TEMPO_EXCLUIR.iniciar();
 
         // SQL para deletar pelo ID.
-        String sql = "DELETE FROM jogo WHERE id = ?";
+        String sql = SqlJogo.EXCLUIR;
 
-        try (Connection c = ConnectionFactory.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        String caminhoImagem = null;
+        boolean removido;
 
-            // Define qual ID será excluído.
-            ps.setInt(1, id);
+        try (Connection c = ConnectionFactory.getConnection()) {
 
-            // Executa o DELETE.
-            ps.executeUpdate();
+            // Lê o caminho da imagem e apaga na mesma transação.
+            c.setAutoCommit(false);
+
+            try (PreparedStatement ps = c.prepareStatement(SqlJogo.IMAGEM_PARA_EXCLUIR)) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) caminhoImagem = rs.getString(1);
+                }
+            }
+
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+
+                // Define qual ID será excluído.
+                ps.setInt(1, id);
+
+                // Executa o DELETE.
+                removido = ps.executeUpdate() > 0;
+            }
+
+            if (removido) registrarAlteracao(c, id, EXCLUSAO);
+
+            c.commit();
 
         } catch (Exception e) {
             throw new RuntimeException("Erro ao excluir: " + e.getMessage());
+        } finally {
+            TEMPO_EXCLUIR.registrar(inicio);
+        }
+
+        if (removido) liberarImagemSeOrfa(caminhoImagem);
+        return removido;
+    }
+
+    // ==============================
+    // REGISTRO DE ALTERAÇÕES (jogo_changes)
+    // ==============================
+
+    // Uma alteração, na transação já aberta em "c".
+    static void registrarAlteracao(Connection c, int id, char operacao) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.REGISTRAR_ALTERACAO)) {
+            adicionarRegistro(ps, id, operacao);
+            ps.executeBatch();
+        }
+    }
+
+    private static void adicionarRegistro(PreparedStatement ps, int id, char operacao) throws SQLException {
+        adicionarRegistro(ps, id, operacao, ORIGEM);
+    }
+
+    // Com outra origem (o Sincronizador grava as alterações que vieram do servidor).
+    static void adicionarRegistro(PreparedStatement ps, int id, char operacao, String origem) throws SQLException {
+        ps.setInt(1, id);
+        ps.setString(2, String.valueOf(operacao));
+        ps.setString(3, origem);
+        ps.addBatch();
+    }
+
+    // Registra os IDs gerados pelo último executeBatch do INSERT em lote.
+    private static void registrarInseridos(PreparedStatement insert, PreparedStatement registro) throws SQLException {
+        try (ResultSet rs = insert.getGeneratedKeys()) {
+            while (rs.next()) adicionarRegistro(registro, rs.getInt(1), INSERCAO);
+        }
+        registro.executeBatch();
+    }
+
+    // ==============================
+    // IMAGENS SEM REFERÊNCIA
+    // ==============================
+    // Várias linhas podem apontar para a mesma imagem (armazenamento por conteúdo).
+    // A contagem de referências é o próprio banco: quantos jogos usam o caminho
+    // (consulta pelo índice idx_jogo_imagem_path).
+    //
+    // Imagem sem uso não é apagada na hora: entra na lista de órfãs do
+    // ImageStorage e só sai do disco se, depois da carência, continuar sem uso
+    // (outro computador pode estar salvando um jogo com a mesma imagem agora).
+    //
+    // Chamado depois que o jogo já foi gravado/excluído: nunca lança erro
+    // (a gravação deu certo; a limpeza tenta de novo na próxima vez).
+    public void liberarImagemSeOrfa(String caminhoImagem) {
+
+        if (caminhoImagem == null || caminhoImagem.isBlank()) return;
+
+        long inicio = TEMPO_LIBERAR_IMAGEM.iniciar();
+        try (Connection c = ConnectionFactory.getConnection()) {
+
+            if (contarUsos(c, caminhoImagem) == 0) ImageStorage.marcarOrfa(caminhoImagem);
+
+            // Aproveita a conexão para apagar as órfãs que já passaram da carência.
+            ImageStorage.coletarOrfas(caminho -> {
+                try {
+                    return contarUsos(c, caminho) == 0;
+                } catch (SQLException e) {
+                    // Sem conseguir contar, não apaga.
+                    return false;
+                }
+            });
+
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Erro ao liberar imagem " + caminhoImagem, e);
+        } finally {
+            TEMPO_LIBERAR_IMAGEM.registrar(inicio);
+        }
+    }
+
+    private static long contarUsos(Connection c, String caminhoImagem) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.CONTAR_USOS_IMAGEM)) {
+            ps.setString(1, caminhoImagem);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
         }
     }
 
@@ -104,73 +462,346 @@ public class JogoDAO {
     // ==============================
     public List<Jogo> listar() {
 
+        long inicio = TEMPO_LISTAR.iniciar();
+
         // Lista para guardar os jogos.
         List<Jogo> lista = new ArrayList<>();
 
         // SQL para buscar todos.
-        String sql = "SELECT * FROM jogo ORDER BY titulo";
+        String sql = SqlJogo.LISTAR;
 
         try (Connection c = ConnectionFactory.getConnection();
-             Statement st = c.createStatement();
-             ResultSet rs = st.executeQuery(sql)) {
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
 
-            // Enquanto houver resultados...
+            // Enquanto houver resultados, converte a linha e adiciona na lista.
+            mapearTodos(rs, lista::add);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar: " + e.getMessage());
+        } finally {
+            TEMPO_LISTAR.registrar(inicio);
+        }
+
+        // Retorna a lista completa.
+        return lista;
+    }
+
+    // ==============================
+    // PERCORRER TODOS (sem lista em memória)
+    // ==============================
+    // Entrega os jogos um a um, conforme chegam do banco.
+    // Com fetchSize = Integer.MIN_VALUE o driver do MySQL não guarda o resultado
+    // inteiro antes de devolver: lê linha por linha da rede (streaming).
+    // No H2 o fetchSize é só o tamanho do bloco (ver Dialeto).
+    // Ideal para catálogos grandes (montar o índice de busca, exportar...).
+    //
+    // Atenção: enquanto o "acao" roda, a conexão está ocupada com a leitura;
+    // não demore nele (nem use o DAO de dentro dele para gravar em massa).
+    public void forEach(Consumer<Jogo> acao) {
+
+        long inicio = TEMPO_PERCORRER.iniciar();
+
+        String sql = SqlJogo.LISTAR_TODOS_EM_ORDEM;
+
+        try (Connection c = ConnectionFactory.getConnection();
+             Statement st = c.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Statement simples (fora do cache do pool): o fetchSize alterado
+            // não pode vazar para quem reaproveitar um statement do cache.
+            st.setFetchSize(ConnectionFactory.fetchSizeStreaming());
+
+            try (ResultSet rs = st.executeQuery(sql)) {
+                mapearTodos(rs, acao);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao listar: " + e.getMessage());
+        } finally {
+            TEMPO_PERCORRER.registrar(inicio);
+        }
+    }
+
+    // Converte cada linha e entrega ao destino. Mede só o mapper (o tempo do
+    // destino e do rs.next(), que busca as linhas no banco, fica de fora)
+    // e registra uma vez por consulta, não por linha.
+    private static void mapearTodos(ResultSet rs, Consumer<Jogo> destino) throws SQLException {
+        long mapeando = 0;
+        try {
             while (rs.next()) {
+                long inicio = System.nanoTime();
+                Jogo j = MAPPER.mapear(rs);
+                mapeando += System.nanoTime() - inicio;
+                destino.accept(j);
+            }
+        } finally {
+            TEMPO_MAPEAR.registrarDuracao(mapeando);
+        }
+    }
 
-                // Cria um objeto Jogo.
-                Jogo j = new Jogo();
+    // ==============================
+    // LISTAR PAGINADO (READ por partes)
+    // ==============================
+    // Paginação por "keyset": em vez de OFFSET (que obriga o banco a pular
+    // todas as linhas anteriores), pedimos as linhas que vêm DEPOIS da última
+    // já carregada, na ordem (titulo, id). Custa o mesmo na página 1 ou na 1000.
+    //
+    // ultimo      => último jogo da página anterior (null = primeira página)
+    // tamanho     => quantos jogos por página
+    // contarTotal => true faz também um COUNT(*) (útil só na primeira página)
+    public Pagina<Jogo> listarPagina(Jogo ultimo, int tamanho, boolean contarTotal) {
+        return buscarPagina(new FiltroJogo(), ultimo, tamanho, contarTotal);
+    }
+
+    // ==============================
+    // BUSCAR COM FILTRO (pesquisa)
+    // ==============================
+    // Mesma paginação por keyset, mas só com os jogos que passam no filtro.
+    // Cada critério vira um pedaço do WHERE apoiado em índice:
+    //   título (prefixo)  => titulo LIKE 'x%'       (idx_jogo_titulo)
+    //   título (palavras) => MATCH ... AGAINST      (ft_jogo_titulo; no H2, LIKE)
+    //   plataforma/preço  => plataforma = ? / preco (idx_jogo_plataforma_preco)
+    // O "ultimo" precisa ter vindo de uma página com o mesmo filtro e ordenação.
+    public Pagina<Jogo> buscarPagina(FiltroJogo filtro, Jogo ultimo, int tamanho, boolean contarTotal) {
+        return buscar(filtro, ultimo, tamanho, contarTotal, false);
+    }
+
+    // Página ANTES do "primeiro" (para quem descartou o começo e o usuário
+    // rolou de volta). Os itens vêm na ordem normal do filtro; temMais =>
+    // ainda existem jogos antes desta página.
+    public Pagina<Jogo> buscarPaginaAnterior(FiltroJogo filtro, Jogo primeiro, int tamanho) {
+        if (primeiro == null) throw new IllegalArgumentException("Página anterior precisa do primeiro jogo");
+        return buscar(filtro, primeiro, tamanho, false, true);
+    }
+
+    // anterior => anda para trás: ordem invertida no banco (o mesmo índice, lido
+    // de trás para frente) e a lista é desvirada no fim.
+    private Pagina<Jogo> buscar(FiltroJogo filtro, Jogo referencia, int tamanho, boolean contarTotal, boolean anterior) {
+
+        if (tamanho < 1) throw new IllegalArgumentException("Tamanho de página inválido: " + tamanho);
+
+        // WHERE do filtro (sem a parte da paginação) e seus parâmetros.
+        List<Object> parametros = new ArrayList<>();
+        String where = montarWhere(filtro, parametros);
+
+        // Coluna da ordenação + condição "depois do último" (desempate pelo id).
+        String coluna = filtro.getOrdenacao() == FiltroJogo.Ordenacao.TITULO ? "titulo" : "preco";
+        boolean decrescente = filtro.getOrdenacao() == FiltroJogo.Ordenacao.PRECO_MAIOR;
+        if (anterior) decrescente = !decrescente;
 
-                // Pega dados do banco e coloca no objeto.
-                j.setId(rs.getInt("id"));
-                j.setTitulo(rs.getString("titulo"));
-                j.setPlataforma(rs.getString("plataforma"));
-                j.setPreco(rs.getDouble("preco"));
-                j.setImagemPath(rs.getString("imagem_path"));
+        StringBuilder sql = new StringBuilder(SqlJogo.SELECIONAR);
+        List<Object> parametrosPagina = new ArrayList<>(parametros);
+
+        // O id desempata na mesma direção em que se anda (para trás: id menor, id DESC).
+        String sentidoId = anterior ? " DESC" : "";
+
+        String depoisDoUltimo = null;
+        if (referencia != null) {
+            Object valor = coluna.equals("titulo") ? referencia.getTitulo() : Preco.paraDecimal(referencia.getPrecoCentavos());
+            depoisDoUltimo = "(" + coluna + (decrescente ? " < ?" : " > ?")
+                    + " OR (" + coluna + " = ? AND id " + (anterior ? "<" : ">") + " ?))";
+            parametrosPagina.add(valor);
+            parametrosPagina.add(valor);
+            parametrosPagina.add(referencia.getId());
+        }
+
+        if (!where.isEmpty() || depoisDoUltimo != null) {
+            sql.append(" WHERE ").append(where);
+            if (!where.isEmpty() && depoisDoUltimo != null) sql.append(" AND ");
+            if (depoisDoUltimo != null) sql.append(depoisDoUltimo);
+        }
+
+        // Pede uma linha a mais só para saber se existe próxima página.
+        sql.append(" ORDER BY ").append(coluna).append(decrescente ? " DESC" : "").append(", id").append(sentidoId).append(" LIMIT ?");
+        parametrosPagina.add(tamanho + 1);
+
+        List<Jogo> lista = new ArrayList<>(tamanho + 1);
+        long total = -1;
+
+        // Logo antes do try: nada entre iniciar() e o finally pode sair sem registrar.
+        long inicio = TEMPO_BUSCAR_PAGINA.iniciar();
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = prepararFiltrado(c, sql.toString(), filtro)) {
+
+            preencher(ps, parametrosPagina);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                mapearTodos(rs, lista::add);
+            }
 
-                // Adiciona na lista.
-                lista.add(j);
+            // Contagem total com o mesmo filtro (opcional).
+            if (contarTotal) {
+                String sqlTotal = SqlJogo.CONTAR + (where.isEmpty() ? "" : " WHERE " + where);
+                try (PreparedStatement pt = prepararFiltrado(c, sqlTotal, filtro)) {
+                    preencher(pt, parametros);
+                    try (ResultSet rs = pt.executeQuery()) {
+                        if (rs.next()) total = rs.getLong(1);
+                    }
+                }
             }
 
         } catch (Exception e) {
-            throw new RuntimeException("Erro ao listar: " + e.getMessage());
+            throw new RuntimeException("Erro ao buscar: " + e.getMessage());
+        } finally {
+            TEMPO_BUSCAR_PAGINA.registrar(inicio);
+        }
+
+        // Se veio a linha extra, existe próxima página (e ela não entra nesta).
+        boolean temMais = lista.size() > tamanho;
+        if (temMais) lista.remove(tamanho);
+        if (anterior) Collections.reverse(lista);
+
+        return new Pagina<>(lista, temMais, total);
+    }
+
+    // Plataformas cadastradas (para o filtro da tela), em ordem alfabética.
+    // Lida direto do índice idx_jogo_plataforma_preco.
+    public List<String> listarPlataformas() {
+
+        long inicio = TEMPO_PLATAFORMAS.iniciar();
+
+        List<String> lista = new ArrayList<>();
+
+        String sql = SqlJogo.LISTAR_PLATAFORMAS;
+
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) lista.add(rs.getString(1));
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar plataformas: " + e.getMessage());
+        } finally {
+            TEMPO_PLATAFORMAS.registrar(inicio);
         }
 
-        // Retorna a lista completa.
         return lista;
     }
 
+    // Sem filtro (rolar o catálogo) o SQL tem poucas formas: vai pelo cache de
+    // statements do pool. Com filtro, cada combinação de critérios (e, no H2, cada
+    // número de palavras) é um SQL diferente: no cache de 64 por conexão eles
+    // empurrariam para fora os comandos fixos do SqlJogo. Pedindo tipo e
+    // concorrência o pool entrega um statement avulso (ver ConnectionPool);
+    // o cache de prepare do driver (cachePrepStmts) continua valendo.
+    private static PreparedStatement prepararFiltrado(Connection c, String sql, FiltroJogo filtro) throws SQLException {
+        if (filtro.isVazio()) return c.prepareStatement(sql);
+        return c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    // Monta as condições do filtro (sem "WHERE"); "" se não filtra nada.
+    private static String montarWhere(FiltroJogo filtro, List<Object> parametros) {
+
+        List<String> condicoes = new ArrayList<>();
+
+        if (filtro.temTitulo()) {
+            String texto = filtro.getTitulo().trim();
+            switch (filtro.modoEfetivo()) {
+                case PREFIXO:
+                    condicoes.add("titulo LIKE ?");
+                    parametros.add(escaparLike(texto) + "%");
+                    break;
+                case CONTEM:
+                    condicoes.add("titulo LIKE ?");
+                    parametros.add("%" + escaparLike(texto) + "%");
+                    break;
+                default:
+                    if (ConnectionFactory.dialeto().temFullText()) {
+                        condicoes.add("MATCH(titulo) AGAINST (? IN BOOLEAN MODE)");
+                        parametros.add(termosFullText(filtro.palavras()));
+                        break;
+                    }
+                    // Sem FULLTEXT (H2): cada palavra começa o título ou vem depois
+                    // de um espaço. Percorre a tabela, mas o banco embutido é pequeno.
+                    for (String palavra : filtro.palavras()) {
+                        condicoes.add("(titulo LIKE ? OR titulo LIKE ?)");
+                        parametros.add(escaparLike(palavra) + "%");
+                        parametros.add("% " + escaparLike(palavra) + "%");
+                    }
+            }
+        }
+
+        if (filtro.temPlataforma()) {
+            condicoes.add("plataforma = ?");
+            parametros.add(filtro.getPlataforma().trim());
+        }
+        if (filtro.getPrecoMinimo() != null) {
+            condicoes.add("preco >= ?");
+            parametros.add(Preco.paraDecimal(filtro.getPrecoMinimo()));
+        }
+        if (filtro.getPrecoMaximo() != null) {
+            condicoes.add("preco <= ?");
+            parametros.add(Preco.paraDecimal(filtro.getPrecoMaximo()));
+        }
+
+        return String.join(" AND ", condicoes);
+    }
+
+    // "%" e "_" digitados pelo usuário são texto, não curingas.
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // "mario kart" => "+mario* +kart*" (todas as palavras, cada uma como prefixo).
+    // Só letras e números chegam aqui: operadores do modo booleano são descartados.
+    private static String termosFullText(List<String> palavras) {
+        StringBuilder sb = new StringBuilder();
+        for (String palavra : palavras) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append('+').append(palavra).append('*');
+        }
+        return sb.toString();
+    }
+
+    private static void preencher(PreparedStatement ps, List<Object> parametros) throws SQLException {
+        int i = 1;
+        for (Object p : parametros) {
+            if (p instanceof String) ps.setString(i++, (String) p);
+            else if (p instanceof Integer) ps.setInt(i++, (Integer) p);
+            else ps.setBigDecimal(i++, (BigDecimal) p);
+        }
+    }
+
     // ==============================
     // BUSCAR POR ID
     // ==============================
     public Jogo buscarPorId(int id) {
 
-        String sql = "SELECT * FROM jogo WHERE id = ?";
+        long inicio = TEMPO_BUSCAR_POR_ID.iniciar();
 
-        try (Connection c = ConnectionFactory.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        try (Connection c = ConnectionFactory.getConnection()) {
+            return buscarPorIdNoBanco(c, id);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao buscar: " + e.getMessage());
+        } finally {
+            TEMPO_BUSCAR_POR_ID.registrar(inicio);
+        }
+    }
+
+    // Mesma busca, numa conexão já aberta (sem passar pelo cache de quem herda).
+    static Jogo buscarPorIdNoBanco(Connection c, int id) throws SQLException {
+
+        String sql = SqlJogo.BUSCAR_POR_ID;
+
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
 
             // Define ID a buscar.
             ps.setInt(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
 
-                // Se encontrou...
+                // Se encontrou, converte a linha.
                 if (rs.next()) {
-
-                    Jogo j = new Jogo();
-
-                    j.setId(rs.getInt("id"));
-                    j.setTitulo(rs.getString("titulo"));
-                    j.setPlataforma(rs.getString("plataforma"));
-                    j.setPreco(rs.getDouble("preco"));
-                    j.setImagemPath(rs.getString("imagem_path"));
-
-                    return j;
+                    long inicio = System.nanoTime();
+                    try {
+                        return MAPPER.mapear(rs);
+                    } finally {
+                        TEMPO_MAPEAR.registrar(inicio);
+                    }
                 }
             }
-
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao buscar: " + e.getMessage());
         }
 
         // Se não encontrar, retorna null.
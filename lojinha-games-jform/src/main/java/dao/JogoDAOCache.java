@@ -0,0 +1,299 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+import util.Metricas;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Cache em memória (por ID) na frente de um JogoDAO.
+//
+// - Leitura: buscarPorId procura primeiro no cache; só vai ao banco se não achar.
+//   listar/listarPagina/buscarPagina também alimentam o cache com as linhas que trouxeram.
+// - Escrita: inserir/atualizar/excluir/reajustarPrecos gravam no banco e atualizam o cache.
+// - Limites: no máximo "tamanhoMaximo" jogos (sai o menos usado) e cada
+//   jogo vale por "validadeMs" (depois disso é buscado de novo no banco).
+//
+// Leitura x escrita ao mesmo tempo: uma leitura que começou antes de uma
+// gravação pode terminar depois dela, com o jogo antigo na mão. Por isso cada
+// escrita (e cada invalidar/limpar) soma 1 em "escritas"; a leitura anota o
+// número antes de ir ao banco e só guarda o resultado se ele não mudou.
+// E uma cópia nunca substitui outra de versão mais nova.
+//
+// Embrulha o JogoDAO (não herda dele): toda operação nova do JogoRepositorio
+// precisa passar por aqui, e nenhuma escapa do cache sem querer.
+//
+// Acertos, falhas, despejos e tamanho aparecem no Metricas como
+// cache.jogos.* (JMX em lojinha > Contadores e o CSV de contadores).
+public class JogoDAOCache implements JogoRepositorio {
+
+    private final JogoDAO banco;
+
+    private final int tamanhoMaximo;
+    private final long validadeNanos;
+
+    // LRU: LinkedHashMap em ordem de acesso. Sempre usado dentro de synchronized (this).
+    private final LinkedHashMap<Integer, Entrada> cache;
+
+    // Quantas escritas já passaram pelo cache (só muda dentro de synchronized (this)).
+    private long escritas = 0;
+
+    // ===== MÉTRICAS =====
+    private long acertos = 0;
+    private long falhas = 0;
+    private long despejos = 0;
+
+    public JogoDAOCache(int tamanhoMaximo, long validadeMs) {
+        this(new JogoDAO(), tamanhoMaximo, validadeMs);
+    }
+
+    public JogoDAOCache(JogoDAO banco, int tamanhoMaximo, long validadeMs) {
+        this.banco = banco;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.validadeNanos = TimeUnit.MILLISECONDS.toNanos(validadeMs);
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> maisAntigo) {
+                if (size() <= JogoDAOCache.this.tamanhoMaximo) return false;
+                despejos++;
+                return true;
+            }
+        };
+
+        // Um cache por tela: se outro for criado, os contadores passam a ser os dele.
+        Metricas.contador("cache.jogos.acertos", this::getAcertos);
+        Metricas.contador("cache.jogos.falhas", this::getFalhas);
+        Metricas.contador("cache.jogos.despejos", this::getDespejos);
+        Metricas.contador("cache.jogos.tamanho", this::getTamanho);
+    }
+
+    // ==============================
+    // LEITURA
+    // ==============================
+
+    @Override
+    public Jogo buscarPorId(int id) {
+        long antes;
+        synchronized (this) {
+            Entrada e = cache.get(id);
+            if (e != null && !e.vencida()) {
+                acertos++;
+                return copiar(e.jogo);
+            }
+            if (e != null) cache.remove(id);
+            falhas++;
+            antes = escritas;
+        }
+
+        Jogo j = banco.buscarPorId(id);
+        if (j != null) guardarLido(List.of(j), antes);
+        return j;
+    }
+
+    @Override
+    public List<Jogo> listar() {
+        long antes = escritasAteAgora();
+        List<Jogo> lista = banco.listar();
+        guardarLido(lista, antes);
+        return lista;
+    }
+
+    @Override
+    public Pagina<Jogo> listarPagina(Jogo ultimo, int tamanho, boolean contarTotal) {
+        return buscarPagina(new FiltroJogo(), ultimo, tamanho, contarTotal);
+    }
+
+    @Override
+    public Pagina<Jogo> buscarPagina(FiltroJogo filtro, Jogo ultimo, int tamanho, boolean contarTotal) {
+        long antes = escritasAteAgora();
+        Pagina<Jogo> p = banco.buscarPagina(filtro, ultimo, tamanho, contarTotal);
+        guardarLido(p.getItens(), antes);
+        return p;
+    }
+
+    @Override
+    public Pagina<Jogo> buscarPaginaAnterior(FiltroJogo filtro, Jogo primeiro, int tamanho) {
+        long antes = escritasAteAgora();
+        Pagina<Jogo> p = banco.buscarPaginaAnterior(filtro, primeiro, tamanho);
+        guardarLido(p.getItens(), antes);
+        return p;
+    }
+
+    // Percorre o catálogo sem passar pelo cache (seria o catálogo inteiro).
+    @Override
+    public void forEach(Consumer<Jogo> acao) {
+        banco.forEach(acao);
+    }
+
+    @Override
+    public List<String> listarPlataformas() {
+        return banco.listarPlataformas();
+    }
+
+    // ==============================
+    // ESCRITA (write-through)
+    // ==============================
+
+    @Override
+    public Jogo inserir(Jogo j) {
+        Jogo salvo = banco.inserir(j);
+        guardarEscrito(List.of(salvo));
+        return salvo;
+    }
+
+    // Jogos novos: nenhuma cópia do cache fica velha (só entram quando forem lidos).
+    @Override
+    public long inserirLote(Iterable<Jogo> jogos) {
+        return banco.inserirLote(jogos);
+    }
+
+    @Override
+    public long inserirLote(Iterable<Jogo> jogos, int tamanhoLote, JogoDAO.ProgressoLote progresso) {
+        return banco.inserirLote(jogos, tamanhoLote, progresso);
+    }
+
+    @Override
+    public Jogo atualizar(Jogo j) {
+        try {
+            Jogo salvo = banco.atualizar(j);
+            guardarEscrito(List.of(salvo));
+            return salvo;
+        } catch (RuntimeException e) {
+            // Não sabemos como ficou no banco: esquece a cópia do cache.
+            // (Conflito de versão: guarda a versão que está no banco.)
+            invalidar(j.getId());
+            if (e instanceof ConflitoVersaoException) {
+                Jogo atual = ((ConflitoVersaoException) e).getAtual();
+                if (atual != null) guardarEscrito(List.of(atual));
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Jogo> reajustarPrecos(List<RegraReajuste.Alteracao> alteracoes) {
+        try {
+            List<Jogo> alterados = banco.reajustarPrecos(alteracoes);
+            guardarEscrito(alterados);
+            return alterados;
+        } finally {
+            // Os que não foram alterados mudaram no banco por outro caminho:
+            // a cópia do cache também está velha.
+            synchronized (this) {
+                escritas++;
+                for (RegraReajuste.Alteracao a : alteracoes) {
+                    Entrada e = cache.get(a.getId());
+                    if (e != null && e.jogo.getVersao() != a.getJogo().getVersao() + 1) cache.remove(a.getId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean excluir(int id) {
+        try {
+            return banco.excluir(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    @Override
+    public void liberarImagemSeOrfa(String caminhoImagem) {
+        banco.liberarImagemSeOrfa(caminhoImagem);
+    }
+
+    // ==============================
+    // CONTROLE DO CACHE
+    // ==============================
+
+    // Remove um jogo do cache (ex.: alterado por outro computador).
+    public synchronized void invalidar(int id) {
+        escritas++;
+        cache.remove(id);
+    }
+
+    public synchronized void limpar() {
+        escritas++;
+        cache.clear();
+    }
+
+    // Acertos, falhas, despejos e tamanho atual do cache.
+    public synchronized String getEstatisticas() {
+        long total = acertos + falhas;
+        long taxa = total == 0 ? 0 : acertos * 100 / total;
+        return "acertos=" + acertos + ", falhas=" + falhas + " (" + taxa + "% de acerto)"
+                + ", despejos=" + despejos + ", tamanho=" + cache.size() + "/" + tamanhoMaximo;
+    }
+
+    public synchronized long getAcertos() { return acertos; }
+
+    public synchronized long getFalhas() { return falhas; }
+
+    public synchronized long getDespejos() { return despejos; }
+
+    public synchronized long getTamanho() { return cache.size(); }
+
+    private synchronized long escritasAteAgora() {
+        return escritas;
+    }
+
+    // Resultado de uma leitura: só entra se nenhuma escrita aconteceu
+    // desde "antes" (senão pode ser o jogo de antes da escrita).
+    private synchronized void guardarLido(List<Jogo> lista, long antes) {
+        if (escritas != antes) return;
+        guardarTodos(lista);
+    }
+
+    // Resultado de uma escrita: é o que está no banco agora. Leituras que
+    // estavam em andamento não guardam mais nada (ver guardarLido).
+    private synchronized void guardarEscrito(List<Jogo> lista) {
+        escritas++;
+        guardarTodos(lista);
+    }
+
+    private void guardarTodos(List<Jogo> lista) {
+        long expira = System.nanoTime() + validadeNanos;
+        for (Jogo j : lista) {
+            // Duas escritas do mesmo jogo terminando fora de ordem: fica a versão mais nova.
+            Entrada atual = cache.get(j.getId());
+            if (atual != null && atual.jogo.getVersao() > j.getVersao()) continue;
+            cache.put(j.getId(), new Entrada(copiar(j), expira));
+        }
+
+        // Aproveita para tirar as vencidas do começo (as menos usadas).
+        Iterator<Entrada> it = cache.values().iterator();
+        while (it.hasNext()) {
+            Entrada e = it.next();
+            if (!e.vencida()) break;
+            it.remove();
+        }
+    }
+
+    // O cache guarda cópias: quem recebe um Jogo pode alterá-lo sem mexer no cache.
+    private static Jogo copiar(Jogo j) {
+        Jogo c = new Jogo(j.getTitulo(), j.getPlataforma(), j.getPrecoCentavos(), j.getImagemPath());
+        c.setId(j.getId());
+        c.setVersao(j.getVersao());
+        return c;
+    }
+
+    private static class Entrada {
+        final Jogo jogo;
+        final long expiraEm;
+
+        Entrada(Jogo jogo, long expiraEm) {
+            this.jogo = jogo;
+            this.expiraEm = expiraEm;
+        }
+
+        boolean vencida() {
+            return System.nanoTime() - expiraEm > 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Operações com jogos que a tela usa.
+//
+// JogoDAO faz cada uma no banco; JogoDAOCache embrulha um JogoDAO e guarda
+// cópias em memória. A tela e o JogoTableModel recebem um JogoRepositorio
+// e funcionam igual com qualquer um dos dois.
+// (Detalhes de cada operação: nos comentários do JogoDAO.)
+public interface JogoRepositorio {
+
+    // ===== ESCRITA =====
+    Jogo inserir(Jogo j);
+
+    long inserirLote(Iterable<Jogo> jogos);
+
+    long inserirLote(Iterable<Jogo> jogos, int tamanhoLote, JogoDAO.ProgressoLote progresso);
+
+    Jogo atualizar(Jogo j);
+
+    List<Jogo> reajustarPrecos(List<RegraReajuste.Alteracao> alteracoes);
+
+    boolean excluir(int id);
+
+    void liberarImagemSeOrfa(String caminhoImagem);
+
+    // ===== LEITURA =====
+    List<Jogo> listar();
+
+    void forEach(Consumer<Jogo> acao);
+
+    Pagina<Jogo> listarPagina(Jogo ultimo, int tamanho, boolean contarTotal);
+
+    Pagina<Jogo> buscarPagina(FiltroJogo filtro, Jogo ultimo, int tamanho, boolean contarTotal);
+
+    Pagina<Jogo> buscarPaginaAnterior(FiltroJogo filtro, Jogo primeiro, int tamanho);
+
+    List<String> listarPlataformas();
+
+    Jogo buscarPorId(int id);
+}
@@ -0,0 +1,46 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+import util.Preco;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Lê um Jogo do ResultSet pela POSIÇÃO da coluna.
+//
+// rs.getString("titulo") procura o nome entre as colunas a cada chamada
+// (para cada coluna de cada linha); rs.getString(2) vai direto.
+// Para isso a consulta precisa trazer exatamente COLUNAS, nessa ordem:
+//
+//     "SELECT " + JogoRowMapper.COLUNAS + " FROM jogo ..."
+//
+// (nunca SELECT *: uma coluna nova na tabela mudaria as posições).
+public final class JogoRowMapper implements RowMapper<Jogo> {
+
+    // Colunas lidas, na ordem das posições abaixo.
+    public static final String COLUNAS = "id, titulo, plataforma, preco, imagem_path, versao";
+
+    private static final int ID = 1;
+    private static final int TITULO = 2;
+    private static final int PLATAFORMA = 3;
+    private static final int PRECO = 4;
+    private static final int IMAGEM_PATH = 5;
+    private static final int VERSAO = 6;
+
+    // Não guarda estado: uma instância serve para todas as consultas.
+    public static final JogoRowMapper INSTANCIA = new JogoRowMapper();
+
+    private JogoRowMapper() {}
+
+    @Override
+    public Jogo mapear(ResultSet rs) throws SQLException {
+        // DECIMAL => centavos (exato; nunca passa por double).
+        long centavos = Preco.deDecimal(rs.getBigDecimal(PRECO));
+
+        Jogo j = new Jogo(rs.getString(TITULO), rs.getString(PLATAFORMA), centavos, rs.getString(IMAGEM_PATH));
+        j.setId(rs.getInt(ID));
+        j.setVersao(rs.getInt(VERSAO));
+        return j;
+    }
+}
@@ -0,0 +1,336 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+
+import util.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Acompanha o que OUTROS computadores alteraram na tabela jogo.
+//
+// Cada escrita do JogoDAO grava uma linha em jogo_changes com um número
+// de sequência crescente (seq). O monitor lembra o último seq já visto e,
+// a cada chamada de buscar(), pede só as linhas depois dele:
+//
+//   SELECT ... FROM jogo_changes c LEFT JOIN jogo ... WHERE c.seq > ? ORDER BY c.seq LIMIT ?
+//
+// Com nada novo, é uma consulta vazia pela chave primária: 20 telas abertas
+// consultando a cada poucos segundos não pesam no banco.
+//
+// Buracos na sequência: o seq é reservado no INSERT, mas só fica visível no
+// COMMIT. Uma transação lenta pode aparecer DEPOIS de um seq maior. Por isso
+// o monitor só avança o "último visto" até o primeiro número que falta, e
+// continua pedindo a partir dali por até ESPERA_BURACO (depois disso o número
+// é considerado perdido: a transação foi desfeita).
+// Enquanto isso, as linhas já entregues acima do buraco são puladas: se um
+// lote inteiro só tem linhas já vistas, a consulta continua depois delas
+// (senão o mesmo lote voltaria sempre igual e ninguém chegaria nas novas).
+//
+// Linhas antigas: apagarAntigas() remove o que passou de RETENCAO_MS. Quem ficou
+// mais da metade disso sem consultar (computador suspenso, rede fora) recebe um
+// lote com isLacuna(): pode ter perdido alterações e precisa recarregar tudo.
+//
+// Não é pensado para várias threads ao mesmo tempo: uma chamada de cada vez.
+public class MonitorAlteracoes {
+
+    // Por quanto tempo as linhas de jogo_changes ficam guardadas.
+    public static final long RETENCAO_MS = TimeUnit.DAYS.toMillis(1);
+
+    // De quanto em quanto tempo quem usa o monitor chama apagarAntigas().
+    public static final long INTERVALO_LIMPEZA_MS = TimeUnit.HOURS.toMillis(1);
+
+    // Quanto tempo esperar por um seq que falta antes de desistir dele.
+    private static final long ESPERA_BURACO = TimeUnit.SECONDS.toNanos(30);
+
+    // Posições das colunas que vêm depois das do JogoRowMapper.
+    private static final int SEQ = 7;
+    private static final int JOGO_ID = 8;
+    private static final int OPERACAO = 9;
+    private static final int ORIGEM = 10;
+
+    // Máximo de alterações lidas por vez.
+    private final int limite;
+
+    // De qual banco ler (o da tela, ou o servidor central no Sincronizador).
+    private final Supplier<Connection> conexoes;
+
+    // Todos os seq até aqui já foram entregues.
+    private long ultimoContiguo = -1;
+
+    // seq maiores que ultimoContiguo já entregues (esperando o buraco abaixo deles fechar).
+    private final TreeSet<Long> vistos = new TreeSet<>();
+
+    // Quando o buraco atual foi notado (0 = sem buraco).
+    private long buracoDesde = 0;
+
+    // Quando a última consulta deu certo (relógio do computador, ms; 0 = posição
+    // veio de fora, por iniciarEm). Conta também o tempo com o computador suspenso.
+    private long ultimaConsulta = 0;
+
+    public MonitorAlteracoes(int limite) {
+        this(limite, ConnectionFactory::getConnection);
+    }
+
+    public MonitorAlteracoes(int limite, Supplier<Connection> conexoes) {
+        if (limite < 1) throw new IllegalArgumentException("Limite inválido: " + limite);
+        this.limite = limite;
+        this.conexoes = conexoes;
+    }
+
+    // ==============================
+    // INÍCIO
+    // ==============================
+    // Marca "agora" como ponto de partida: só o que mudar daqui em diante é entregue.
+    // Chame ANTES de carregar a tabela: o que mudar durante a carga vem de novo
+    // pelo monitor (aplicar duas vezes a mesma versão não muda nada).
+    public void iniciar() {
+        try (Connection c = conexoes.get();
+             PreparedStatement ps = c.prepareStatement(SqlJogo.ULTIMA_ALTERACAO);
+             ResultSet rs = ps.executeQuery()) {
+
+            rs.next();
+            recomecar(rs.getLong(1));
+            ultimaConsulta = System.currentTimeMillis();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao ler alterações: " + e.getMessage());
+        }
+    }
+
+    // Continua de uma posição guardada antes (ex.: getPosicao() gravado no disco).
+    public void iniciarEm(long seq) {
+        recomecar(seq);
+    }
+
+    public boolean isIniciado() {
+        return ultimoContiguo >= 0;
+    }
+
+    // Todas as alterações até este seq já foram entregues.
+    public long getPosicao() {
+        return ultimoContiguo;
+    }
+
+    private void recomecar(long seq) {
+        ultimaConsulta = 0;
+        ultimoContiguo = seq;
+        vistos.clear();
+        buracoDesde = 0;
+    }
+
+    // ==============================
+    // CONSULTA
+    // ==============================
+
+    // Alterações novas feitas por outros computadores, na ordem em que aconteceram.
+    // Várias alterações do mesmo jogo chegam juntas, cada uma com o jogo como está AGORA.
+    public Lote buscar() {
+
+        if (!isIniciado()) iniciar();
+
+        // Tanto tempo sem consultar que as linhas do meio podem ter sido apagadas.
+        long agora = System.currentTimeMillis();
+        if (ultimaConsulta != 0 && agora - ultimaConsulta > RETENCAO_MS / 2) {
+            return new Lote(new ArrayList<>(), false, false, true);
+        }
+
+        List<Alteracao> novas = new ArrayList<>();
+        long antes = ultimoContiguo;
+        boolean cheio;
+        int naoVistas;
+        int deOutros = 0;
+
+        try (Connection c = conexoes.get();
+             PreparedStatement ps = c.prepareStatement(SqlJogo.ALTERACOES_DESDE)) {
+
+            long desde = ultimoContiguo;
+            do {
+                int lidas = 0;
+                naoVistas = 0;
+
+                ps.setLong(1, desde);
+                ps.setInt(2, limite);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        long seq = rs.getLong(SEQ);
+
+                        lidas++;
+                        desde = seq;
+
+                        // Já entregue numa consulta anterior (relida por causa de um buraco).
+                        if (!vistos.add(seq)) continue;
+                        naoVistas++;
+
+                        // Gravado por esta própria tela: ela já se atualizou.
+                        if (JogoDAO.ORIGEM.equals(rs.getString(ORIGEM))) continue;
+                        deOutros++;
+
+                        // LEFT JOIN sem jogo (id NULL) => o jogo não existe mais.
+                        rs.getInt(1);
+                        Jogo atual = rs.wasNull() ? null : JogoRowMapper.INSTANCIA.mapear(rs);
+
+                        novas.add(new Alteracao(seq, rs.getInt(JOGO_ID), rs.getString(OPERACAO).charAt(0), atual));
+                    }
+                }
+                cheio = lidas == limite;
+
+                // Lote cheio só de linhas já vistas (acima de um buraco): continua depois delas.
+            } while (cheio && naoVistas == 0);
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao ler alterações: " + e.getMessage());
+        }
+
+        avancar();
+        if (ultimaConsulta != 0) ultimaConsulta = agora;
+
+        // O limite inteiro era de outros computadores: pode haver muito mais
+        // (ex.: importação em outro computador). Uma importação desta própria
+        // tela não conta: ela já está na tabela, o resto vem na próxima consulta.
+        // temMais só se a consulta trouxe linhas novas (ou a posição andou):
+        // reler as mesmas linhas de um buraco não é "ter mais".
+        boolean temMais = cheio && (naoVistas > 0 || ultimoContiguo != antes);
+        return new Lote(novas, deOutros == limite, temMais, false);
+    }
+
+    // Apaga as linhas com mais de RETENCAO_MS (em pedaços). Devolve quantas apagou.
+    // A mais nova fica sempre, mesmo antiga (ver SqlJogo.APAGAR_ALTERACOES_ANTES).
+    // Na réplica local não use: lá jogo_changes também é a caixa de saída (Sincronizador).
+    public long apagarAntigas() {
+        Timestamp antes = new Timestamp(System.currentTimeMillis() - RETENCAO_MS);
+        long total = 0;
+
+        try (Connection c = conexoes.get();
+             PreparedStatement ultima = c.prepareStatement(SqlJogo.ULTIMA_ALTERACAO);
+             PreparedStatement ps = c.prepareStatement(SqlJogo.APAGAR_ALTERACOES_ANTES)) {
+
+            long ultimaSeq;
+            try (ResultSet rs = ultima.executeQuery()) {
+                rs.next();
+                ultimaSeq = rs.getLong(1);
+            }
+
+            int apagadas;
+            do {
+                ps.setTimestamp(1, antes);
+                ps.setLong(2, ultimaSeq);
+                apagadas = ps.executeUpdate();
+                if (!c.getAutoCommit()) c.commit();
+                total += apagadas;
+            } while (apagadas == SqlJogo.APAGAR_POR_VEZ);
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao apagar alterações antigas: " + e.getMessage());
+        }
+        return total;
+    }
+
+    // Muitas alterações pendentes: quem usa recarrega tudo e o monitor pula para o fim.
+    public void pularParaFim() {
+        iniciar();
+    }
+
+    // Move ultimoContiguo enquanto os seq seguintes já foram vistos.
+    private void avancar() {
+        while (!vistos.isEmpty()) {
+
+            if (vistos.first() == ultimoContiguo + 1) {
+                ultimoContiguo = vistos.pollFirst();
+                buracoDesde = 0;
+                continue;
+            }
+
+            // Falta ultimoContiguo + 1: espera um pouco (transação ainda aberta?).
+            long agora = System.nanoTime();
+            if (buracoDesde == 0) buracoDesde = agora;
+            if (agora - buracoDesde < ESPERA_BURACO) return;
+
+            // Esperou demais: os números que faltam não vão mais aparecer.
+            ultimoContiguo = vistos.first() - 1;
+            buracoDesde = 0;
+        }
+    }
+
+    // ==============================
+    // RESULTADO
+    // ==============================
+
+    public static class Lote {
+        private final List<Alteracao> alteracoes;
+        private final boolean muitas;
+        private final boolean temMais;
+        private final boolean lacuna;
+
+        Lote(List<Alteracao> alteracoes, boolean muitas, boolean temMais, boolean lacuna) {
+            this.alteracoes = alteracoes;
+            this.muitas = muitas;
+            this.temMais = temMais;
+            this.lacuna = lacuna;
+        }
+
+        public List<Alteracao> getAlteracoes() {
+            return alteracoes;
+        }
+
+        // true => o lote inteiro veio de outros computadores e ainda há mais:
+        // vale mais recarregar tudo do que aplicar uma a uma.
+        public boolean isMuitas() {
+            return muitas;
+        }
+
+        // true => a consulta encheu o limite com linhas ainda não vistas:
+        // pode haver mais para ler agora. false => espere a próxima rodada.
+        public boolean isTemMais() {
+            return temMais;
+        }
+
+        // true => alterações podem ter sido apagadas antes de serem lidas:
+        // recarregue tudo (e chame pularParaFim()).
+        public boolean isLacuna() {
+            return lacuna;
+        }
+    }
+
+    public static class Alteracao {
+        private final long seq;
+        private final int id;
+        private final char operacao;
+        private final Jogo atual;
+
+        Alteracao(long seq, int id, char operacao, Jogo atual) {
+            this.seq = seq;
+            this.id = id;
+            this.operacao = operacao;
+            this.atual = atual;
+        }
+
+        public long getSeq() {
+            return seq;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        // JogoDAO.INSERCAO, ATUALIZACAO ou EXCLUSAO.
+        public char getOperacao() {
+            return operacao;
+        }
+
+        // O jogo como está agora no banco (null => foi excluído).
+        public Jogo getAtual() {
+            return atual;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import java.util.List;
+
+// Uma "página" de resultados do banco.
+// Em vez de trazer a tabela inteira, o DAO devolve um pedaço por vez.
+public class Pagina<T> {
+
+    // Itens desta página (em ordem).
+    private final List<T> itens;
+
+    // true => existem mais itens depois desta página.
+    private final boolean temMais;
+
+    // Total de registros no banco (-1 quando não foi contado).
+    private final long total;
+
+    public Pagina(List<T> itens, boolean temMais, long total) {
+        this.itens = itens;
+        this.temMais = temMais;
+        this.total = total;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public boolean isTemMais() {
+        return temMais;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // Último item da página: é o "cursor" para pedir a próxima.
+    public T getUltimo() {
+        return itens.isEmpty() ? null : itens.get(itens.size() - 1);
+    }
+}
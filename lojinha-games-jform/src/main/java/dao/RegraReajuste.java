@@ -0,0 +1,228 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+
+import util.Preco;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Regra de reajuste de preços em massa (promoções, correção de tabela...).
+//
+// Escrita como texto, um critério por "chave=valor", separados por ";":
+//
+//   plataforma=PS5; ajuste=-20%
+//   plataforma=PS5; titulo=fifa; preco=100..300; ajuste=-20%; arredondar=,90
+//   preco=..50; ajuste=+5,00
+//
+// Chaves:
+//   plataforma => só essa plataforma (ignora maiúsculas e acentos)
+//   titulo     => palavras que precisam aparecer no título (como na busca)
+//   preco      => faixa de preço atual, em reais: "100..300", "100.." ou "..300"
+//   ajuste     => obrigatório: "-20%", "+12,5%" (percentual) ou "-15,00", "+5" (valor fixo)
+//   arredondar => centavos finais do preço novo: ",90" deixa 239,92 => 239,90
+//
+// Toda a conta é feita em centavos (long): o resultado é exato.
+public class RegraReajuste {
+
+    public enum TipoAjuste { PERCENTUAL, VALOR }
+
+    private final FiltroJogo filtro;
+    private final TipoAjuste tipo;
+
+    // PERCENTUAL: centésimos de ponto percentual (-20% => -2000).
+    // VALOR: centavos somados ao preço (-15,00 => -1500).
+    private final long ajuste;
+
+    // Centavos finais do preço novo (0 a 99); -1 = não arredonda.
+    private final int terminacao;
+
+    public RegraReajuste(FiltroJogo filtro, TipoAjuste tipo, long ajuste, int terminacao) {
+        if (tipo == TipoAjuste.PERCENTUAL && ajuste < -10_000) {
+            throw new IllegalArgumentException("Desconto maior que 100%: " + Preco.formatar(-ajuste) + "%");
+        }
+        if (terminacao < -1 || terminacao > 99) {
+            throw new IllegalArgumentException("Arredondamento inválido: " + terminacao + " centavos");
+        }
+        this.filtro = filtro;
+        this.tipo = tipo;
+        this.ajuste = ajuste;
+        this.terminacao = terminacao;
+    }
+
+    // ==============================
+    // TEXTO => REGRA
+    // ==============================
+    public static RegraReajuste parse(String texto) {
+
+        FiltroJogo filtro = new FiltroJogo();
+        filtro.setModoTitulo(FiltroJogo.ModoTitulo.PALAVRAS);
+
+        TipoAjuste tipo = null;
+        long ajuste = 0;
+        int terminacao = -1;
+
+        for (String parte : texto.split("[;\\n]")) {
+            if (parte.isBlank()) continue;
+
+            int igual = parte.indexOf('=');
+            if (igual < 0) throw new IllegalArgumentException("Regra inválida (falta \"=\"): " + parte.trim());
+
+            String chave = parte.substring(0, igual).trim().toLowerCase(Locale.ROOT);
+            String valor = parte.substring(igual + 1).trim();
+            if (valor.isEmpty()) throw new IllegalArgumentException("Regra inválida (valor vazio): " + chave);
+
+            switch (chave) {
+                case "plataforma":
+                    filtro.setPlataforma(valor);
+                    break;
+                case "titulo":
+                case "título":
+                    filtro.setTitulo(valor);
+                    break;
+                case "preco":
+                case "preço":
+                    int pontos = valor.indexOf("..");
+                    if (pontos < 0) throw new IllegalArgumentException("Faixa de preço inválida (ex: 100..300): " + valor);
+                    String de = valor.substring(0, pontos).trim();
+                    String ate = valor.substring(pontos + 2).trim();
+                    if (!de.isEmpty()) filtro.setPrecoMinimo(Preco.parse(de));
+                    if (!ate.isEmpty()) filtro.setPrecoMaximo(Preco.parse(ate));
+                    break;
+                case "ajuste":
+                    if (valor.endsWith("%")) {
+                        tipo = TipoAjuste.PERCENTUAL;
+                        // "12,5" em centavos é 1250: os mesmos centésimos do percentual.
+                        ajuste = Preco.parse(sinal(valor.substring(0, valor.length() - 1)));
+                    } else {
+                        tipo = TipoAjuste.VALOR;
+                        ajuste = Preco.parse(sinal(valor));
+                    }
+                    break;
+                case "arredondar":
+                    terminacao = lerTerminacao(valor);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Regra inválida (chave desconhecida): " + chave);
+            }
+        }
+
+        if (tipo == null) throw new IllegalArgumentException("Regra sem \"ajuste\" (ex: ajuste=-20%)");
+        return new RegraReajuste(filtro, tipo, ajuste, terminacao);
+    }
+
+    // "+5" => "5" (o Preco.parse só entende o "-").
+    private static String sinal(String valor) {
+        String v = valor.trim();
+        return v.startsWith("+") ? v.substring(1) : v;
+    }
+
+    // ",90" / ".90" / "0,90" => 90; ",9" => 90.
+    private static int lerTerminacao(String valor) {
+        String v = valor.trim();
+        if (v.startsWith(",") || v.startsWith(".")) v = "0" + v;
+        long centavos = Preco.parse(v);
+        if (centavos < 0 || centavos > 99) {
+            throw new IllegalArgumentException("Arredondamento inválido (ex: ,90): " + valor);
+        }
+        return (int) centavos;
+    }
+
+    // ==============================
+    // CÁLCULO
+    // ==============================
+
+    public FiltroJogo getFiltro() {
+        return filtro;
+    }
+
+    // Preço novo (em centavos) para um preço atual. Nunca fica negativo.
+    public long aplicar(long centavos) {
+
+        long novo;
+        try {
+            if (tipo == TipoAjuste.PERCENTUAL) {
+                // centavos * (100% + ajuste), arredondando meio centavo para cima.
+                // O ajuste pode chegar a 10^12 (Preco.parse): centavos * ajuste passa
+                // de um long com preços altos e aumentos enormes. Conta exata; se não
+                // couber, o preço já passou do máximo de qualquer jeito.
+                novo = Math.addExact(Math.multiplyExact(centavos, 10_000 + ajuste), 5_000) / 10_000;
+            } else {
+                novo = Math.addExact(centavos, ajuste);
+            }
+        } catch (ArithmeticException e) {
+            novo = Preco.MAXIMO_CENTAVOS;
+        }
+
+        if (novo < 0) novo = 0;
+        if (terminacao >= 0) novo = arredondar(novo, terminacao);
+        return Math.min(novo, Preco.MAXIMO_CENTAVOS);
+    }
+
+    // Preço mais próximo terminado em "terminacao" centavos (empate: o menor).
+    // 239,92 => 239,90; 240,50 => 240,90; 240,40 => 239,90.
+    static long arredondar(long centavos, int terminacao) {
+        long base = centavos - centavos % 100 + terminacao;
+        long abaixo = base > centavos ? base - 100 : base;
+        long acima = abaixo + 100;
+        if (abaixo < 0) return acima;
+        return centavos - abaixo <= acima - centavos ? abaixo : acima;
+    }
+
+    // ==============================
+    // PRÉVIA (em memória, em paralelo)
+    // ==============================
+    // Testa a regra no catálogo inteiro sem ir ao banco.
+    // Cada jogo é independente dos outros: o parallelStream divide o catálogo
+    // entre os núcleos do processador. A ordem do catálogo é mantida.
+    // Jogos cujo preço não muda ficam de fora.
+    public List<Alteracao> previsualizar(Collection<Jogo> catalogo) {
+
+        Predicate<Jogo> aceita = filtro.criterio();
+
+        return catalogo.parallelStream()
+                .filter(aceita)
+                .map(j -> new Alteracao(j, aplicar(j.getPrecoCentavos())))
+                .filter(a -> a.getPrecoNovo() != a.getPrecoAntigo())
+                .collect(Collectors.toList());
+    }
+
+    // Um jogo e o preço que ele vai ter.
+    public static class Alteracao {
+        private final Jogo jogo;
+        private final long precoNovo;
+
+        public Alteracao(Jogo jogo, long precoNovo) {
+            this.jogo = jogo;
+            this.precoNovo = precoNovo;
+        }
+
+        public Jogo getJogo() {
+            return jogo;
+        }
+
+        public int getId() {
+            return jogo.getId();
+        }
+
+        public long getPrecoAntigo() {
+            return jogo.getPrecoCentavos();
+        }
+
+        public long getPrecoNovo() {
+            return precoNovo;
+        }
+
+        // Cópia do jogo já com o preço novo.
+        public Jogo jogoReajustado() {
+            Jogo j = new Jogo(jogo.getTitulo(), jogo.getPlataforma(), precoNovo, jogo.getImagemPath());
+            j.setId(jogo.getId());
+            j.setVersao(jogo.getVersao() + 1);
+            return j;
+        }
+    }
+}
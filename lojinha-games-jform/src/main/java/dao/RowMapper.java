@@ -0,0 +1,12 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Converte a linha atual de um ResultSet em objeto.
+// Um único mapper por tabela: o código de leitura não fica repetido em cada consulta.
+public interface RowMapper<T> {
+
+    T mapear(ResultSet rs) throws SQLException;
+}
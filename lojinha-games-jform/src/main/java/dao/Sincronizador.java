@@ -0,0 +1,711 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+import model.Jogo;
+
+import util.ConnectionFactory;
+import util.Preco;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Mantém a réplica local (modo -Dlojinha.db=replica) igual ao banco central.
+//
+// Nesse modo o JogoDAO só usa o H2 deste computador: ler e gravar tem a
+// velocidade do disco local e continua funcionando com o servidor fora do ar.
+// Em segundo plano, a cada rodada, este Sincronizador:
+//
+// 1) ENVIA: toda gravação do JogoDAO já registra uma linha em jogo_changes na
+//    mesma transação; na réplica essas linhas são a caixa de saída (outbox).
+//    Até LOTE delas vão ao servidor numa transação só; depois de confirmadas
+//    lá, são apagadas daqui. Várias alterações do mesmo jogo viram uma só
+//    (vale o jogo como está agora na réplica).
+// 2) RECEBE: um MonitorAlteracoes apontado para o servidor traz o que os
+//    outros computadores mudaram, e a réplica é atualizada (menos os jogos com
+//    alteração ainda não enviada: o envio decide). As linhas gravadas aqui com
+//    origem ORIGEM fazem o MonitorAlteracoes da tela atualizar a tabela.
+//
+// Conflitos: o envio usa a versão que o servidor tinha quando as cópias
+// estavam iguais (tabela jogo_sync). Se outro computador mudou o jogo antes,
+// o servidor ganha: a réplica volta a ser a cópia dele e o Ouvinte é avisado.
+//
+// IDs: jogo cadastrado aqui recebe ID negativo (-1, -2...); ao ser enviado,
+// ganha o ID do servidor e a linha local é renumerada.
+//
+// São duas transações (servidor, depois réplica): se o programa cair entre
+// as duas, a rodada se repete. Uma alteração vira "conflito" consigo mesma
+// (a réplica fica com o que já está no servidor). Um cadastro vai com uma
+// chave de envio (esta réplica + ID provisório, coluna origem_sync): o
+// reenvio acha o jogo já gravado no servidor em vez de cadastrá-lo de novo.
+public class Sincronizador {
+
+    // Origem das linhas que o Sincronizador grava em jogo_changes na réplica.
+    public static final String ORIGEM = "sincronizacao";
+
+    // Alterações enviadas/recebidas por transação.
+    private static final int LOTE = 500;
+
+    // Quanto tempo as linhas recebidas ficam em jogo_changes (a tela já leu).
+    private static final long GUARDAR_RECEBIDAS_MS = 10 * 60_000;
+
+    // Chave em sync_estado: último seq do servidor já aplicado na réplica.
+    private static final String RECEBIDO = "recebido";
+
+    // Chave em sync_estado: número aleatório desta réplica (parte da chave de envio).
+    private static final String REPLICA = "replica";
+
+    // Quanto parar() espera a rodada em andamento terminar.
+    private static final long ESPERA_PARAR_MS = 5_000;
+
+    // Avisos para a tela (chamados na thread do Sincronizador).
+    public interface Ouvinte {
+        // Outro computador alterou/excluiu estes jogos antes: as alterações feitas aqui foram descartadas.
+        void conflitos(List<ConflitoVersaoException> conflitos);
+
+        // A réplica foi copiada inteira do servidor: recarregue tudo.
+        void recarregar();
+
+        // Cadastros enviados: ID provisório => ID definitivo (ex.: o jogo aberto no formulário).
+        void renumerados(Map<Integer, Integer> ids);
+
+        // Fim de uma rodada: conectado ao servidor? quantas alterações falta enviar?
+        void estado(boolean conectado, long pendentes);
+    }
+
+    private final long intervaloMs;
+    private final MonitorAlteracoes recebidas = new MonitorAlteracoes(LOTE, ConnectionFactory::getConnectionCentral);
+    // Última limpeza do jogo_changes do servidor (ms; só na thread do Sincronizador).
+    private long ultimaLimpezaServidor = 0;
+    private final ScheduledExecutorService agenda;
+
+    private volatile Ouvinte ouvinte;
+    private volatile boolean conectado = false;
+
+    public Sincronizador(long intervaloMs) {
+        this.intervaloMs = intervaloMs;
+
+        // Thread "daemon": não impede o programa de fechar (o que faltar vai na próxima vez).
+        this.agenda = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sincronizacao");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void setOuvinte(Ouvinte ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
+    public boolean isConectado() {
+        return conectado;
+    }
+
+    // Primeira rodada agora; as próximas a cada intervaloMs.
+    public void iniciar() {
+        agenda.scheduleWithFixedDelay(this::rodada, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Para as rodadas. A que estiver em andamento termina (até ESPERA_PARAR_MS),
+    // para não interromper as transações no meio.
+    public void parar() {
+        agenda.shutdown();
+        try {
+            if (!agenda.awaitTermination(ESPERA_PARAR_MS, TimeUnit.MILLISECONDS)) agenda.shutdownNow();
+        } catch (InterruptedException e) {
+            agenda.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rodada() {
+        try {
+            sincronizar();
+            conectado = true;
+        } catch (Exception e) {
+            // Servidor fora do ar (ou caiu no meio): nada se perde, tudo
+            // continua na caixa de saída para a próxima rodada.
+            conectado = false;
+        }
+
+        Ouvinte o = ouvinte;
+        if (o == null) return;
+        try {
+            o.estado(conectado, contarPendentes());
+        } catch (Exception ignored) {}
+    }
+
+    // Uma rodada completa: esvazia a caixa de saída e traz o que mudou no servidor.
+    public synchronized void sincronizar() {
+        while (enviar() == LOTE) {
+            // Lote cheio: pode haver mais.
+        }
+        receber();
+        apagarRecebidasAntigas();
+        limparServidor();
+    }
+
+    // O jogo_changes do servidor também cresce sem parar: de hora em hora,
+    // apaga o que passou da retenção (ninguém mais vai ler).
+    private void limparServidor() {
+        long agora = System.currentTimeMillis();
+        if (agora - ultimaLimpezaServidor < MonitorAlteracoes.INTERVALO_LIMPEZA_MS) return;
+
+        try {
+            recebidas.apagarAntigas();
+            ultimaLimpezaServidor = agora;
+        } catch (RuntimeException e) {
+            // Não atrapalha a sincronização: tenta de novo na próxima rodada.
+        }
+    }
+
+    // ==============================
+    // ENVIO (réplica => servidor)
+    // ==============================
+
+    // O que fazer com um jogo da caixa de saída (e o que aconteceu no servidor).
+    private static class Envio {
+        final int id;
+        final List<Long> seqs = new ArrayList<>();
+        Jogo local;          // como está na réplica (null = excluído aqui)
+        int versaoServidor;  // versão no servidor quando as cópias estavam iguais (-1 = desconhecida)
+        String chave;        // cadastro: chave de envio (réplica + ID provisório)
+
+        char operacao;       // o que foi gravado no servidor (0 = nada)
+        int idNovo;          // cadastro: ID definitivo
+        int versaoNova;      // cadastro: versão do jogo no servidor depois do envio
+        boolean conflito;
+        Jogo servidor;       // conflito: como está no servidor (null = excluído lá)
+
+        Envio(int id) {
+            this.id = id;
+        }
+    }
+
+    // Envia até LOTE linhas da caixa de saída. Devolve quantas foram lidas.
+    private int enviar() {
+
+        Map<Integer, Envio> envios = new LinkedHashMap<>();
+        int lidas = 0;
+
+        // 1) Lê a caixa de saída e o estado atual de cada jogo (réplica).
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = c.prepareStatement(SqlJogo.PENDENTES)) {
+
+            ps.setString(1, ORIGEM);
+            ps.setInt(2, LOTE);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lidas++;
+                    envios.computeIfAbsent(rs.getInt(2), Envio::new).seqs.add(rs.getLong(1));
+                }
+            }
+
+            String replica = null;
+            for (Envio e : envios.values()) {
+                e.local = JogoDAO.buscarPorIdNoBanco(c, e.id);
+                e.versaoServidor = lerVersaoServidor(c, e.id);
+
+                if (e.id < 0) {
+                    if (replica == null) replica = idDaReplica(c);
+                    e.chave = replica + ":" + (-e.id);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao ler alterações a enviar: " + e.getMessage());
+        }
+
+        if (envios.isEmpty()) return 0;
+
+        // 2) Grava tudo no servidor, numa transação.
+        try (Connection c = ConnectionFactory.getConnectionCentral()) {
+
+            c.setAutoCommit(false);
+            for (Envio e : envios.values()) enviar(c, e);
+            c.commit();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao enviar alterações: " + e.getMessage());
+        }
+
+        // 3) Confirma na réplica: apaga o que foi enviado, renumera cadastros e resolve conflitos.
+        List<ConflitoVersaoException> conflitos = new ArrayList<>();
+        Map<Integer, Integer> renumerados = new LinkedHashMap<>();
+
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement apagar = c.prepareStatement(SqlJogo.APAGAR_ENVIADA);
+             PreparedStatement registro = c.prepareStatement(SqlJogo.REGISTRAR_ALTERACAO)) {
+
+            c.setAutoCommit(false);
+
+            for (Envio e : envios.values()) {
+                for (long seq : e.seqs) {
+                    apagar.setLong(1, seq);
+                    apagar.addBatch();
+                }
+
+                if (e.conflito) {
+                    // O servidor ganha: descarta também o que foi alterado depois da leitura.
+                    executar(c, SqlJogo.DESCARTAR_PENDENTES, e.id, ORIGEM);
+                    JogoDAO.adicionarRegistro(registro, e.id, gravarCopia(c, e.id, e.servidor), ORIGEM);
+
+                    // Exclusão recusada: o que "se tentou" é o próprio jogo do servidor.
+                    conflitos.add(new ConflitoVersaoException(e.local != null ? e.local : e.servidor, e.servidor));
+
+                } else if (e.operacao == JogoDAO.INSERCAO) {
+                    // ID provisório => definitivo (inclusive nas alterações feitas depois da leitura).
+                    executar(c, SqlJogo.RENUMERAR, e.idNovo, e.id);
+                    executar(c, SqlJogo.RENUMERAR_PENDENTES, e.idNovo, e.id, ORIGEM);
+                    executar(c, SqlJogo.GRAVAR_VERSAO_NO_SERVIDOR, e.idNovo, e.versaoNova);
+                    renumerados.put(e.id, e.idNovo);
+                    JogoDAO.adicionarRegistro(registro, e.id, JogoDAO.EXCLUSAO, ORIGEM);
+                    JogoDAO.adicionarRegistro(registro, e.idNovo, JogoDAO.INSERCAO, ORIGEM);
+
+                } else if (e.operacao == JogoDAO.ATUALIZACAO) {
+                    executar(c, SqlJogo.GRAVAR_VERSAO_NO_SERVIDOR, e.id, e.versaoServidor + 1);
+
+                } else if (e.operacao == JogoDAO.EXCLUSAO) {
+                    executar(c, SqlJogo.APAGAR_VERSAO_NO_SERVIDOR, e.id);
+                }
+            }
+
+            apagar.executeBatch();
+            registro.executeBatch();
+            c.commit();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao confirmar alterações enviadas: " + e.getMessage());
+        }
+
+        Ouvinte o = ouvinte;
+        if (o != null && !renumerados.isEmpty()) o.renumerados(renumerados);
+        if (o != null && !conflitos.isEmpty()) o.conflitos(conflitos);
+
+        return lidas;
+    }
+
+    // Grava um jogo da caixa de saída no servidor (transação já aberta em "c").
+    private static void enviar(Connection c, Envio e) throws SQLException {
+
+        if (e.local == null) {
+            // Cadastrado e excluído sem conexão: o servidor nunca soube dele.
+            if (e.id < 0) return;
+
+            if (executar(c, SqlJogo.EXCLUIR_VERSAO, e.id, e.versaoServidor) > 0) {
+                JogoDAO.registrarAlteracao(c, e.id, JogoDAO.EXCLUSAO);
+                e.operacao = JogoDAO.EXCLUSAO;
+                return;
+            }
+
+            // Já excluído lá também: não é conflito.
+            e.servidor = JogoDAO.buscarPorIdNoBanco(c, e.id);
+            if (e.servidor == null) e.operacao = JogoDAO.EXCLUSAO;
+            else e.conflito = true;
+            return;
+        }
+
+        Jogo j = e.local;
+
+        if (e.id < 0) {
+            if (!reaproveitarEnviado(c, e)) {
+                try (PreparedStatement ps = c.prepareStatement(SqlJogo.INSERIR_ENVIADO, Statement.RETURN_GENERATED_KEYS)) {
+                    ps.setString(1, j.getTitulo());
+                    ps.setString(2, j.getPlataforma());
+                    ps.setBigDecimal(3, Preco.paraDecimal(j.getPrecoCentavos()));
+                    ps.setString(4, j.getImagemPath());
+                    ps.setString(5, e.chave);
+                    ps.executeUpdate();
+
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        rs.next();
+                        e.idNovo = rs.getInt(1);
+                    }
+                }
+                e.versaoNova = 0;
+            }
+            JogoDAO.registrarAlteracao(c, e.idNovo, JogoDAO.INSERCAO);
+            e.operacao = JogoDAO.INSERCAO;
+            return;
+        }
+
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.ATUALIZAR)) {
+            ps.setString(1, j.getTitulo());
+            ps.setString(2, j.getPlataforma());
+            ps.setBigDecimal(3, Preco.paraDecimal(j.getPrecoCentavos()));
+            ps.setString(4, j.getImagemPath());
+            ps.setInt(5, e.id);
+            ps.setInt(6, e.versaoServidor);
+
+            if (ps.executeUpdate() > 0) {
+                JogoDAO.registrarAlteracao(c, e.id, JogoDAO.ATUALIZACAO);
+                e.operacao = JogoDAO.ATUALIZACAO;
+                return;
+            }
+        }
+
+        e.servidor = JogoDAO.buscarPorIdNoBanco(c, e.id);
+        e.conflito = true;
+    }
+
+    // Cadastro já gravado no servidor por um envio anterior (o programa caiu antes
+    // de confirmar na réplica)? Então só atualiza aquele jogo com o que está aqui agora.
+    private static boolean reaproveitarEnviado(Connection c, Envio e) throws SQLException {
+        int versao;
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.BUSCAR_ENVIADO)) {
+            ps.setString(1, e.chave);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return false;
+                e.idNovo = rs.getInt(1);
+                versao = rs.getInt(2);
+            }
+        }
+
+        Jogo j = e.local;
+        executar(c, SqlJogo.ATUALIZAR, j.getTitulo(), j.getPlataforma(), Preco.paraDecimal(j.getPrecoCentavos()),
+                j.getImagemPath(), e.idNovo, versao);
+        e.versaoNova = versao + 1;
+        return true;
+    }
+
+    // ==============================
+    // RECEBIMENTO (servidor => réplica)
+    // ==============================
+
+    private void receber() {
+
+        try {
+            if (!recebidas.isIniciado()) {
+                long posicao = lerEstado(RECEBIDO);
+
+                // Primeira vez, ou ficou tanto tempo desligado que o servidor já
+                // apagou alterações que esta réplica não viu: copia tudo.
+                if (posicao < 0 || perdeuAlteracoes(posicao)) {
+                    copiarTudo();
+                    return;
+                }
+                recebidas.iniciarEm(posicao);
+            }
+
+            MonitorAlteracoes.Lote lote;
+            long gravada = recebidas.getPosicao();
+            do {
+                lote = recebidas.buscar();
+
+                // Ficou desligado mais que a retenção do servidor: pode ter perdido linhas.
+                if (lote.isLacuna()) {
+                    copiarTudo();
+                    return;
+                }
+
+                // Nada novo e a posição não andou (ex.: esperando um buraco fechar):
+                // não abre transação na réplica nem regrava sync_estado.
+                if (lote.getAlteracoes().isEmpty() && recebidas.getPosicao() == gravada) break;
+
+                aplicar(lote.getAlteracoes());
+                gravada = recebidas.getPosicao();
+
+                // isTemMais só com linhas ainda não vistas: reler um buraco não repete o laço.
+            } while (lote.isTemMais());
+
+        } catch (RuntimeException e) {
+            // O monitor pode ter andado sem a réplica ter gravado:
+            // na próxima rodada recomeça da posição salva.
+            recebidas.iniciarEm(-1);
+            throw e;
+        }
+    }
+
+    // Aplica as alterações na réplica e salva a posição, numa transação.
+    private void aplicar(List<MonitorAlteracoes.Alteracao> alteracoes) {
+
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement registro = c.prepareStatement(SqlJogo.REGISTRAR_ALTERACAO)) {
+
+            c.setAutoCommit(false);
+
+            for (MonitorAlteracoes.Alteracao a : alteracoes) {
+                // Alterado aqui e ainda não enviado: o envio decide (conflito).
+                if (temPendente(c, a.getId())) continue;
+
+                JogoDAO.adicionarRegistro(registro, a.getId(), gravarCopia(c, a.getId(), a.getAtual()), ORIGEM);
+            }
+
+            registro.executeBatch();
+            gravarEstado(c, RECEBIDO, recebidas.getPosicao());
+            c.commit();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao aplicar alterações recebidas: " + e.getMessage());
+        }
+    }
+
+    // Réplica inteira de novo, direto do servidor.
+    // Não trava a tela: a réplica continua respondendo enquanto a cópia anda.
+    private void copiarTudo() {
+
+        long posicao;
+        BitSet noServidor = new BitSet();
+
+        try (Connection c = ConnectionFactory.getConnectionCentral();
+             Statement st = c.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Antes da cópia: o que mudar durante ela chega na próxima rodada.
+            try (ResultSet rs = st.executeQuery(SqlJogo.ULTIMA_ALTERACAO)) {
+                rs.next();
+                posicao = rs.getLong(1);
+            }
+
+            // Lê o catálogo sem guardar tudo na memória (ver JogoDAO.forEach).
+            st.setFetchSize(ConnectionFactory.dialetoCentral().getFetchSizeStreaming());
+
+            List<Jogo> lote = new ArrayList<>(JogoDAO.TAMANHO_LOTE_PADRAO);
+            try (ResultSet rs = st.executeQuery(SqlJogo.SELECIONAR)) {
+                while (rs.next()) {
+                    Jogo j = JogoRowMapper.INSTANCIA.mapear(rs);
+                    noServidor.set(j.getId());
+                    lote.add(j);
+                    if (lote.size() == JogoDAO.TAMANHO_LOTE_PADRAO) {
+                        gravarCopias(lote);
+                        lote.clear();
+                    }
+                }
+            }
+            gravarCopias(lote);
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao copiar o catálogo do servidor: " + e.getMessage());
+        }
+
+        apagarAusentes(noServidor);
+
+        try (Connection c = ConnectionFactory.getConnection()) {
+            c.setAutoCommit(false);
+            gravarEstado(c, RECEBIDO, posicao);
+            c.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao salvar a sincronização: " + e.getMessage());
+        }
+
+        recebidas.iniciarEm(posicao);
+
+        Ouvinte o = ouvinte;
+        if (o != null) o.recarregar();
+    }
+
+    // Um lote da cópia completa (com a versão do servidor), numa transação.
+    private static void gravarCopias(List<Jogo> lote) throws SQLException {
+
+        if (lote.isEmpty()) return;
+
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement mesclar = c.prepareStatement(SqlJogo.MESCLAR);
+             PreparedStatement versao = c.prepareStatement(SqlJogo.GRAVAR_VERSAO_NO_SERVIDOR)) {
+
+            c.setAutoCommit(false);
+            Set<Integer> pendentes = idsPendentes(c);
+
+            for (Jogo j : lote) {
+                if (pendentes.contains(j.getId())) continue;
+
+                mesclar.setInt(1, j.getId());
+                mesclar.setString(2, j.getTitulo());
+                mesclar.setString(3, j.getPlataforma());
+                mesclar.setBigDecimal(4, Preco.paraDecimal(j.getPrecoCentavos()));
+                mesclar.setString(5, j.getImagemPath());
+                mesclar.setInt(6, j.getVersao());
+                mesclar.addBatch();
+
+                versao.setInt(1, j.getId());
+                versao.setInt(2, j.getVersao());
+                versao.addBatch();
+            }
+
+            mesclar.executeBatch();
+            versao.executeBatch();
+            c.commit();
+        }
+    }
+
+    // Jogos que existiam na réplica mas não estão mais no servidor.
+    private static void apagarAusentes(BitSet noServidor) {
+
+        try (Connection c = ConnectionFactory.getConnection()) {
+
+            c.setAutoCommit(false);
+            Set<Integer> pendentes = idsPendentes(c);
+
+            List<Integer> ausentes = new ArrayList<>();
+            try (PreparedStatement ps = c.prepareStatement(SqlJogo.IDS_DO_SERVIDOR);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    if (!noServidor.get(id) && !pendentes.contains(id)) ausentes.add(id);
+                }
+            }
+
+            for (int id : ausentes) gravarCopia(c, id, null);
+            c.commit();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao copiar o catálogo do servidor: " + e.getMessage());
+        }
+    }
+
+    // ==============================
+    // AUXILIARES (réplica)
+    // ==============================
+
+    // Deixa o jogo da réplica igual ao do servidor (null = excluído). Devolve a operação feita.
+    private static char gravarCopia(Connection c, int id, Jogo servidor) throws SQLException {
+
+        if (servidor == null) {
+            executar(c, SqlJogo.EXCLUIR, id);
+            executar(c, SqlJogo.APAGAR_VERSAO_NO_SERVIDOR, id);
+            return JogoDAO.EXCLUSAO;
+        }
+
+        char operacao = JogoDAO.ATUALIZACAO;
+        Object preco = Preco.paraDecimal(servidor.getPrecoCentavos());
+
+        if (executar(c, SqlJogo.COPIAR, servidor.getTitulo(), servidor.getPlataforma(), preco,
+                servidor.getImagemPath(), id) == 0) {
+            executar(c, SqlJogo.INSERIR_COM_ID, id, servidor.getTitulo(), servidor.getPlataforma(), preco,
+                    servidor.getImagemPath());
+            operacao = JogoDAO.INSERCAO;
+        }
+
+        executar(c, SqlJogo.GRAVAR_VERSAO_NO_SERVIDOR, id, servidor.getVersao());
+        return operacao;
+    }
+
+    private static boolean temPendente(Connection c, int id) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.TEM_PENDENTE)) {
+            ps.setInt(1, id);
+            ps.setString(2, ORIGEM);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static Set<Integer> idsPendentes(Connection c) throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.IDS_PENDENTES)) {
+            ps.setString(1, ORIGEM);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private static int lerVersaoServidor(Connection c, int id) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.VERSAO_NO_SERVIDOR)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    // Valor guardado em sync_estado (-1 = ainda não existe).
+    private static long lerEstado(String chave) {
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = c.prepareStatement(SqlJogo.LER_ESTADO)) {
+            ps.setString(1, chave);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao ler a sincronização: " + e.getMessage());
+        }
+    }
+
+    private static void gravarEstado(Connection c, String chave, long valor) throws SQLException {
+        executar(c, SqlJogo.GRAVAR_ESTADO, chave, valor);
+    }
+
+    // O servidor ainda tem tudo depois de "posicao"? (as linhas antigas podem ter sido apagadas)
+    // - a menor guardada é maior que posicao + 1: as do meio sumiram;
+    // - a maior é menor que posicao (ou a tabela está vazia): apagaram tudo, ou o
+    //   jogo_changes do servidor foi recriado e os números recomeçaram.
+    private static boolean perdeuAlteracoes(long posicao) {
+        try (Connection c = ConnectionFactory.getConnectionCentral();
+             PreparedStatement ps = c.prepareStatement(SqlJogo.LIMITES_ALTERACOES);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            long primeira = rs.getLong(1);
+            long ultima = rs.getLong(2);
+            return primeira > posicao + 1 || ultima < posicao;
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao ler alterações: " + e.getMessage());
+        }
+    }
+
+    // Número desta réplica (criado na primeira vez, guardado em sync_estado).
+    // Separa as chaves de envio de duas réplicas com os mesmos IDs provisórios.
+    private static String idDaReplica(Connection c) throws SQLException {
+        long id;
+        try (PreparedStatement ps = c.prepareStatement(SqlJogo.LER_ESTADO)) {
+            ps.setString(1, REPLICA);
+            try (ResultSet rs = ps.executeQuery()) {
+                id = rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+
+        if (id == 0) {
+            id = UUID.randomUUID().getMostSignificantBits();
+            gravarEstado(c, REPLICA, id);
+            if (!c.getAutoCommit()) c.commit();
+        }
+        return Long.toHexString(id);
+    }
+
+    // Quantas alterações feitas aqui ainda não foram para o servidor.
+    public long contarPendentes() {
+        try (Connection c = ConnectionFactory.getConnection();
+             PreparedStatement ps = c.prepareStatement(SqlJogo.CONTAR_PENDENTES)) {
+            ps.setString(1, ORIGEM);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao contar alterações: " + e.getMessage());
+        }
+    }
+
+    // As linhas recebidas só servem para a tela se atualizar: depois de um tempo, saem.
+    private static void apagarRecebidasAntigas() {
+        try (Connection c = ConnectionFactory.getConnection()) {
+            executar(c, SqlJogo.APAGAR_ALTERACOES_ANTIGAS, ORIGEM,
+                    new Timestamp(System.currentTimeMillis() - GUARDAR_RECEBIDAS_MS));
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao limpar alterações: " + e.getMessage());
+        }
+    }
+
+    // Executa um comando com os parâmetros na ordem. Devolve as linhas afetadas.
+    private static int executar(Connection c, String sql, Object... parametros) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.length; i++) ps.setObject(i + 1, parametros[i]);
+            return ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// Define o pacote DAO (Data Access Object).
+package dao;
+
+// Todos os comandos SQL da tabela "jogo", num lugar só.
+//
+// O cache de statements do pool usa o TEXTO do SQL como chave: se cada método
+// montasse o seu (com um espaço a mais, outra ordem de colunas...), o mesmo
+// comando seria preparado de novo. Usando sempre estas constantes, cada SQL
+// é analisado pelo MySQL uma vez por conexão e reaproveitado depois.
+final class SqlJogo {
+
+    private SqlJogo() {}
+
+    // Início de todo SELECT que devolve jogos (colunas na ordem do JogoRowMapper).
+    static final String SELECIONAR = "SELECT " + JogoRowMapper.COLUNAS + " FROM jogo";
+
+    static final String CONTAR = "SELECT COUNT(*) FROM jogo";
+
+    static final String INSERIR =
+            "INSERT INTO jogo (titulo, plataforma, preco, imagem_path) VALUES (?, ?, ?, ?)";
+
+    // Controle de concorrência otimista: só grava se a versão ainda for a que
+    // o usuário carregou (e já avança a versão no mesmo comando).
+    static final String ATUALIZAR =
+            "UPDATE jogo SET titulo = ?, plataforma = ?, preco = ?, imagem_path = ?, versao = versao + 1"
+            + " WHERE id = ? AND versao = ?";
+
+    // Só troca o preço se o jogo ainda estiver como a prévia do reajuste viu (mesma versão).
+    static final String REAJUSTAR_PRECO = "UPDATE jogo SET preco = ?, versao = versao + 1 WHERE id = ? AND versao = ?";
+
+    static final String EXCLUIR = "DELETE FROM jogo WHERE id = ?";
+
+    // Lê a imagem e trava a linha até o fim da transação de exclusão.
+    static final String IMAGEM_PARA_EXCLUIR = "SELECT imagem_path FROM jogo WHERE id = ? FOR UPDATE";
+
+    static final String CONTAR_USOS_IMAGEM = CONTAR + " WHERE imagem_path = ?";
+
+    static final String LISTAR = SELECIONAR + " ORDER BY titulo";
+
+    static final String LISTAR_TODOS_EM_ORDEM = SELECIONAR + " ORDER BY titulo, id";
+
+    static final String BUSCAR_POR_ID = SELECIONAR + " WHERE id = ?";
+
+    static final String LISTAR_PLATAFORMAS = "SELECT DISTINCT plataforma FROM jogo ORDER BY plataforma";
+
+    // ===== REGISTRO DE ALTERAÇÕES (jogo_changes) =====
+
+    static final String REGISTRAR_ALTERACAO =
+            "INSERT INTO jogo_changes (jogo_id, operacao, origem) VALUES (?, ?, ?)";
+
+    static final String ULTIMA_ALTERACAO = "SELECT COALESCE(MAX(seq), 0) FROM jogo_changes";
+
+    // Alterações depois de uma sequência, já com o jogo como está agora
+    // (colunas do JogoRowMapper primeiro; todas NULL se o jogo foi excluído).
+    // Lê só um intervalo da chave primária: custa o mesmo com 10 ou 10 milhões de linhas.
+    static final String ALTERACOES_DESDE =
+            "SELECT " + JogoRowMapper.COLUNAS + ", c.seq, c.jogo_id, c.operacao, c.origem"
+            + " FROM jogo_changes c LEFT JOIN jogo ON jogo.id = c.jogo_id"
+            + " WHERE c.seq > ? ORDER BY c.seq LIMIT ?";
+
+    static final String LIMITES_ALTERACOES = "SELECT COALESCE(MIN(seq), 0), COALESCE(MAX(seq), 0) FROM jogo_changes";
+
+    // Limpeza das linhas antigas, em pedaços (um DELETE enorme travaria a tabela).
+    // A última linha (seq < ?) sempre fica: pela faixa MIN..MAX quem volta depois
+    // de muito tempo percebe que linhas que não viu foram apagadas.
+    static final int APAGAR_POR_VEZ = 10_000;
+    static final String APAGAR_ALTERACOES_ANTES =
+            "DELETE FROM jogo_changes WHERE criado_em < ? AND seq < ? LIMIT " + APAGAR_POR_VEZ;
+
+    // ===== RÉPLICA LOCAL (Sincronizador) =====
+    // O "?" de origem é sempre Sincronizador.ORIGEM: as linhas com outra origem
+    // são a caixa de saída (gravadas pelo JogoDAO e ainda não enviadas).
+
+    static final String PENDENTES = "SELECT seq, jogo_id FROM jogo_changes WHERE origem <> ? ORDER BY seq LIMIT ?";
+
+    static final String CONTAR_PENDENTES = "SELECT COUNT(*) FROM jogo_changes WHERE origem <> ?";
+
+    static final String IDS_PENDENTES = "SELECT DISTINCT jogo_id FROM jogo_changes WHERE origem <> ?";
+
+    static final String TEM_PENDENTE = "SELECT 1 FROM jogo_changes WHERE jogo_id = ? AND origem <> ? LIMIT 1";
+
+    static final String APAGAR_ENVIADA = "DELETE FROM jogo_changes WHERE seq = ?";
+
+    static final String DESCARTAR_PENDENTES = "DELETE FROM jogo_changes WHERE jogo_id = ? AND origem <> ?";
+
+    static final String RENUMERAR_PENDENTES = "UPDATE jogo_changes SET jogo_id = ? WHERE jogo_id = ? AND origem <> ?";
+
+    static final String APAGAR_ALTERACOES_ANTIGAS = "DELETE FROM jogo_changes WHERE origem = ? AND criado_em < ?";
+
+    // ID provisório (negativo) => ID definitivo do servidor.
+    static final String RENUMERAR = "UPDATE jogo SET id = ? WHERE id = ?";
+
+    // No servidor: cadastro enviado com a chave de envio (réplica + ID provisório).
+    // Um reenvio com a mesma chave acha o jogo já gravado (ver Sincronizador).
+    static final String INSERIR_ENVIADO =
+            "INSERT INTO jogo (titulo, plataforma, preco, imagem_path, origem_sync) VALUES (?, ?, ?, ?, ?)";
+
+    static final String BUSCAR_ENVIADO = "SELECT id, versao FROM jogo WHERE origem_sync = ? FOR UPDATE";
+
+    // Cópia do jogo do servidor (a versão local só anda para frente).
+    static final String COPIAR =
+            "UPDATE jogo SET titulo = ?, plataforma = ?, preco = ?, imagem_path = ?, versao = versao + 1 WHERE id = ?";
+
+    static final String INSERIR_COM_ID =
+            "INSERT INTO jogo (id, titulo, plataforma, preco, imagem_path) VALUES (?, ?, ?, ?, ?)";
+
+    static final String MESCLAR =
+            "MERGE INTO jogo (id, titulo, plataforma, preco, imagem_path, versao) KEY (id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    static final String IDS_DO_SERVIDOR = "SELECT id FROM jogo WHERE id > 0";
+
+    static final String EXCLUIR_VERSAO = "DELETE FROM jogo WHERE id = ? AND versao = ?";
+
+    static final String VERSAO_NO_SERVIDOR = "SELECT versao FROM jogo_sync WHERE id = ?";
+
+    static final String GRAVAR_VERSAO_NO_SERVIDOR = "MERGE INTO jogo_sync (id, versao) KEY (id) VALUES (?, ?)";
+
+    static final String APAGAR_VERSAO_NO_SERVIDOR = "DELETE FROM jogo_sync WHERE id = ?";
+
+    static final String LER_ESTADO = "SELECT valor FROM sync_estado WHERE chave = ?";
+
+    static final String GRAVAR_ESTADO = "MERGE INTO sync_estado (chave, valor) KEY (chave) VALUES (?, ?)";
+}
@@ -11,8 +11,12 @@ public class Jogo {
     private int id;
     private String titulo;
     private String plataforma;
-    private double preco;
+    // Preço em centavos (R$ 199,90 => 19990): conta exata, sem erro de double.
+    private long precoCentavos;
     private String imagemPath;
+    // Versão da linha no banco: aumenta a cada UPDATE.
+    // Serve para saber se outra pessoa alterou o jogo depois que ele foi carregado.
+    private int versao;
 
     // Construtor vazio.
     // Necessário para frameworks, DAO e criação sem dados iniciais.
@@ -20,10 +24,10 @@ public class Jogo {
 
     // Construtor com parâmetros.
     // Facilita criar um jogo já com dados.
-    public Jogo(String titulo, String plataforma, double preco, String imagemPath) {
+    public Jogo(String titulo, String plataforma, long precoCentavos, String imagemPath) {
         this.titulo = titulo;
         this.plataforma = plataforma;
-        this.preco = preco;
+        this.precoCentavos = precoCentavos;
         this.imagemPath = imagemPath;
     }
 
@@ -54,12 +58,12 @@ public class Jogo {
         this.plataforma = plataforma; 
     }
 
-    public double getPreco() { 
-        return preco; 
+    public long getPrecoCentavos() { 
+        return precoCentavos; 
     }
 
-    public void setPreco(double preco) { 
-        this.preco = preco; 
+    public void setPrecoCentavos(long precoCentavos) { 
+        this.precoCentavos = precoCentavos; 
     }
 
     public String getImagemPath() { 
@@ -69,6 +73,14 @@ public class Jogo {
     public void setImagemPath(String imagemPath) { 
         this.imagemPath = imagemPath; 
     }
+
+    public int getVersao() { 
+        return versao; 
+    }
+
+    public void setVersao(int versao) { 
+        this.versao = versao; 
+    }
 }
 
 
@@ -92,10 +104,12 @@ public class Jogo {
 //
 //plataforma → PC, PS5, Xbox
 //
-//preco → valor
+//precoCentavos → valor em centavos (199,90 vira 19990)
 //
 //imagemPath → caminho da imagem
 //
+//versao → quantas vezes o registro foi alterado no banco
+//
 //👉 É como uma ficha de cadastro.
 //
 //✅ Construtores
@@ -112,7 +126,7 @@ public class Jogo {
 //
 //Já cria com dados:
 //
-//Jogo j = new Jogo("FIFA", "PS5", 299.90, "img/fifa.jpg");
+//Jogo j = new Jogo("FIFA", "PS5", 29990, "img/fifa.jpg");
 //
 //
 //Mais prático.
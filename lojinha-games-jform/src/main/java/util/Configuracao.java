@@ -0,0 +1,356 @@
+package util;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+// Configurações do sistema, lidas uma única vez ao abrir o programa.
+//
+// Cada valor vem do primeiro lugar onde estiver definido:
+//   1. linha de comando:     java -Dlojinha.pool.maximo=20 -jar ...
+//   2. variável de ambiente: LOJINHA_POOL_MAXIMO=20 (ponto vira "_", tudo maiúsculo)
+//   3. arquivo lojinha.properties na pasta do programa
+//      (outro arquivo: -Dlojinha.config=/caminho/lojinha.properties)
+//   4. o padrão escrito abaixo
+//
+// Assim cada loja ajusta pool, caches, páginas e pastas sem recompilar.
+// Modelo com todas as chaves: lojinha.properties.exemplo.
+//
+// Tudo é conferido ao carregar: um valor errado (texto onde vai número,
+// fora da faixa...) impede o programa de abrir e a mensagem lista TODOS
+// os problemas, em vez de um erro estranho no meio do uso.
+public final class Configuracao {
+
+    private static final String ARQUIVO_PADRAO = "lojinha.properties";
+
+    private static volatile Configuracao atual;
+
+    // Configuração em uso (carregada na primeira chamada).
+    // Valor inválido => IllegalArgumentException com a lista de erros.
+    public static Configuracao atual() {
+        Configuracao c = atual;
+        if (c == null) {
+            synchronized (Configuracao.class) {
+                if (atual == null) atual = new Configuracao(lerArquivo());
+                c = atual;
+            }
+        }
+        return c;
+    }
+
+    private static Properties lerArquivo() {
+        Properties p = new Properties();
+        String nome = System.getProperty("lojinha.config");
+        Path arquivo = Path.of(nome == null ? ARQUIVO_PADRAO : nome);
+
+        // Sem arquivo: só padrões, variáveis e -D (o arquivo é opcional,
+        // a não ser que tenha sido pedido com -Dlojinha.config).
+        if (!Files.exists(arquivo)) {
+            if (nome != null) throw new IllegalArgumentException("Arquivo de configuração não encontrado: " + nome);
+            return p;
+        }
+
+        // UTF-8: caminhos de pasta com acento funcionam.
+        try (Reader in = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            p.load(in);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao ler configuração: " + e.getMessage());
+        }
+        return p;
+    }
+
+    // ==============================
+    // VALORES
+    // ==============================
+
+    // ===== BANCO =====
+    private final String banco;
+    private final String url;
+    private final String usuario;
+    private final String senha;
+    private final String arquivoH2;
+    private final String arquivoReplica;
+    private final int fetchSize;
+    private final int cachePrepareDriver;
+    private final boolean prepareNoServidor;
+
+    // ===== POOL DE CONEXÕES =====
+    private final int poolMinimo;
+    private final int poolMaximo;
+    private final int poolCentralMaximo;
+    private final long poolEsperaMs;
+    private final long poolOciosoMs;
+    private final long poolVazamentoMs;
+    private final boolean poolValidar;
+    private final int statementsPorConexao;
+
+    // ===== TELA =====
+    private final int tamanhoPagina;
+    private final int paginasEmMemoria;
+    private final int threadsBanco;
+    private final int cacheJogos;
+    private final long cacheJogosValidadeMs;
+    private final long cacheMiniaturasBytes;
+    private final int threadsMiniaturas;
+    private final int intervaloAlteracoesMs;
+    private final int intervaloSincronizacaoMs;
+
+    // ===== IMAGENS =====
+    private final String pastaImagens;
+    private final long imagemMaximaBytes;
+
+    // ===== DIAGNÓSTICO =====
+    private final long metricasIntervaloS;
+    private final long edtLimiteMs;
+
+    private final Properties arquivo;
+    private final List<String> erros = new ArrayList<>();
+
+    private Configuracao(Properties arquivo) {
+        this.arquivo = arquivo;
+
+        // mysql | h2 | replica (ver ConnectionFactory)
+        banco = opcao("lojinha.db", "mysql", "mysql", "h2", "replica");
+        // Vazios => o padrão do banco escolhido.
+        url = texto("lojinha.db.url", null);
+        usuario = texto("lojinha.db.usuario", null);
+        // A senha pode ser vazia de propósito: só "não definida" usa o padrão.
+        senha = bruto("lojinha.db.senha");
+        arquivoH2 = texto("lojinha.db.arquivo", "dados/lojinha");
+        arquivoReplica = texto("lojinha.db.replica", "dados/replica");
+        // 0 => o padrão do banco (MySQL: streaming linha a linha; H2: 1000).
+        fetchSize = inteiro("lojinha.db.fetch", 0, 0, 100_000);
+        cachePrepareDriver = inteiro("lojinha.db.cachePrepare", 250, 0, 10_000);
+        prepareNoServidor = booleano("lojinha.db.prepareNoServidor", true);
+
+        poolMinimo = inteiro("lojinha.pool.minimo", 2, 0, 500);
+        poolMaximo = inteiro("lojinha.pool.maximo", 10, 1, 500);
+        poolCentralMaximo = inteiro("lojinha.pool.central.maximo", 2, 1, 500);
+        poolEsperaMs = longo("lojinha.pool.esperaMs", 10_000, 1, 600_000);
+        poolOciosoMs = longo("lojinha.pool.ociosoMs", 5 * 60_000, 1_000, 24 * 3_600_000L);
+        poolVazamentoMs = longo("lojinha.pool.vazamentoMs", 30_000, 0, 24 * 3_600_000L);
+        poolValidar = booleano("lojinha.pool.validar", true);
+        statementsPorConexao = inteiro("lojinha.pool.statements", 64, 0, 10_000);
+
+        tamanhoPagina = inteiro("lojinha.tela.pagina", 200, 10, 10_000);
+        paginasEmMemoria = inteiro("lojinha.tela.paginasEmMemoria", 10, 3, 100_000);
+        threadsBanco = inteiro("lojinha.tela.threads", 2, 1, 64);
+        cacheJogos = inteiro("lojinha.cache.jogos", 10_000, 0, 10_000_000);
+        cacheJogosValidadeMs = longo("lojinha.cache.jogos.validadeMs", 5 * 60_000, 0, 24 * 3_600_000L);
+        cacheMiniaturasBytes = longo("lojinha.miniaturas.cacheMb", 64, 1, 16_384) * 1024 * 1024;
+        threadsMiniaturas = inteiro("lojinha.miniaturas.threads", 2, 1, 64);
+        intervaloAlteracoesMs = inteiro("lojinha.alteracoes.intervaloMs", 2_000, 100, 3_600_000);
+        intervaloSincronizacaoMs = inteiro("lojinha.sincronizacao.intervaloMs", 5_000, 500, 3_600_000);
+
+        pastaImagens = texto("lojinha.imagens.pasta", "imagens");
+        imagemMaximaBytes = longo("lojinha.imagens.maximoMb", 50, 1, 4_096) * 1024 * 1024;
+
+        // 0 => desligado.
+        metricasIntervaloS = longo("lojinha.metricas.intervalo", 0, 0, 86_400);
+        edtLimiteMs = longo("lojinha.edt.limite", 0, 0, 600_000);
+
+        // Combinações.
+        if (poolMinimo > poolMaximo) {
+            erros.add("lojinha.pool.minimo (" + poolMinimo + ") maior que lojinha.pool.maximo (" + poolMaximo + ")");
+        }
+
+        if (!erros.isEmpty()) {
+            throw new IllegalArgumentException("Configuração inválida:\n - " + String.join("\n - ", erros));
+        }
+    }
+
+    // ==============================
+    // LEITURA DE CADA TIPO
+    // ==============================
+
+    // -D, depois variável de ambiente, depois arquivo (null = em nenhum deles).
+    private String bruto(String chave) {
+        String v = System.getProperty(chave);
+        if (v == null) v = System.getenv(variavel(chave));
+        if (v == null) v = arquivo.getProperty(chave);
+        return v;
+    }
+
+    // Vazio conta como não definido.
+    private String texto(String chave, String padrao) {
+        String v = bruto(chave);
+        if (v == null || v.isBlank()) return padrao;
+        return v.trim();
+    }
+
+    // lojinha.pool.maximo => LOJINHA_POOL_MAXIMO
+    static String variavel(String chave) {
+        return chave.replace('.', '_').toUpperCase(Locale.ROOT);
+    }
+
+    private long longo(String chave, long padrao, long minimo, long maximo) {
+        String v = texto(chave, null);
+        if (v == null) return padrao;
+        try {
+            // Aceita separador de milhar com "_" (10_000), como no Java.
+            long n = Long.parseLong(v.replace("_", ""));
+            if (n < minimo || n > maximo) {
+                erros.add(chave + " = " + v + ": deve estar entre " + minimo + " e " + maximo);
+                return padrao;
+            }
+            return n;
+        } catch (NumberFormatException e) {
+            erros.add(chave + " = " + v + ": não é um número inteiro");
+            return padrao;
+        }
+    }
+
+    private int inteiro(String chave, int padrao, int minimo, int maximo) {
+        return (int) longo(chave, padrao, minimo, maximo);
+    }
+
+    private boolean booleano(String chave, boolean padrao) {
+        String v = texto(chave, null);
+        if (v == null) return padrao;
+        if (v.equalsIgnoreCase("true")) return true;
+        if (v.equalsIgnoreCase("false")) return false;
+        erros.add(chave + " = " + v + ": use true ou false");
+        return padrao;
+    }
+
+    private String opcao(String chave, String padrao, String... opcoes) {
+        String v = texto(chave, padrao).toLowerCase(Locale.ROOT);
+        for (String o : opcoes) {
+            if (o.equals(v)) return v;
+        }
+        erros.add(chave + " = " + v + ": use " + String.join(", ", opcoes));
+        return padrao;
+    }
+
+    // ==============================
+    // GETTERS
+    // ==============================
+
+    public String getBanco() {
+        return banco;
+    }
+
+    // null => URL padrão do banco escolhido.
+    public String getUrl() {
+        return url;
+    }
+
+    // null => padrão do banco (MySQL: root/root; H2: sa, sem senha).
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public String getSenha() {
+        return senha;
+    }
+
+    public String getArquivoH2() {
+        return arquivoH2;
+    }
+
+    public String getArquivoReplica() {
+        return arquivoReplica;
+    }
+
+    // 0 => padrão do banco (Dialeto.getFetchSizeStreaming()).
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public int getCachePrepareDriver() {
+        return cachePrepareDriver;
+    }
+
+    public boolean isPrepareNoServidor() {
+        return prepareNoServidor;
+    }
+
+    public int getPoolMinimo() {
+        return poolMinimo;
+    }
+
+    public int getPoolMaximo() {
+        return poolMaximo;
+    }
+
+    public int getPoolCentralMaximo() {
+        return poolCentralMaximo;
+    }
+
+    public long getPoolEsperaMs() {
+        return poolEsperaMs;
+    }
+
+    public long getPoolOciosoMs() {
+        return poolOciosoMs;
+    }
+
+    public long getPoolVazamentoMs() {
+        return poolVazamentoMs;
+    }
+
+    public boolean isPoolValidar() {
+        return poolValidar;
+    }
+
+    public int getStatementsPorConexao() {
+        return statementsPorConexao;
+    }
+
+    public int getTamanhoPagina() {
+        return tamanhoPagina;
+    }
+
+    public int getPaginasEmMemoria() {
+        return paginasEmMemoria;
+    }
+
+    public int getThreadsBanco() {
+        return threadsBanco;
+    }
+
+    public int getCacheJogos() {
+        return cacheJogos;
+    }
+
+    public long getCacheJogosValidadeMs() {
+        return cacheJogosValidadeMs;
+    }
+
+    public long getCacheMiniaturasBytes() {
+        return cacheMiniaturasBytes;
+    }
+
+    public int getThreadsMiniaturas() {
+        return threadsMiniaturas;
+    }
+
+    public int getIntervaloAlteracoesMs() {
+        return intervaloAlteracoesMs;
+    }
+
+    public int getIntervaloSincronizacaoMs() {
+        return intervaloSincronizacaoMs;
+    }
+
+    public String getPastaImagens() {
+        return pastaImagens;
+    }
+
+    public long getImagemMaximaBytes() {
+        return imagemMaximaBytes;
+    }
+
+    public long getMetricasIntervaloS() {
+        return metricasIntervaloS;
+    }
+
+    public long getEdtLimiteMs() {
+        return edtLimiteMs;
+    }
+}
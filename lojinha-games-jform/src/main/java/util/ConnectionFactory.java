@@ -1,19 +1,213 @@
 package util;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.Statement;
 
 public class ConnectionFactory {
 
-    private static final String URL  = "jdbc:mysql://localhost:3306/lojinha_games";
-    private static final String USER = "root";
-    private static final String PASS = "root"; 
+    // Valores ajustáveis por loja (lojinha.properties, variáveis de ambiente ou -D).
+    private static final Configuracao CONFIG = Configuracao.atual();
 
+    // Cache de PreparedStatement.
+    // - USAR_PREPARE_NO_SERVIDOR (useServerPrepStmts): o MySQL analisa o SQL uma vez
+    //   e depois só recebe os valores dos "?" a cada execução.
+    // - CACHE_PREPARE_DRIVER (cachePrepStmts/prepStmtCacheSize): o próprio driver
+    //   reaproveita statements fechados com o mesmo SQL.
+    // - CACHE_STATEMENTS_POR_CONEXAO: cache do pool (acertos, falhas e despejos
+    //   em pool.statements.* no Metricas); 0 desliga.
+    private static final boolean USAR_PREPARE_NO_SERVIDOR = CONFIG.isPrepareNoServidor();
+    private static final int CACHE_PREPARE_DRIVER_TAMANHO = CONFIG.getCachePrepareDriver();
+    private static final boolean CACHE_PREPARE_DRIVER = CACHE_PREPARE_DRIVER_TAMANHO > 0;
+    private static final int CACHE_STATEMENTS_POR_CONEXAO = CONFIG.getStatementsPorConexao();
+
+    // rewriteBatchedStatements: o driver junta os INSERTs de um lote
+    // num único comando (importação de catálogo muito mais rápida).
+    // Também vão numa lojinha.db.url do MySQL, quando ela não traz o parâmetro.
+    private static final String[] PARAMETROS_MYSQL = {
+            "rewriteBatchedStatements=true",
+            "useServerPrepStmts=" + USAR_PREPARE_NO_SERVIDOR,
+            "cachePrepStmts=" + CACHE_PREPARE_DRIVER,
+            "prepStmtCacheSize=" + CACHE_PREPARE_DRIVER_TAMANHO,
+            "prepStmtCacheSqlLimit=2048"
+    };
+    private static final String URL_MYSQL = comParametrosMysql("jdbc:mysql://localhost:3306/lojinha_games");
+
+    // H2 embutido: um arquivo local (dados/lojinha.mv.db), sem servidor.
+    // IGNORECASE: compara texto sem diferenciar maiúsculas, como o MySQL.
+    private static final String PARAMETROS_H2 = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE";
+    private static final String ARQUIVO_H2 = CONFIG.getArquivoH2();
+    private static final String URL_H2 = "jdbc:h2:file:" + Path.of(ARQUIVO_H2).toAbsolutePath() + PARAMETROS_H2;
+
+    // Réplica local (dao.Sincronizador): cópia do banco central neste computador.
+    private static final String ARQUIVO_REPLICA = CONFIG.getArquivoReplica();
+    private static final String URL_REPLICA = "jdbc:h2:file:" + Path.of(ARQUIVO_REPLICA).toAbsolutePath() + PARAMETROS_H2;
+    private static final String ESQUEMA_REPLICA = "/db/h2/replica.sql";
+
+    // Qual banco usar, escolhido sem mudar o código (linha de comando,
+    // LOJINHA_DB ou lojinha.properties; ver Configuracao):
+    //   java -jar lojinha.jar                        => MySQL (padrão)
+    //   java -Dlojinha.db=h2 -jar lojinha.jar        => H2 no arquivo dados/lojinha
+    //   java -Dlojinha.db=replica -jar lojinha.jar   => réplica local do MySQL (funciona sem rede)
+    // Uma URL completa também pode ser dada; o banco é reconhecido por ela
+    // (ex.: os benchmarks usam um H2 em memória):
+    //   java -Dlojinha.db.url=jdbc:h2:mem:lojinha ...
+    private static final String BANCO = CONFIG.getBanco();
+    private static final boolean REPLICA = BANCO.equals("replica");
+
+    // Banco central: o servidor (ou o arquivo H2 no modo "h2").
+    private static final String URL_CENTRAL = CONFIG.getUrl() != null
+            ? comParametrosMysql(CONFIG.getUrl())
+            : BANCO.equals("h2") ? URL_H2 : URL_MYSQL;
+    private static final Dialeto DIALETO_CENTRAL = Dialeto.daUrl(URL_CENTRAL);
+    private static final String USER = padrao(CONFIG.getUsuario(), DIALETO_CENTRAL == Dialeto.H2 ? "sa" : "root");
+    private static final String PASS = padrao(CONFIG.getSenha(), DIALETO_CENTRAL == Dialeto.H2 ? "" : "root");
+
+    // Banco do DAO: o central, ou a réplica local no modo "replica".
+    private static final String URL = REPLICA ? URL_REPLICA : URL_CENTRAL;
+    private static final Dialeto DIALETO = Dialeto.daUrl(URL);
+
+    // Configurações do pool de conexões.
+    private static final int POOL_MIN = CONFIG.getPoolMinimo();
+    private static final int POOL_MAX = CONFIG.getPoolMaximo();
+    private static final long POOL_ESPERA_MAX_MS = CONFIG.getPoolEsperaMs();
+    private static final long POOL_OCIOSO_MAX_MS = CONFIG.getPoolOciosoMs();
+    private static final long POOL_VAZAMENTO_MS = CONFIG.getPoolVazamentoMs();
+    private static final boolean POOL_VALIDAR_AO_EMPRESTAR = CONFIG.isPoolValidar();
+
+    // Modo réplica: só o Sincronizador fala com o servidor.
+    // Mínimo 0: sem rede, nenhuma conexão fica sendo refeita à toa.
+    private static final int POOL_CENTRAL_MAX = CONFIG.getPoolCentralMaximo();
+
+    // Linhas por bloco ao percorrer uma consulta grande (0 = padrão do banco).
+    private static final int FETCH_SIZE = CONFIG.getFetchSize();
+
+    // Tempo para obter uma conexão do pool (inclui a espera por uma livre).
+    private static final Metricas.Cronometro TEMPO_CONEXAO = Metricas.cronometro("conexao.obter");
+
+    // O pool só é criado no primeiro getConnection() (não atrasa a abertura da tela).
+    private static class Holder {
+        static final ConnectionPool POOL = REPLICA
+                ? criarPool("pool", URL, "sa", "", POOL_MIN, POOL_MAX, ESQUEMA_REPLICA)
+                : criarPool("pool", URL, USER, PASS, POOL_MIN, POOL_MAX, DIALETO.getEsquema());
+    }
+
+    private static class HolderCentral {
+        static final ConnectionPool POOL = REPLICA
+                ? criarPool("pool.central", URL_CENTRAL, USER, PASS, 0, POOL_CENTRAL_MAX, DIALETO_CENTRAL.getEsquema())
+                : Holder.POOL;
+    }
+
+    private static String padrao(String valor, String padrao) {
+        return valor != null ? valor : padrao;
+    }
+
+    // Acrescenta a uma URL do MySQL os PARAMETROS_MYSQL que ela ainda não tem
+    // (quem escreveu um deles na URL escolheu o valor: fica o dele).
+    // URLs de outros bancos voltam como vieram.
+    private static String comParametrosMysql(String url) {
+        if (!url.startsWith("jdbc:mysql:")) return url;
+
+        StringBuilder sb = new StringBuilder(url);
+        String minusculas = url.toLowerCase();
+        for (String parametro : PARAMETROS_MYSQL) {
+            String chave = parametro.substring(0, parametro.indexOf('=') + 1).toLowerCase();
+            if (minusculas.contains("?" + chave) || minusculas.contains("&" + chave)) continue;
+            sb.append(sb.indexOf("?") < 0 ? '?' : '&').append(parametro);
+        }
+        return sb.toString();
+    }
+
+    // metricas => prefixo dos contadores no Metricas (ex.: pool.conexoes.ativas).
+    // esquema => script que cria as tabelas ao abrir (null = nenhum).
+    private static ConnectionPool criarPool(String metricas, String url, String usuario, String senha,
+                                            int minimo, int maximo, String esquema) {
+        ConnectionPool pool = new ConnectionPool(
+                url, usuario, senha,
+                minimo, maximo, POOL_ESPERA_MAX_MS,
+                POOL_OCIOSO_MAX_MS, POOL_VAZAMENTO_MS, POOL_VALIDAR_AO_EMPRESTAR,
+                CACHE_STATEMENTS_POR_CONEXAO
+        );
+
+        pool.registrarMetricas(metricas);
+
+        // Banco embutido: cria as tabelas que ainda não existem.
+        if (esquema != null) criarEsquema(pool, esquema);
+
+        // Fecha as conexões de verdade quando o programa terminar.
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::fechar, "pool-conexoes-fechar"));
+        return pool;
+    }
+
+    // Roda o script de criação (um comando por ";"; linhas "--" são comentários).
+    // Usa CREATE ... IF NOT EXISTS: abrir o mesmo arquivo de novo não muda nada.
+    private static void criarEsquema(ConnectionPool pool, String recurso) {
+        try (InputStream in = ConnectionFactory.class.getResourceAsStream(recurso);
+             Connection c = pool.emprestar();
+             Statement st = c.createStatement()) {
+
+            if (in == null) throw new IllegalStateException("script não encontrado: " + recurso);
+
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            for (String comando : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!comando.isBlank()) st.execute(comando);
+            }
+
+            // O pool desfaz o que não foi confirmado ao receber a conexão de volta.
+            if (!c.getAutoCommit()) c.commit();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao criar tabelas: " + e.getMessage());
+        }
+    }
+
+    // Banco em uso (o DAO adapta o pouco de SQL que muda entre eles).
+    public static Dialeto dialeto() {
+        return DIALETO;
+    }
+
+    // fetchSize para percorrer uma consulta grande sem guardar tudo (JogoDAO.forEach).
+    // No MySQL fica sempre o streaming do driver (outro valor traria tudo para a memória).
+    public static int fetchSizeStreaming() {
+        return FETCH_SIZE > 0 && DIALETO != Dialeto.MYSQL ? FETCH_SIZE : DIALETO.getFetchSizeStreaming();
+    }
+
+    // true => o DAO usa a réplica local e o Sincronizador conversa com o servidor.
+    public static boolean isReplica() {
+        return REPLICA;
+    }
+
+    // Banco central (o servidor). Fora do modo réplica, é o mesmo do getConnection().
+    public static Connection getConnectionCentral() {
+        try {
+            return HolderCentral.POOL.emprestar();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao conectar no servidor: " + e.getMessage());
+        }
+    }
+
+    public static Dialeto dialetoCentral() {
+        return DIALETO_CENTRAL;
+    }
+
+    // Empresta uma conexão do pool.
+    // Chamar close() na conexão devolve ela ao pool.
     public static Connection getConnection() {
+        long inicio = TEMPO_CONEXAO.iniciar();
         try {
-            return DriverManager.getConnection(URL, USER, PASS);
+            return Holder.POOL.emprestar();
         } catch (Exception e) {
-            throw new RuntimeException("Erro ao conectar no MySQL: " + e.getMessage());
+            throw new RuntimeException("Erro ao conectar no banco: " + e.getMessage());
+        } finally {
+            TEMPO_CONEXAO.registrar(inicio);
         }
     }
+
+    // Estatísticas do pool (conexões ativas, tempo de espera, conexões criadas,
+    // acertos do cache de statements...).
+    public static ConnectionPool.Estatisticas estatisticasPool() {
+        return Holder.POOL.estatisticas();
+    }
 }
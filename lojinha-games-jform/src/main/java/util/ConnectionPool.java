@@ -0,0 +1,694 @@
+// Define o pacote util.
+// Aqui ficam classes utilitárias (ajudam o sistema).
+package util;
+
+// Importações do JDBC.
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Importações para criar o "proxy" da conexão (objeto que finge ser a Connection).
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+// Importações para controle de concorrência (várias threads usando o pool).
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Pool de conexões.
+// Em vez de abrir uma conexão nova no MySQL a cada clique (handshake TCP + login),
+// o pool guarda conexões abertas e "empresta" para quem precisar.
+// Quando o DAO chama close(), a conexão volta para o pool em vez de ser fechada.
+//
+// Cada conexão também guarda os PreparedStatement já preparados (cache por SQL).
+// Quando o DAO pede de novo o mesmo SQL naquela conexão, recebe o statement
+// pronto: o MySQL não precisa analisar/planejar o comando outra vez.
+// Só prepareStatement(sql) e prepareStatement(sql, chavesGeradas) passam pelo
+// cache; as outras formas (ex.: com tipo e concorrência do ResultSet) recebem
+// um statement avulso, fechado de verdade no close(). O DAO usa isso para os
+// SQL montados na hora, que teriam formas demais para o cache.
+// Avulsos também passam por um proxy: o tempo dos execute* entra no
+// sql.executar e getConnection() devolve o empréstimo, não a conexão real.
+//
+// registrarMetricas("pool") publica as estatísticas como contadores do
+// Metricas (JMX em lojinha > Contadores e o CSV de contadores).
+public class ConnectionPool {
+
+    private static final Logger LOG = Logger.getLogger(ConnectionPool.class.getName());
+
+    // Tempo de cada prepareStatement que não estava no cache e de cada execute* (Metricas).
+    private static final Metricas.Cronometro TEMPO_PREPARAR = Metricas.cronometro("sql.preparar");
+    private static final Metricas.Cronometro TEMPO_EXECUTAR = Metricas.cronometro("sql.executar");
+
+    // Dados de acesso ao banco.
+    private final String url;
+    private final String usuario;
+    private final String senha;
+
+    // Configurações do pool.
+    private final int minimo;
+    private final int maximo;
+    private final long esperaMaxMs;
+    private final long ociosoMaxMs;
+    private final long vazamentoMs;
+    private final boolean validarAoEmprestar;
+
+    // Quantos PreparedStatement cada conexão guarda (0 = sem cache).
+    private final int cacheStatements;
+
+    // Conexões livres (a mais recente fica no começo: está "quente").
+    private final LinkedBlockingDeque<ConexaoPooled> livres = new LinkedBlockingDeque<>();
+
+    // Conexões emprestadas neste momento.
+    private final Set<ConexaoPooled> emUso = ConcurrentHashMap.newKeySet();
+
+    // Uma vaga = uma conexão emprestada: limita quantas ficam em uso ao mesmo tempo.
+    // As livres não ocupam vaga. Como só se abre conexão nova quando não há
+    // nenhuma livre, o total aberto fica no máximo também (a manutenção, ao
+    // completar o mínimo, pode passar dele por uma conexão por um instante).
+    private final Semaphore vagas;
+
+    // Tarefa de manutenção: remove ociosas, completa o mínimo e procura vazamentos.
+    private final ScheduledExecutorService manutencao;
+
+    // ===== ESTATÍSTICAS =====
+    private final AtomicLong criadas = new AtomicLong();
+    private final AtomicLong destruidas = new AtomicLong();
+    private final AtomicLong emprestimos = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong esperaMaxNanos = new AtomicLong();
+    private final AtomicLong falhasValidacao = new AtomicLong();
+    private final AtomicLong vazamentos = new AtomicLong();
+    private final AtomicLong statementsAcertos = new AtomicLong();
+    private final AtomicLong statementsFalhas = new AtomicLong();
+    private final AtomicLong statementsDespejos = new AtomicLong();
+    private final AtomicLong statementsAvulsos = new AtomicLong();
+
+    private volatile boolean fechado = false;
+
+    public ConnectionPool(String url, String usuario, String senha,
+                          int minimo, int maximo, long esperaMaxMs,
+                          long ociosoMaxMs, long vazamentoMs, boolean validarAoEmprestar,
+                          int cacheStatements) {
+
+        if (minimo < 0 || maximo < 1 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamanho do pool inválido: min=" + minimo + ", max=" + maximo);
+        }
+
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.esperaMaxMs = esperaMaxMs;
+        this.ociosoMaxMs = ociosoMaxMs;
+        this.vazamentoMs = vazamentoMs;
+        this.validarAoEmprestar = validarAoEmprestar;
+        this.cacheStatements = Math.max(0, cacheStatements);
+        this.vagas = new Semaphore(maximo, true);
+
+        // Thread "daemon": não impede o programa de fechar.
+        this.manutencao = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-conexoes-manutencao");
+            t.setDaemon(true);
+            return t;
+        });
+        this.manutencao.scheduleWithFixedDelay(this::manter, 5, 5, TimeUnit.SECONDS);
+    }
+
+    // ==============================
+    // EMPRESTAR
+    // ==============================
+    public Connection emprestar() throws SQLException {
+
+        if (fechado) throw new SQLException("Pool de conexões fechado");
+
+        // Espera uma vaga (se o pool estiver cheio) e mede quanto tempo esperou.
+        long inicio = System.nanoTime();
+        try {
+            if (!vagas.tryAcquire(esperaMaxMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Tempo esgotado esperando conexão livre (" + maximo + " em uso)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido esperando conexão", e);
+        }
+        registrarEspera(System.nanoTime() - inicio);
+
+        try {
+            ConexaoPooled c;
+
+            // Reaproveita uma conexão livre, validando antes de entregar.
+            while ((c = livres.pollFirst()) != null) {
+                if (!validarAoEmprestar || c.valida()) break;
+                falhasValidacao.incrementAndGet();
+                destruir(c);
+            }
+
+            // Se não havia nenhuma livre (ou todas eram inválidas), abre uma nova.
+            if (c == null) c = criar();
+
+            Emprestimo e = c.emprestar(vazamentoMs > 0 ? new Exception("Conexão emprestada aqui") : null);
+            emUso.add(c);
+            emprestimos.incrementAndGet();
+            return e.proxy;
+
+        } catch (SQLException | RuntimeException e) {
+            // Não conseguiu entregar: devolve a vaga.
+            vagas.release();
+            throw e;
+        }
+    }
+
+    // ==============================
+    // DEVOLVER (chamado pelo close() do empréstimo)
+    // ==============================
+    private void devolver(ConexaoPooled c) {
+
+        emUso.remove(c);
+
+        try {
+            // Se o pool foi fechado ou a conexão quebrou, descarta.
+            if (fechado || c.real.isClosed()) {
+                destruir(c);
+                return;
+            }
+
+            // Statements que o DAO esqueceu abertos voltam a ficar livres.
+            c.liberarStatements();
+
+            // Desfaz alterações que o DAO possa ter deixado (ex.: transação aberta).
+            if (!c.real.getAutoCommit()) {
+                c.real.rollback();
+                c.real.setAutoCommit(true);
+            }
+
+            c.ultimoUso = System.nanoTime();
+            livres.offerFirst(c);
+
+        } catch (SQLException e) {
+            destruir(c);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    // ==============================
+    // MANUTENÇÃO PERIÓDICA
+    // ==============================
+    private void manter() {
+        try {
+            long agora = System.nanoTime();
+
+            // 1) Remove conexões ociosas há muito tempo (mantendo o mínimo).
+            if (ociosoMaxMs > 0) {
+                for (ConexaoPooled c : livres) {
+                    boolean acimaDoMinimo = livres.size() + emUso.size() > minimo;
+                    long ocioso = TimeUnit.NANOSECONDS.toMillis(agora - c.ultimoUso);
+                    if (acimaDoMinimo && ocioso > ociosoMaxMs && livres.remove(c)) {
+                        destruir(c);
+                    }
+                }
+            }
+
+            // 2) Completa o mínimo de conexões abertas.
+            while (!fechado && livres.size() + emUso.size() < minimo && vagas.tryAcquire()) {
+                try {
+                    ConexaoPooled c = criar();
+                    c.ultimoUso = System.nanoTime();
+                    livres.offerLast(c);
+                } finally {
+                    vagas.release();
+                }
+            }
+
+            // 3) Procura conexões emprestadas há tempo demais (provável vazamento).
+            if (vazamentoMs > 0) {
+                for (ConexaoPooled c : emUso) {
+                    long emprestada = TimeUnit.NANOSECONDS.toMillis(agora - c.emprestadaEm);
+                    if (emprestada > vazamentoMs && !c.vazamentoAvisado) {
+                        c.vazamentoAvisado = true;
+                        vazamentos.incrementAndGet();
+                        LOG.log(Level.WARNING, "Possível vazamento: conexão emprestada há " + emprestada + " ms", c.origem);
+                    }
+                }
+            }
+
+        } catch (Exception e) {
+            // A manutenção nunca pode derrubar a thread agendada.
+            LOG.log(Level.FINE, "Falha na manutenção do pool", e);
+        }
+    }
+
+    // ==============================
+    // FECHAR O POOL
+    // ==============================
+    public void fechar() {
+        fechado = true;
+        manutencao.shutdownNow();
+
+        ConexaoPooled c;
+        while ((c = livres.pollFirst()) != null) destruir(c);
+    }
+
+    // ==============================
+    // ESTATÍSTICAS
+    // ==============================
+    public Estatisticas estatisticas() {
+        long n = emprestimos.get();
+        return new Estatisticas(
+                emUso.size(),
+                livres.size(),
+                criadas.get(),
+                destruidas.get(),
+                n,
+                n == 0 ? 0 : esperaTotalNanos.get() / n,
+                esperaMaxNanos.get(),
+                falhasValidacao.get(),
+                vazamentos.get(),
+                statementsAcertos.get(),
+                statementsFalhas.get(),
+                statementsDespejos.get(),
+                statementsAvulsos.get()
+        );
+    }
+
+    // Publica as estatísticas no Metricas com o prefixo dado
+    // (ex.: "pool" => pool.conexoes.ativas, pool.statements.acertos...).
+    // Os valores são lidos na hora em que o JMX ou o CSV pedem.
+    public void registrarMetricas(String prefixo) {
+        Metricas.contador(prefixo + ".conexoes.ativas", emUso::size);
+        Metricas.contador(prefixo + ".conexoes.livres", livres::size);
+        Metricas.contador(prefixo + ".conexoes.criadas", criadas::get);
+        Metricas.contador(prefixo + ".conexoes.destruidas", destruidas::get);
+        Metricas.contador(prefixo + ".conexoes.emprestimos", emprestimos::get);
+        Metricas.contador(prefixo + ".conexoes.esperaMediaUs", () -> {
+            long n = emprestimos.get();
+            return n == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(esperaTotalNanos.get() / n);
+        });
+        Metricas.contador(prefixo + ".conexoes.esperaMaxUs",
+                () -> TimeUnit.NANOSECONDS.toMicros(esperaMaxNanos.get()));
+        Metricas.contador(prefixo + ".conexoes.falhasValidacao", falhasValidacao::get);
+        Metricas.contador(prefixo + ".conexoes.vazamentos", vazamentos::get);
+        Metricas.contador(prefixo + ".statements.acertos", statementsAcertos::get);
+        Metricas.contador(prefixo + ".statements.falhas", statementsFalhas::get);
+        Metricas.contador(prefixo + ".statements.despejos", statementsDespejos::get);
+        Metricas.contador(prefixo + ".statements.avulsos", statementsAvulsos::get);
+    }
+
+    private void registrarEspera(long nanos) {
+        esperaTotalNanos.addAndGet(nanos);
+        esperaMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private ConexaoPooled criar() throws SQLException {
+        Connection real = DriverManager.getConnection(url, usuario, senha);
+        criadas.incrementAndGet();
+        return new ConexaoPooled(real);
+    }
+
+    private void destruir(ConexaoPooled c) {
+        try {
+            c.real.close();
+        } catch (SQLException ignored) {
+        }
+        destruidas.incrementAndGet();
+    }
+
+    // Fotografia das estatísticas do pool em um instante.
+    public static class Estatisticas {
+
+        private final int ativas;
+        private final int livres;
+        private final long criadas;
+        private final long destruidas;
+        private final long emprestimos;
+        private final long esperaMediaNanos;
+        private final long esperaMaxNanos;
+        private final long falhasValidacao;
+        private final long vazamentos;
+        private final long statementsAcertos;
+        private final long statementsFalhas;
+        private final long statementsDespejos;
+        private final long statementsAvulsos;
+
+        Estatisticas(int ativas, int livres, long criadas, long destruidas, long emprestimos,
+                     long esperaMediaNanos, long esperaMaxNanos, long falhasValidacao, long vazamentos,
+                     long statementsAcertos, long statementsFalhas, long statementsDespejos,
+                     long statementsAvulsos) {
+            this.ativas = ativas;
+            this.livres = livres;
+            this.criadas = criadas;
+            this.destruidas = destruidas;
+            this.emprestimos = emprestimos;
+            this.esperaMediaNanos = esperaMediaNanos;
+            this.esperaMaxNanos = esperaMaxNanos;
+            this.falhasValidacao = falhasValidacao;
+            this.vazamentos = vazamentos;
+            this.statementsAcertos = statementsAcertos;
+            this.statementsFalhas = statementsFalhas;
+            this.statementsDespejos = statementsDespejos;
+            this.statementsAvulsos = statementsAvulsos;
+        }
+
+        public int getAtivas() { return ativas; }
+        public int getLivres() { return livres; }
+        public long getCriadas() { return criadas; }
+        public long getDestruidas() { return destruidas; }
+        public long getEmprestimos() { return emprestimos; }
+        public long getEsperaMediaNanos() { return esperaMediaNanos; }
+        public long getEsperaMaxNanos() { return esperaMaxNanos; }
+        public long getFalhasValidacao() { return falhasValidacao; }
+        public long getVazamentos() { return vazamentos; }
+        public long getStatementsAcertos() { return statementsAcertos; }
+        public long getStatementsFalhas() { return statementsFalhas; }
+        public long getStatementsDespejos() { return statementsDespejos; }
+        public long getStatementsAvulsos() { return statementsAvulsos; }
+
+        // Porcentagem de prepareStatement atendidos pelo cache (0 a 100).
+        public long getTaxaAcertoStatements() {
+            long total = statementsAcertos + statementsFalhas;
+            return total == 0 ? 0 : statementsAcertos * 100 / total;
+        }
+
+        @Override
+        public String toString() {
+            return "ativas=" + ativas + ", livres=" + livres + ", criadas=" + criadas
+                    + ", destruidas=" + destruidas + ", emprestimos=" + emprestimos
+                    + ", esperaMedia=" + TimeUnit.NANOSECONDS.toMicros(esperaMediaNanos) + "us"
+                    + ", esperaMax=" + TimeUnit.NANOSECONDS.toMicros(esperaMaxNanos) + "us"
+                    + ", falhasValidacao=" + falhasValidacao + ", vazamentos=" + vazamentos
+                    + ", statements: acertos=" + statementsAcertos + ", falhas=" + statementsFalhas
+                    + " (" + getTaxaAcertoStatements() + "% de acerto), despejos=" + statementsDespejos
+                    + ", avulsos=" + statementsAvulsos;
+        }
+    }
+
+    // Um empréstimo: o objeto Connection que o DAO recebe.
+    // Cada emprestar() cria um novo, com o próprio "fechado": um close() repetido
+    // (ou atrasado) de quem já devolveu não devolve a conexão que agora está com
+    // outra thread, e usar um empréstimo antigo dá erro em vez de mexer na conexão alheia.
+    private final class Emprestimo implements InvocationHandler {
+
+        final ConexaoPooled conexao;
+        final Connection proxy;
+
+        private volatile boolean fechado = false;
+
+        Emprestimo(ConexaoPooled conexao) {
+            this.conexao = conexao;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{ Connection.class },
+                    this
+            );
+        }
+
+        @Override
+        public Object invoke(Object p, Method m, Object[] args) throws Throwable {
+            switch (m.getName()) {
+                case "close":
+                    // close() devolve ao pool (só na primeira chamada).
+                    if (!fechado) {
+                        fechado = true;
+                        devolver(conexao);
+                    }
+                    return null;
+                case "isClosed":
+                    return fechado || conexao.real.isClosed();
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "ConexaoPooled[" + conexao.real + "]";
+                default:
+                    if (fechado) throw new SQLException("Conexão já devolvida ao pool");
+                    return conexao.executar(m, args);
+            }
+        }
+    }
+
+    // Uma conexão real do banco (emprestada várias vezes, um Emprestimo por vez).
+    private class ConexaoPooled {
+
+        final Connection real;
+
+        volatile long ultimoUso = System.nanoTime();
+        volatile long emprestadaEm;
+        volatile Exception origem;
+        volatile boolean vazamentoAvisado;
+
+        // Empréstimo atual (o getConnection() dos statements devolve o proxy dele).
+        private volatile Emprestimo atual;
+
+        // Cache de PreparedStatement desta conexão (LRU, chave = SQL).
+        // Com ordem de acesso, até o get() muda o LinkedHashMap: todo acesso ao
+        // cache (e a statementsAbertos) é feito com o lock desta ConexaoPooled.
+        // Normalmente só a thread do empréstimo usa, mas um statement pode ser
+        // fechado por outra, e a devolução pode correr junto com um close() atrasado.
+        private final LinkedHashMap<String, StatementCacheado> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StatementCacheado> maisAntigo) {
+                if (size() <= cacheStatements) return false;
+                statementsDespejos.incrementAndGet();
+                maisAntigo.getValue().descartar();
+                return true;
+            }
+        };
+
+        // Quantos statements do cache estão abertos pelo DAO agora (com o lock).
+        private int statementsAbertos = 0;
+
+        ConexaoPooled(Connection real) {
+            this.real = real;
+        }
+
+        Emprestimo emprestar(Exception origem) {
+            this.emprestadaEm = System.nanoTime();
+            this.origem = origem;
+            this.vazamentoAvisado = false;
+            this.atual = new Emprestimo(this);
+            return atual;
+        }
+
+        // Conexões paradas há pouco tempo são consideradas válidas sem ir ao banco.
+        boolean valida() {
+            try {
+                long ocioso = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ultimoUso);
+                return ocioso < 500 ? !real.isClosed() : real.isValid(2);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // prepareStatement(sql) ou prepareStatement(sql, autoGeneratedKeys): vem do cache.
+        synchronized PreparedStatement preparar(Object[] args) throws SQLException {
+            String sql = (String) args[0];
+            int chaves = args.length > 1 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+            String chave = chaves == Statement.NO_GENERATED_KEYS ? sql : chaves + "|" + sql;
+
+            StatementCacheado st = statements.get(chave);
+            if (st != null && !st.aberto) {
+                statementsAcertos.incrementAndGet();
+                st.abrir();
+                return st.proxy;
+            }
+            statementsFalhas.incrementAndGet();
+
+            long inicio = TEMPO_PREPARAR.iniciar();
+            PreparedStatement real;
+            try {
+                real = chaves == Statement.NO_GENERATED_KEYS
+                        ? this.real.prepareStatement(sql)
+                        : this.real.prepareStatement(sql, chaves);
+            } finally {
+                TEMPO_PREPARAR.registrar(inicio);
+            }
+
+            // O mesmo SQL já está aberto nesta conexão (uso aninhado): entrega um avulso.
+            if (st != null) return (PreparedStatement) avulso(real, PreparedStatement.class);
+
+            st = new StatementCacheado(real);
+            statements.put(chave, st);
+            st.abrir();
+            return st.proxy;
+        }
+
+        // Chamado ao devolver a conexão.
+        synchronized void liberarStatements() {
+            if (statementsAbertos == 0) return;
+            for (StatementCacheado st : statements.values()) {
+                if (st.aberto) st.fechar();
+            }
+        }
+
+        // Qualquer método da Connection (menos close/isClosed), vindo do empréstimo atual.
+        Object executar(Method m, Object[] args) throws Throwable {
+            if (m.getName().equals("prepareStatement") && cacheStatements > 0
+                    && args.length <= 2 && (args.length == 1 || args[1] instanceof Integer)) {
+                return preparar(args);
+            }
+            Object resultado;
+            try {
+                resultado = m.invoke(real, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // createStatement/prepareStatement/prepareCall fora do cache: embrulha.
+            if (resultado instanceof Statement) return avulso((Statement) resultado, m.getReturnType());
+            return resultado;
+        }
+
+        // Statement fora do cache: o proxy tem a interface que o método devolve
+        // (Statement, PreparedStatement ou CallableStatement).
+        Statement avulso(Statement real, Class<?> tipo) {
+            statementsAvulsos.incrementAndGet();
+            return (Statement) Proxy.newProxyInstance(
+                    tipo.getClassLoader(),
+                    new Class<?>[]{ tipo },
+                    new StatementAvulso(real)
+            );
+        }
+
+        // Um statement avulso: close() fecha o real; o resto vai direto para ele.
+        private class StatementAvulso implements InvocationHandler {
+
+            final Statement real;
+
+            StatementAvulso(Statement real) {
+                this.real = real;
+            }
+
+            @Override
+            public Object invoke(Object p, Method m, Object[] args) throws Throwable {
+                switch (m.getName()) {
+                    case "getConnection":
+                        return ConexaoPooled.this.atual.proxy;
+                    case "equals":
+                        return p == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "toString":
+                        return "StatementAvulso[" + real + "]";
+                    default:
+                        return invocar(real, m, args);
+                }
+            }
+        }
+
+        // Um PreparedStatement real + o proxy entregue ao DAO.
+        // close() no proxy não fecha de verdade: limpa os parâmetros e volta ao cache.
+        private class StatementCacheado implements InvocationHandler {
+
+            final PreparedStatement real;
+            final PreparedStatement proxy;
+
+            // Escritos com o lock da ConexaoPooled; "aberto" também é lido sem ele no invoke().
+            volatile boolean aberto = false;
+
+            // Saiu do cache enquanto estava aberto: fecha de verdade no close().
+            boolean descartado = false;
+
+            StatementCacheado(PreparedStatement real) {
+                this.real = real;
+                this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                        PreparedStatement.class.getClassLoader(),
+                        new Class<?>[]{ PreparedStatement.class },
+                        this
+                );
+            }
+
+            void abrir() {
+                aberto = true;
+                statementsAbertos++;
+            }
+
+            void fechar() {
+                synchronized (ConexaoPooled.this) {
+                    if (!aberto) return;
+                    aberto = false;
+                    statementsAbertos--;
+
+                    if (descartado) {
+                        fecharReal();
+                        return;
+                    }
+
+                    // Deixa pronto para o próximo uso (sem valores do uso anterior).
+                    try {
+                        real.clearParameters();
+                        real.clearBatch();
+                        real.clearWarnings();
+                    } catch (SQLException e) {
+                        statements.values().remove(this);
+                        fecharReal();
+                    }
+                }
+            }
+
+            void descartar() {
+                descartado = true;
+                if (!aberto) fecharReal();
+            }
+
+            private void fecharReal() {
+                try {
+                    real.close();
+                } catch (SQLException ignored) {
+                }
+            }
+
+            @Override
+            public Object invoke(Object p, Method m, Object[] args) throws Throwable {
+                switch (m.getName()) {
+                    case "close":
+                        fechar();
+                        return null;
+                    case "isClosed":
+                        return !aberto || real.isClosed();
+                    case "getConnection":
+                        // Quem pede a conexão recebe o empréstimo atual, nunca a real.
+                        return ConexaoPooled.this.atual.proxy;
+                    case "equals":
+                        return p == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "toString":
+                        return "StatementCacheado[" + real + "]";
+                    default:
+                        if (!aberto) throw new SQLException("Statement já fechado");
+                        return invocar(real, m, args);
+                }
+            }
+        }
+    }
+
+    // Chama o método no statement real; executeQuery/executeUpdate/executeBatch...
+    // têm o tempo no banco medido (sql.executar).
+    private static Object invocar(Statement real, Method m, Object[] args) throws Throwable {
+        boolean executar = m.getName().startsWith("execute");
+        long inicio = executar ? TEMPO_EXECUTAR.iniciar() : 0;
+        try {
+            return m.invoke(real, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            if (executar) TEMPO_EXECUTAR.registrar(inicio);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package util;
+
+// Bancos suportados e o que muda entre eles, num lugar só.
+//
+// O SQL do sistema é o mesmo nos dois: o H2 roda no modo MySQL
+// (LIMIT, AUTO_INCREMENT, FOR UPDATE...). Aqui fica só o que o H2 não tem.
+public enum Dialeto {
+
+    // Servidor MySQL: vários computadores usando o mesmo banco.
+    MYSQL(Integer.MIN_VALUE, true, null),
+
+    // H2 embutido: o banco é um arquivo na pasta do programa, sem servidor para instalar.
+    // Serve para a loja de um computador só, para demonstrações e para os benchmarks.
+    H2(1_000, false, "/db/h2/schema.sql");
+
+    private final int fetchSizeStreaming;
+    private final boolean fullText;
+    private final String esquema;
+
+    Dialeto(int fetchSizeStreaming, boolean fullText, String esquema) {
+        this.fetchSizeStreaming = fetchSizeStreaming;
+        this.fullText = fullText;
+        this.esquema = esquema;
+    }
+
+    // fetchSize para ler uma consulta grande sem guardar tudo (JogoDAO.forEach).
+    // MySQL: Integer.MIN_VALUE liga o streaming do driver (linha por linha).
+    // H2: o valor é só o tamanho de cada bloco lido.
+    public int getFetchSizeStreaming() {
+        return fetchSizeStreaming;
+    }
+
+    // true => tem índice FULLTEXT (MATCH ... AGAINST).
+    public boolean temFullText() {
+        return fullText;
+    }
+
+    // Script que cria as tabelas ao abrir o banco (pode rodar de novo sem erro).
+    // null => as tabelas são criadas à parte (MySQL: scripts de db/mysql).
+    public String getEsquema() {
+        return esquema;
+    }
+
+    // Descobre o banco pela URL do JDBC ("jdbc:h2:..." ou "jdbc:mysql:...").
+    public static Dialeto daUrl(String url) {
+        return url.startsWith("jdbc:h2:") ? H2 : MYSQL;
+    }
+}
@@ -2,13 +2,42 @@
 // Aqui ficam classes utilitárias (ajudam o sistema).
 package util;
 
+// Importações para ler, redimensionar e gravar imagens.
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
 // Importa a classe File para trabalhar com arquivos.
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Predicate;
 
 // Importações para manipular arquivos de forma moderna.
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 // Importações para trabalhar com data e hora.
 import java.time.LocalDateTime;
@@ -17,55 +46,551 @@ import java.time.format.DateTimeFormatter;
 public class ImageStorage {
 
     // Define o nome da pasta onde as imagens serão salvas.
-    // static final = constante (não muda).
-    private static final String PASTA_IMAGENS = "imagens";
+    // static final = constante (não muda depois que o programa abre).
+    // Padrão "imagens"; outra pasta: lojinha.imagens.pasta (ver Configuracao).
+    private static final String PASTA_IMAGENS = Configuracao.atual().getPastaImagens();
+
+    // ===== DERIVADOS (versões pequenas geradas a partir do original) =====
+    // Capa do preview (280x280) e ícone para linha de tabela.
+    // Gravados em JPEG: decodifica rápido e ocupa poucos KB.
+    public static final int TAMANHO_CAPA = 280;
+    public static final int TAMANHO_ICONE = 48;
+    private static final String SUFIXO_CAPA = ".capa.jpg";
+    private static final String SUFIXO_ICONE = ".icone.jpg";
+    private static final float QUALIDADE_JPEG = 0.85f;
+
+    // Manifesto: original => data de modificação do original quando os derivados foram gerados.
+    private static final String MANIFESTO = "derivados.properties";
+    private static Properties manifesto;
+
+    // Imagens que ficaram sem nenhum jogo usando: original => quando isso foi visto (ms).
+    // Só são apagadas depois da carência e de uma nova contagem (ver coletarOrfas).
+    private static final String ORFAS = "orfas.properties";
+    private static final long CARENCIA_ORFA_MS = 10 * 60_000;
+    private static Properties orfas;
+
+    // Modos de armazenamento:
+    // DATA_HORA => nome "yyyyMMdd_HHmmss_<original>" (modo antigo)
+    // CONTEUDO  => nome = hash SHA-256 do conteúdo, em subpastas (ab/cd/abcd...).
+    //              O mesmo arquivo enviado duas vezes é guardado uma vez só.
+    public enum Modo { DATA_HORA, CONTEUDO }
+
+    private static final Modo MODO = Modo.CONTEUDO;
+
+    // Pasta dos arquivos ainda sendo copiados (nunca referenciados pelo banco).
+    private static final String PASTA_TEMP = ".tmp";
+
+    // Tamanho máximo aceito para uma imagem (padrão 50 MB; lojinha.imagens.maximoMb).
+    private static final long TAMANHO_MAXIMO = Configuracao.atual().getImagemMaximaBytes();
+
+    // Tamanho do bloco usado na cópia (fora do heap, direto para o disco).
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    // Janela de mapeamento do arquivo de origem (cópia a partir de Path).
+    private static final long JANELA_MAPEAMENTO = 16L * 1024 * 1024;
+
+    // Temporários mais velhos que isso sobraram de uma queda no meio da cópia.
+    private static final long TEMP_ABANDONADO_MS = 60 * 60_000;
+
+    // Tempo de um upload completo (cópia + hash + derivados) e só dos derivados (Metricas).
+    private static final Metricas.Cronometro TEMPO_SALVAR = Metricas.cronometro("imagem.salvar");
+    private static final Metricas.Cronometro TEMPO_DERIVADOS = Metricas.cronometro("imagem.derivados");
+    private static boolean temporariosLimpos = false;
 
     // Método estático para salvar imagem.
     // Recebe um arquivo e retorna o caminho salvo.
     public static String salvarImagem(File arquivo) {
+        // Se nenhum arquivo for enviado, retorna null.
+        if (arquivo == null) return null;
+        return salvarImagem(arquivo.toPath());
+    }
 
-        try {
-            // Se nenhum arquivo for enviado, retorna null.
-            if (arquivo == null) return null;
+    // ==============================
+    // INGESTÃO (Path / InputStream / Channel)
+    // ==============================
+    // Todas as formas seguem o mesmo caminho:
+    // 1) copia para imagens/.tmp calculando o SHA-256 na mesma passada;
+    // 2) respeita o tamanho máximo (aborta e apaga o temporário);
+    // 3) renomeia de forma atômica para o nome final.
+    // Se o programa cair no meio, sobra só um temporário: o banco nunca
+    // aponta para um arquivo pela metade.
 
-            // Cria objeto que representa a pasta "imagens".
-            File pasta = new File(PASTA_IMAGENS);
+    // A partir de um arquivo local: mapeia o arquivo em memória (mmap) e grava
+    // os mesmos bytes no destino, sem copiar para arrays no heap.
+    public static String salvarImagem(Path origem) {
+        if (origem == null) return null;
 
-            // Se a pasta não existir, ela é criada.
-            if (!pasta.exists()) pasta.mkdirs();
+        try (FileChannel entrada = FileChannel.open(origem, StandardOpenOption.READ)) {
 
-            // Gera data/hora atual como texto.
-            // Serve para criar nome único.
-            String timestamp = LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            long tamanho = entrada.size();
 
-            // Pega o nome original do arquivo.
-            // Remove espaços e troca por "_".
-            String nomeOriginal = arquivo.getName()
-                .replaceAll("\\s+", "_");
+            return ingerir(origem.getFileName().toString(), (saida, sha) -> {
+                verificarTamanho(tamanho);
 
-            // Cria novo nome: data + nome original.
-            String novoNome = timestamp + "_" + nomeOriginal;
+                for (long pos = 0; pos < tamanho; pos += JANELA_MAPEAMENTO) {
+                    long n = Math.min(JANELA_MAPEAMENTO, tamanho - pos);
+                    MappedByteBuffer bloco = entrada.map(FileChannel.MapMode.READ_ONLY, pos, n);
 
-            // Define o caminho de destino.
-            Path destino = Path.of(PASTA_IMAGENS, novoNome);
+                    sha.update(bloco.duplicate());
+                    while (bloco.hasRemaining()) saida.write(bloco);
+                }
+                return tamanho;
+            });
 
-            // Copia o arquivo para a pasta.
-            // Se existir, substitui.
-            Files.copy(
-                arquivo.toPath(),
-                destino,
-                StandardCopyOption.REPLACE_EXISTING
-            );
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao salvar imagem: " + e.getMessage());
+        }
+    }
+
+    // A partir de um InputStream (ex.: download, upload pela rede).
+    //
+    // Um InputStream só sabe entregar byte[]: os bytes passam pelo heap de
+    // qualquer jeito. Lemos direto num array e o hash usa esse mesmo array.
+    // (Channels.newChannel lia num array interno e copiava para o buffer
+    // direto; depois o SHA-256 copiava de volta para um array: duas cópias a mais.)
+    // Ao gravar, o FileChannel ainda copia o array para um buffer direto do JDK.
+    // Arquivo local (FileInputStream): usa o canal dele, sem passar pelo heap.
+    public static String salvarImagem(InputStream entrada, String nomeOriginal) {
+        if (entrada == null) return null;
+        if (entrada instanceof FileInputStream) {
+            return salvarImagem(((FileInputStream) entrada).getChannel(), nomeOriginal);
+        }
+
+        return ingerir(nomeOriginal, (saida, sha) -> {
+            byte[] bloco = new byte[TAMANHO_BUFFER];
+            long total = 0;
+
+            int n;
+            while ((n = entrada.read(bloco)) >= 0) {
+                total += n;
+                verificarTamanho(total);
+
+                sha.update(bloco, 0, n);
+                ByteBuffer buffer = ByteBuffer.wrap(bloco, 0, n);
+                while (buffer.hasRemaining()) saida.write(buffer);
+            }
+            return total;
+        });
+    }
+
+    // A partir de um canal qualquer (arquivo, socket): copia em blocos por um
+    // buffer direto. A gravação não passa pelo heap; o SHA-256 lê o buffer
+    // direto copiando pedaços pequenos para um array interno dele.
+    public static String salvarImagem(ReadableByteChannel entrada, String nomeOriginal) {
+        if (entrada == null) return null;
+
+        return ingerir(nomeOriginal, (saida, sha) -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+            long total = 0;
+
+            while (entrada.read(buffer) >= 0) {
+                buffer.flip();
+
+                total += buffer.remaining();
+                verificarTamanho(total);
+
+                sha.update(buffer.duplicate());
+                while (buffer.hasRemaining()) saida.write(buffer);
+                buffer.clear();
+            }
+            return total;
+        });
+    }
+
+    // Copia os bytes para o canal de saída e atualiza o hash; devolve quantos bytes copiou.
+    private interface Copia {
+        long copiar(FileChannel saida, MessageDigest sha) throws Exception;
+    }
+
+    private static String ingerir(String nomeOriginal, Copia copia) {
+
+        long inicio = TEMPO_SALVAR.iniciar();
+        Path temp = null;
+        try {
+            temp = novoTemporario("upload-");
+
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+
+            try (FileChannel saida = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                copia.copiar(saida, sha);
+
+                // Garante que os bytes estão no disco antes de o nome final existir.
+                saida.force(false);
+            }
+
+            String hash = HexFormat.of().formatHex(sha.digest());
+            String nome = nomeOriginal == null ? "imagem" : nomeOriginal;
+
+            String caminho = MODO == Modo.CONTEUDO
+                    ? publicarPorConteudo(temp, hash, nome)
+                    : publicarPorDataHora(temp, nome);
+
+            // Gera a capa e o ícone já no upload (a exibição não precisa
+            // decodificar o original de vários MB).
+            // Imagem repetida já tem derivados: não gera de novo.
+            if (!new File(caminho + SUFIXO_CAPA).exists()) gerarDerivados(caminho);
 
             // Retorna o caminho da imagem salva.
-            return PASTA_IMAGENS + "/" + novoNome;
+            return caminho;
 
         } catch (Exception e) {
             // Caso dê erro, mostra mensagem.
             throw new RuntimeException(
                 "Erro ao salvar imagem: " + e.getMessage()
             );
+        } finally {
+            // Em caso de erro (ou imagem repetida), o temporário é descartado.
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (Exception ignored) {
+                }
+            }
+            TEMPO_SALVAR.registrar(inicio);
+        }
+    }
+
+    private static void verificarTamanho(long tamanho) {
+        if (tamanho > TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("imagem maior que " + (TAMANHO_MAXIMO / (1024 * 1024)) + " MB");
+        }
+    }
+
+    // ===== MODO CONTEÚDO (deduplicado) =====
+    // synchronized: junto com coletarOrfas, "o arquivo existe => reaproveita" nunca
+    // acontece ao mesmo tempo que a coleta apagando esse mesmo arquivo.
+    private static synchronized String publicarPorConteudo(Path temp, String hash, String nomeOriginal) throws Exception {
+
+        // Subpastas pelos primeiros caracteres do hash: evita milhares de arquivos numa pasta só.
+        String caminho = PASTA_IMAGENS + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4)
+                + "/" + hash + extensao(nomeOriginal);
+        Path destino = Path.of(caminho);
+
+        // Já existe (mesma capa enviada antes): reaproveita, não copia de novo.
+        // Se estava na lista de órfãs, sai dela (vai voltar a ser usada).
+        if (Files.exists(destino)) {
+            desmarcarOrfa(caminho);
+            return caminho;
+        }
+
+        // Renomeação atômica: o arquivo final aparece inteiro ou não aparece.
+        Files.createDirectories(destino.getParent());
+        Files.move(temp, destino, StandardCopyOption.ATOMIC_MOVE);
+        return caminho;
+    }
+
+    // Extensão em minúsculas (".jpg", ".png"...), ou "" se não houver.
+    private static String extensao(String nome) {
+        int ponto = nome.lastIndexOf('.');
+        if (ponto < 0 || ponto == nome.length() - 1) return "";
+        return nome.substring(ponto).toLowerCase(Locale.ROOT).replaceAll("[^.a-z0-9]", "");
+    }
+
+    // ===== MODO DATA/HORA (antigo) =====
+    private static String publicarPorDataHora(Path temp, String nome) throws Exception {
+
+        // Gera data/hora atual como texto.
+        // Serve para criar nome único.
+        String timestamp = LocalDateTime.now()
+            .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+
+        // Pega o nome original do arquivo.
+        // Remove espaços e troca por "_".
+        String nomeOriginal = Path.of(nome).getFileName().toString()
+            .replaceAll("\\s+", "_");
+
+        // Cria novo nome: data + nome original.
+        // Se já existir (mesmo nome no mesmo segundo), acrescenta um número
+        // em vez de sobrescrever a imagem de outro produto.
+        String novoNome = timestamp + "_" + nomeOriginal;
+        for (int n = 2; Files.exists(Path.of(PASTA_IMAGENS, novoNome)); n++) {
+            novoNome = timestamp + "_" + n + "_" + nomeOriginal;
+        }
+
+        // Renomeação atômica do temporário para o nome final.
+        Files.move(temp, Path.of(PASTA_IMAGENS, novoNome), StandardCopyOption.ATOMIC_MOVE);
+
+        return PASTA_IMAGENS + "/" + novoNome;
+    }
+
+    // Apaga temporários que sobraram de uma cópia interrompida (uma vez por execução).
+    private static synchronized void limparTemporariosAbandonados() {
+        if (temporariosLimpos) return;
+        temporariosLimpos = true;
+
+        Path pastaTemp = Path.of(PASTA_IMAGENS, PASTA_TEMP);
+        if (!Files.isDirectory(pastaTemp)) return;
+
+        long limite = System.currentTimeMillis() - TEMP_ABANDONADO_MS;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pastaTemp, "*.tmp")) {
+            for (Path p : arquivos) {
+                if (Files.getLastModifiedTime(p).toMillis() < limite) Files.deleteIfExists(p);
+            }
+        } catch (Exception ignored) {
+            // Limpeza é "melhor esforço": não impede salvar a imagem.
+        }
+    }
+
+    // ==============================
+    // REMOVER IMAGEM SEM REFERÊNCIA
+    // ==============================
+    // Chamado pelo DAO quando nenhum jogo usa mais esta imagem.
+    // Apaga o original, os derivados e a entrada do manifesto.
+    public static void removerImagem(String caminho) {
+        if (caminho == null || caminho.isBlank()) return;
+
+        // Segurança: só apaga arquivos dentro da pasta de imagens.
+        if (!daLoja(caminho)) return;
+
+        try {
+            Files.deleteIfExists(Path.of(caminho));
+            Files.deleteIfExists(Path.of(caminho + SUFIXO_CAPA));
+            Files.deleteIfExists(Path.of(caminho + SUFIXO_ICONE));
+            removerDoManifesto(caminho);
+            desmarcarOrfa(caminho);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao remover imagem: " + e.getMessage());
+        }
+    }
+
+    // ==============================
+    // IMAGENS ÓRFÃS (APAGADAS COM CARÊNCIA)
+    // ==============================
+    // Uma contagem "0 jogos usam" não basta para apagar: outro computador pode
+    // estar salvando um jogo com a mesma imagem (mesmo hash) neste instante.
+    // Por isso a imagem entra numa lista e só é apagada se, passada a carência,
+    // uma nova contagem ainda der zero.
+
+    // Anota que a imagem ficou sem uso (mantém a data da primeira vez).
+    public static synchronized void marcarOrfa(String caminho) {
+        if (!daLoja(caminho)) return;
+        Properties o = carregarOrfas();
+        if (o.getProperty(caminho) != null) return;
+        o.setProperty(caminho, String.valueOf(System.currentTimeMillis()));
+        gravarOrfas();
+    }
+
+    private static synchronized void desmarcarOrfa(String caminho) {
+        if (carregarOrfas().remove(caminho) != null) gravarOrfas();
+    }
+
+    // Apaga as órfãs que passaram da carência e continuam sem uso.
+    // semUso => conta de novo no banco (true = nenhum jogo usa).
+    // As que voltaram a ser usadas saem da lista.
+    public static synchronized void coletarOrfas(Predicate<String> semUso) {
+        long limite = System.currentTimeMillis() - CARENCIA_ORFA_MS;
+
+        List<String> vencidas = new ArrayList<>();
+        for (String caminho : carregarOrfas().stringPropertyNames()) {
+            try {
+                if (Long.parseLong(carregarOrfas().getProperty(caminho)) <= limite) vencidas.add(caminho);
+            } catch (NumberFormatException e) {
+                vencidas.add(caminho);
+            }
+        }
+
+        for (String caminho : vencidas) {
+            if (semUso.test(caminho)) removerImagem(caminho);
+            else desmarcarOrfa(caminho);
+        }
+    }
+
+    private static Properties carregarOrfas() {
+        if (orfas == null) {
+            orfas = new Properties();
+            Path arquivo = Path.of(PASTA_IMAGENS, ORFAS);
+            if (Files.exists(arquivo)) {
+                try (InputStream in = Files.newInputStream(arquivo)) {
+                    orfas.load(in);
+                } catch (Exception ignored) {
+                    // Lista corrompida: as órfãs serão marcadas de novo na próxima exclusão.
+                }
+            }
+        }
+        return orfas;
+    }
+
+    private static void gravarOrfas() {
+        try {
+            Files.createDirectories(Path.of(PASTA_IMAGENS));
+            try (OutputStream out = Files.newOutputStream(Path.of(PASTA_IMAGENS, ORFAS))) {
+                orfas.store(out, "Imagens sem uso (original = quando ficou sem uso, em ms)");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao gravar lista de imagens sem uso: " + e.getMessage());
+        }
+    }
+
+    // true => o arquivo está dentro da pasta de imagens (foi salvo pela loja).
+    // A pasta pode ser absoluta (lojinha.imagens.pasta), então o caminho sozinho não diz isso.
+    public static boolean daLoja(String caminho) {
+        if (caminho == null || caminho.isBlank()) return false;
+        Path pasta = Path.of(PASTA_IMAGENS).toAbsolutePath().normalize();
+        return Path.of(caminho).toAbsolutePath().normalize().startsWith(pasta);
+    }
+
+    // ==============================
+    // DERIVADOS (CAPA E ÍCONE)
+    // ==============================
+
+    // Caminho da capa 280x280 de uma imagem salva.
+    // Se a capa não existir (ou o original mudou), gera agora.
+    // Se não for possível gerar, devolve o próprio original.
+    public static String caminhoCapa(String caminhoOriginal) {
+        return derivado(caminhoOriginal, SUFIXO_CAPA);
+    }
+
+    // Caminho do ícone pequeno (linha de tabela) de uma imagem salva.
+    public static String caminhoIcone(String caminhoOriginal) {
+        return derivado(caminhoOriginal, SUFIXO_ICONE);
+    }
+
+    private static String derivado(String caminhoOriginal, String sufixo) {
+        if (caminhoOriginal == null || caminhoOriginal.isBlank()) return caminhoOriginal;
+
+        File original = new File(caminhoOriginal);
+        File derivado = new File(caminhoOriginal + sufixo);
+
+        if (!derivado.exists() || !atualizado(caminhoOriginal, original.lastModified())) {
+            // Regera de forma preguiçosa (ex.: imagens salvas antes desta versão).
+            if (!gerarDerivados(caminhoOriginal)) return caminhoOriginal;
+        }
+
+        return caminhoOriginal + sufixo;
+    }
+
+    // Lê o original uma única vez e grava capa + ícone.
+    // Retorna false se o formato não puder ser lido.
+    public static boolean gerarDerivados(String caminhoOriginal) {
+        long inicio = TEMPO_DERIVADOS.iniciar();
+        try {
+            File original = new File(caminhoOriginal);
+            BufferedImage imagem = ImageIO.read(original);
+            if (imagem == null) return false;
+
+            BufferedImage capa = redimensionar(imagem, TAMANHO_CAPA, TAMANHO_CAPA);
+            gravarJpeg(capa, new File(caminhoOriginal + SUFIXO_CAPA));
+            gravarJpeg(redimensionar(capa, TAMANHO_ICONE, TAMANHO_ICONE), new File(caminhoOriginal + SUFIXO_ICONE));
+
+            registrarNoManifesto(caminhoOriginal, original.lastModified());
+            return true;
+
+        } catch (Exception e) {
+            return false;
+        } finally {
+            TEMPO_DERIVADOS.registrar(inicio);
+        }
+    }
+
+    // Desenha a imagem no tamanho pedido, com interpolação suave.
+    // Imagens muito grandes são reduzidas pela metade várias vezes antes
+    // (mais rápido que SCALE_SMOOTH e sem o serrilhado de uma redução só).
+    public static BufferedImage redimensionar(Image original, int largura, int altura) {
+        int w = original.getWidth(null);
+        int h = original.getHeight(null);
+
+        // Já está no tamanho certo (ex.: capa pronta lida do disco).
+        if (w == largura && h == altura && original instanceof BufferedImage) return (BufferedImage) original;
+
+        Image atual = original;
+
+        while (w / 2 >= largura && h / 2 >= altura) {
+            w /= 2;
+            h /= 2;
+            atual = desenhar(atual, w, h);
+        }
+
+        return desenhar(atual, largura, altura);
+    }
+
+    private static BufferedImage desenhar(Image original, int largura, int altura) {
+        // RGB com fundo branco: o JPEG não tem transparência.
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(original, 0, 0, largura, altura, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private static void gravarJpeg(BufferedImage imagem, File destino) throws Exception {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(QUALIDADE_JPEG);
+
+        // Grava num temporário e renomeia: quem estiver lendo nunca vê arquivo pela metade.
+        // Temporário com nome único: a prévia e as miniaturas podem gerar os
+        // derivados do mesmo original ao mesmo tempo, cada uma no seu arquivo.
+        Path temp = novoTemporario("derivado-");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(imagem, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, destino.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Temporário em imagens/.tmp (mesmo disco das imagens: o move é atômico).
+    // Os que sobrarem de um programa interrompido são apagados por limparTemporariosAbandonados.
+    private static Path novoTemporario(String prefixo) throws IOException {
+        limparTemporariosAbandonados();
+        Path pastaTemp = Files.createDirectories(Path.of(PASTA_IMAGENS, PASTA_TEMP));
+        return Files.createTempFile(pastaTemp, prefixo, ".tmp");
+    }
+
+    // ===== MANIFESTO =====
+
+    private static synchronized boolean atualizado(String caminhoOriginal, long modificado) {
+        return String.valueOf(modificado).equals(carregarManifesto().getProperty(caminhoOriginal));
+    }
+
+    private static synchronized void registrarNoManifesto(String caminhoOriginal, long modificado) throws Exception {
+        carregarManifesto().setProperty(caminhoOriginal, String.valueOf(modificado));
+        gravarManifesto();
+    }
+
+    private static synchronized void removerDoManifesto(String caminhoOriginal) throws Exception {
+        if (carregarManifesto().remove(caminhoOriginal) != null) gravarManifesto();
+    }
+
+    // Mesmo esquema dos derivados: um programa que cair no meio da gravação
+    // não deixa o manifesto pela metade (perderia todas as entradas).
+    private static void gravarManifesto() throws Exception {
+        Properties m = carregarManifesto();
+
+        Path temp = novoTemporario("manifesto-");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                m.store(out, "Derivados gerados (original = data de modificacao do original)");
+            }
+            Files.move(temp, Path.of(PASTA_IMAGENS, MANIFESTO), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Properties carregarManifesto() {
+        if (manifesto == null) {
+            manifesto = new Properties();
+            Path arquivo = Path.of(PASTA_IMAGENS, MANIFESTO);
+            if (Files.exists(arquivo)) {
+                try (InputStream in = Files.newInputStream(arquivo)) {
+                    manifesto.load(in);
+                } catch (Exception ignored) {
+                    // Manifesto corrompido: os derivados serão gerados de novo.
+                }
+            }
         }
+        return manifesto;
     }
 }
@@ -0,0 +1,458 @@
+// Define o pacote util.
+// Aqui ficam classes utilitárias (ajudam o sistema).
+package util;
+
+import model.Jogo;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+// Lê catálogos de fornecedores (CSV ou JSON) e entrega os jogos um por um.
+//
+// A leitura é "preguiçosa": o arquivo é lido conforme o DAO pede o próximo
+// jogo, então um catálogo de 100 mil linhas não precisa caber na memória.
+//
+// CSV:  titulo;plataforma;preco;imagem_path   (aceita ";" ou "," e cabeçalho opcional)
+// JSON: [ {"titulo": "...", "plataforma": "...", "preco": 199.90, "imagem_path": "..."}, ... ]
+//
+// Uma linha com dado inválido (preço negativo ou fora do formato, título vazio...)
+// é pulada e anotada em getErros(); a importação continua. Só um arquivo que não
+// dá para ler (JSON quebrado, erro de disco) interrompe tudo.
+public class ImportadorCatalogo implements Iterable<Jogo>, Closeable {
+
+    private final CountingInputStream contador;
+    private final BufferedReader leitor;
+    private final long tamanhoArquivo;
+    private final boolean json;
+    private boolean iterado = false;
+
+    // Linhas puladas (só as primeiras ERROS_GUARDADOS mensagens; o total conta todas).
+    private static final int ERROS_GUARDADOS = 100;
+    private final List<String> erros = new ArrayList<>();
+    private long totalErros = 0;
+
+    private ImportadorCatalogo(Path arquivo) throws IOException {
+        this.tamanhoArquivo = Files.size(arquivo);
+        this.contador = new CountingInputStream(Files.newInputStream(arquivo));
+        this.leitor = new BufferedReader(new InputStreamReader(contador, StandardCharsets.UTF_8), 64 * 1024);
+        this.json = arquivo.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    // Abre o arquivo (o formato é escolhido pela extensão: .json ou CSV).
+    public static ImportadorCatalogo abrir(Path arquivo) {
+        try {
+            return new ImportadorCatalogo(arquivo);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao abrir catálogo: " + e.getMessage());
+        }
+    }
+
+    // Quanto do arquivo já foi lido (para barra de progresso).
+    public long getBytesLidos() {
+        return contador.lidos;
+    }
+
+    public long getTamanhoArquivo() {
+        return tamanhoArquivo;
+    }
+
+    // Mensagens das linhas puladas (ex.: "Linha 12: preço inválido \"-5\"").
+    // Ler depois da importação terminar.
+    public List<String> getErros() {
+        return erros;
+    }
+
+    public long getTotalErros() {
+        return totalErros;
+    }
+
+    private void pular(DadoInvalido e) {
+        totalErros++;
+        if (erros.size() < ERROS_GUARDADOS) erros.add(e.getMessage());
+    }
+
+    // Problema num dado de uma linha (a linha é pulada, o arquivo continua).
+    static class DadoInvalido extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        DadoInvalido(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    @Override
+    public Iterator<Jogo> iterator() {
+        if (iterado) throw new IllegalStateException("O catálogo só pode ser lido uma vez");
+        iterado = true;
+        return json ? new LeitorJson(leitor) : new LeitorCsv(leitor);
+    }
+
+    @Override
+    public void close() {
+        try {
+            leitor.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // Converte "199,90" ou "199.90" em centavos (19990). De 0 a Preco.MAXIMO_CENTAVOS.
+    static long lerPreco(String texto, long linha) {
+        long centavos;
+        try {
+            centavos = Preco.parse(texto);
+        } catch (Exception e) {
+            throw new DadoInvalido("Linha " + linha + ": preço inválido \"" + texto + "\"");
+        }
+        return conferirFaixa(centavos, texto, linha);
+    }
+
+    // No JSON o número segue o padrão do JSON (ponto decimal): 59.999 => 60,00.
+    static long lerPrecoJson(String texto, long objeto) {
+        if (texto.indexOf(',') < 0) {
+            try {
+                BigDecimal valor = new BigDecimal(texto.trim());
+                // Grande demais nem cabe num long (longValueExact daria ArithmeticException).
+                if (valor.abs().compareTo(BigDecimal.valueOf(Preco.MAXIMO_CENTAVOS, 2)) > 0) {
+                    throw new DadoInvalido("Linha " + objeto + ": preço fora da faixa \"" + texto + "\"");
+                }
+                return conferirFaixa(Preco.deDecimal(valor), texto, objeto);
+            } catch (NumberFormatException e) {
+                // não é número JSON: tenta o formato brasileiro abaixo
+            }
+        }
+        return lerPreco(texto, objeto);
+    }
+
+    private static long conferirFaixa(long centavos, String texto, long linha) {
+        if (centavos < 0 || centavos > Preco.MAXIMO_CENTAVOS) {
+            throw new DadoInvalido("Linha " + linha + ": preço fora da faixa \"" + texto + "\"");
+        }
+        return centavos;
+    }
+
+    static Jogo montar(String titulo, String plataforma, long preco, String imagem, long linha) {
+        if (titulo == null || titulo.isBlank() || plataforma == null || plataforma.isBlank()) {
+            throw new DadoInvalido("Linha " + linha + ": título e plataforma são obrigatórios");
+        }
+        String img = imagem == null || imagem.isBlank() ? null : imagem.trim();
+        return new Jogo(titulo.trim(), plataforma.trim(), preco, img);
+    }
+
+    // ==============================
+    // CSV
+    // ==============================
+    private class LeitorCsv implements Iterator<Jogo> {
+
+        private final BufferedReader leitor;
+        private char separador = 0;
+        private long linha = 0;
+        private Jogo proximo;
+
+        LeitorCsv(BufferedReader leitor) {
+            this.leitor = leitor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (proximo == null) proximo = ler();
+            return proximo != null;
+        }
+
+        @Override
+        public Jogo next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Jogo j = proximo;
+            proximo = null;
+            return j;
+        }
+
+        private Jogo ler() {
+            try {
+                String texto;
+                while ((texto = leitor.readLine()) != null) {
+                    linha++;
+
+                    // Arquivos salvos pelo Excel podem começar com BOM.
+                    if (linha == 1 && texto.startsWith("\uFEFF")) texto = texto.substring(1);
+                    if (texto.isBlank()) continue;
+
+                    // Primeira linha: descobre o separador e pula o cabeçalho
+                    // (só ela pode ser cabeçalho: "Titulo", "Título", "TÍTULO"...).
+                    boolean primeira = separador == 0;
+                    if (primeira) separador = texto.indexOf(';') >= 0 ? ';' : ',';
+
+                    List<String> campos = dividir(texto, separador);
+                    if (primeira && ehCabecalho(campos.get(0))) continue;
+
+                    try {
+                        if (campos.size() < 3) {
+                            throw new DadoInvalido("Linha " + linha + ": esperado titulo;plataforma;preco[;imagem]");
+                        }
+
+                        return montar(campos.get(0), campos.get(1), lerPreco(campos.get(2), linha),
+                                campos.size() > 3 ? campos.get(3) : null, linha);
+
+                    } catch (DadoInvalido e) {
+                        pular(e);
+                    }
+                }
+                return null;
+
+            } catch (IOException e) {
+                throw new RuntimeException("Erro ao ler catálogo: " + e.getMessage());
+            }
+        }
+
+        // Primeiro campo "titulo", sem ligar para acento nem maiúsculas.
+        private static boolean ehCabecalho(String campo) {
+            String semAcento = Normalizer.normalize(campo.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+            return semAcento.equalsIgnoreCase("titulo");
+        }
+
+        // Divide a linha respeitando aspas ("Jogo; Edição Especial" fica num campo só).
+        private static List<String> dividir(String texto, char separador) {
+            List<String> campos = new ArrayList<>(4);
+            StringBuilder atual = new StringBuilder();
+            boolean entreAspas = false;
+
+            for (int i = 0; i < texto.length(); i++) {
+                char ch = texto.charAt(i);
+                if (entreAspas) {
+                    if (ch == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else if (ch == '"') {
+                        entreAspas = false;
+                    } else {
+                        atual.append(ch);
+                    }
+                } else if (ch == '"') {
+                    entreAspas = true;
+                } else if (ch == separador) {
+                    campos.add(atual.toString());
+                    atual.setLength(0);
+                } else {
+                    atual.append(ch);
+                }
+            }
+            campos.add(atual.toString());
+            return campos;
+        }
+    }
+
+    // ==============================
+    // JSON (lista de objetos simples)
+    // ==============================
+    // Leitor mínimo, sem bibliotecas: lê um objeto por vez do array.
+    private class LeitorJson implements Iterator<Jogo> {
+
+        private final Reader leitor;
+        private int atual = -2; // -2 = ainda não leu nada
+        private long objeto = 0;
+        private boolean fim = false;
+        private Jogo proximo;
+
+        LeitorJson(Reader leitor) {
+            this.leitor = leitor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (proximo == null && !fim) proximo = ler();
+            return proximo != null;
+        }
+
+        @Override
+        public Jogo next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Jogo j = proximo;
+            proximo = null;
+            return j;
+        }
+
+        private Jogo ler() {
+            try {
+                if (atual == -2) {
+                    avancar();
+                    esperar('[');
+                }
+
+                pularEspacos();
+                if (atual == ']') {
+                    fim = true;
+                    return null;
+                }
+                if (objeto > 0) {
+                    esperar(',');
+                    pularEspacos();
+                }
+
+                // Objeto com dado inválido: já foi lido até o '}', então
+                // é só anotar e seguir para o próximo.
+                while (true) {
+                    objeto++;
+                    try {
+                        return lerObjeto();
+                    } catch (DadoInvalido e) {
+                        pular(e);
+                    }
+                    pularEspacos();
+                    if (atual == ']') {
+                        fim = true;
+                        return null;
+                    }
+                    esperar(',');
+                    pularEspacos();
+                }
+
+            } catch (IOException e) {
+                throw new RuntimeException("Erro ao ler catálogo: " + e.getMessage());
+            }
+        }
+
+        private Jogo lerObjeto() throws IOException {
+            esperar('{');
+
+            // O preço só é conferido depois do '}': um preço inválido
+            // não deixa a leitura no meio do objeto.
+            String titulo = null, plataforma = null, imagem = null, preco = null;
+
+            pularEspacos();
+            while (atual != '}') {
+                String chave = lerString();
+                esperar(':');
+                pularEspacos();
+
+                switch (chave) {
+                    case "titulo": titulo = lerValorTexto(); break;
+                    case "plataforma": plataforma = lerValorTexto(); break;
+                    case "preco":
+                        preco = lerValorTexto();
+                        break;
+                    case "imagem":
+                    case "imagem_path":
+                    case "imagemPath": imagem = lerValorTexto(); break;
+                    default: lerValorTexto(); // campo desconhecido: ignora
+                }
+
+                pularEspacos();
+                if (atual == ',') {
+                    avancar();
+                    pularEspacos();
+                }
+            }
+            avancar(); // fecha '}'
+
+            if (preco == null) throw new DadoInvalido("Objeto " + objeto + ": preço obrigatório");
+            return montar(titulo, plataforma, lerPrecoJson(preco, objeto), imagem, objeto);
+        }
+
+        // Lê string, número, true/false ou null como texto.
+        private String lerValorTexto() throws IOException {
+            pularEspacos();
+            if (atual == '"') return lerString();
+
+            StringBuilder sb = new StringBuilder();
+            while (atual != -1 && atual != ',' && atual != '}' && atual != ']' && !Character.isWhitespace(atual)) {
+                if (atual == '{' || atual == '[') {
+                    throw new RuntimeException("Objeto " + objeto + ": valores aninhados não são suportados");
+                }
+                sb.append((char) atual);
+                avancar();
+            }
+            String valor = sb.toString();
+            return valor.equals("null") ? null : valor;
+        }
+
+        private String lerString() throws IOException {
+            pularEspacos();
+            esperar('"');
+
+            StringBuilder sb = new StringBuilder();
+            while (atual != '"') {
+                if (atual == -1) throw new RuntimeException("Objeto " + objeto + ": texto sem fechar aspas");
+                if (atual == '\\') {
+                    avancar();
+                    switch (atual) {
+                        case 'n': sb.append('\n'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'u':
+                            char[] hex = new char[4];
+                            for (int i = 0; i < 4; i++) {
+                                avancar();
+                                hex[i] = (char) atual;
+                            }
+                            sb.append((char) Integer.parseInt(new String(hex), 16));
+                            break;
+                        default: sb.append((char) atual); // \" \\ \/
+                    }
+                } else {
+                    sb.append((char) atual);
+                }
+                avancar();
+            }
+            avancar(); // fecha aspas
+            return sb.toString();
+        }
+
+        private void esperar(char c) throws IOException {
+            pularEspacos();
+            if (atual != c) {
+                throw new RuntimeException("Objeto " + objeto + ": esperado '" + c + "'"
+                        + (atual == -1 ? " (fim do arquivo)" : " e veio '" + (char) atual + "'"));
+            }
+            avancar();
+        }
+
+        private void pularEspacos() throws IOException {
+            while (atual != -1 && (atual == -2 || Character.isWhitespace(atual) || atual == '\uFEFF')) avancar();
+        }
+
+        private void avancar() throws IOException {
+            atual = leitor.read();
+        }
+    }
+
+    // Conta os bytes lidos do arquivo (para mostrar o progresso).
+    private static class CountingInputStream extends FilterInputStream {
+
+        volatile long lidos = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) lidos++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) lidos += n;
+            return n;
+        }
+    }
+}
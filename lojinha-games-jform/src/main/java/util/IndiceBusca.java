@@ -0,0 +1,395 @@
+// Define o pacote util.
+// Aqui ficam classes utilitárias (ajudam o sistema).
+package util;
+
+import model.Jogo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+// Busca instantânea por título/plataforma, toda em memória (sem ir ao banco).
+//
+// Como funciona (índice invertido):
+// - Cada jogo ocupa uma "vaga" (número sequencial).
+// - Para cada trecho de 3 letras (trigrama) das palavras do título e da
+//   plataforma, o índice guarda a lista das vagas que contêm aquele trecho.
+//   "mario" => "mar", "ari", "rio".
+// - Para buscas de 1 ou 2 letras, guarda também o começo de cada palavra.
+// - Buscar é cruzar essas listas (já ordenadas) e conferir só os candidatos.
+//
+// Maiúsculas e acentos são ignorados: "edicao" acha "Edição".
+// Os resultados vêm por relevância (título que começa com a busca primeiro).
+//
+// Não é pensado para várias threads ao mesmo tempo: monte em segundo plano
+// (construir) e depois use só na EDT.
+public class IndiceBusca {
+
+    // Tipos de chave no índice (ficam nos bits altos da chave).
+    private static final long TRIGRAMA = 0;
+    private static final long PREFIXO = 1L << 48;
+
+    // Jogos por vaga (null = vaga de um jogo removido).
+    private Jogo[] jogos = new Jogo[1024];
+
+    // Título e plataforma já normalizados, por vaga (para conferir e pontuar).
+    private String[] titulos = new String[1024];
+    private String[] plataformas = new String[1024];
+
+    private int vagas = 0;
+    private int removidos = 0;
+
+    // ID do jogo => vaga.
+    private final HashMap<Integer, Integer> vagaPorId = new HashMap<>();
+
+    // Chave (trigrama ou prefixo) => vagas que têm essa chave, em ordem crescente.
+    private final HashMap<Long, Lista> indice = new HashMap<>();
+
+    // ==============================
+    // CONSTRUÇÃO
+    // ==============================
+
+    // Monta o índice com o catálogo inteiro (chamar fora da EDT).
+    public static IndiceBusca construir(Iterable<Jogo> catalogo) {
+        IndiceBusca idx = new IndiceBusca();
+        for (Jogo j : catalogo) idx.adicionar(j);
+        idx.compactar();
+        return idx;
+    }
+
+    // ==============================
+    // ATUALIZAÇÃO INCREMENTAL
+    // ==============================
+
+    public void adicionar(Jogo j) {
+        if (vagaPorId.containsKey(j.getId())) {
+            atualizar(j);
+            return;
+        }
+
+        if (vagas == jogos.length) {
+            int novo = jogos.length + (jogos.length >> 1);
+            jogos = Arrays.copyOf(jogos, novo);
+            titulos = Arrays.copyOf(titulos, novo);
+            plataformas = Arrays.copyOf(plataformas, novo);
+        }
+
+        int vaga = vagas++;
+        jogos[vaga] = j;
+        titulos[vaga] = normalizar(j.getTitulo());
+        plataformas[vaga] = normalizar(j.getPlataforma());
+        vagaPorId.put(j.getId(), vaga);
+
+        indexar(titulos[vaga], vaga);
+        indexar(plataformas[vaga], vaga);
+    }
+
+    public void atualizar(Jogo j) {
+        Integer vaga = vagaPorId.get(j.getId());
+        if (vaga == null) {
+            adicionar(j);
+            return;
+        }
+
+        // Título e plataforma iguais: as chaves não mudam, só troca o objeto.
+        if (titulos[vaga].equals(normalizar(j.getTitulo()))
+                && plataformas[vaga].equals(normalizar(j.getPlataforma()))) {
+            jogos[vaga] = j;
+            return;
+        }
+
+        remover(j.getId());
+        adicionar(j);
+    }
+
+    public void remover(int id) {
+        Integer vaga = vagaPorId.remove(id);
+        if (vaga == null) return;
+
+        // A vaga fica vazia; as listas só são limpas quando houver muitas vazias.
+        jogos[vaga] = null;
+        titulos[vaga] = null;
+        plataformas[vaga] = null;
+        removidos++;
+
+        if (removidos > 1000 && removidos > vagas / 4) reconstruir();
+    }
+
+    public int tamanho() {
+        return vagas - removidos;
+    }
+
+    // Cópia da lista de jogos do índice (o catálogo em memória).
+    // Tirada na EDT, pode ser percorrida depois em outra thread.
+    public List<Jogo> jogos() {
+        List<Jogo> lista = new ArrayList<>(tamanho());
+        for (int i = 0; i < vagas; i++) {
+            if (jogos[i] != null) lista.add(jogos[i]);
+        }
+        return lista;
+    }
+
+    // ==============================
+    // BUSCA
+    // ==============================
+
+    // Resultado: os melhores "limite" jogos + quantos passaram na busca.
+    public static class Resultado {
+        private final List<Jogo> itens;
+        private final int total;
+
+        Resultado(List<Jogo> itens, int total) {
+            this.itens = itens;
+            this.total = total;
+        }
+
+        public List<Jogo> getItens() {
+            return itens;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    // texto  => o que o usuário digitou (todas as palavras precisam aparecer)
+    // filtro => condição extra (ex.: plataforma escolhida); null = nenhuma
+    // limite => quantos jogos devolver, do mais relevante para o menos
+    public Resultado buscar(String texto, Predicate<Jogo> filtro, int limite) {
+
+        String[] palavras = palavras(normalizar(texto));
+        if (palavras.length == 0) return new Resultado(new ArrayList<>(), 0);
+
+        // 1) Candidatos: vagas presentes nas listas de todas as palavras.
+        int[] candidatos = null;
+        int n = 0;
+        for (String p : palavras) {
+            Lista[] listas = listasDaPalavra(p);
+            if (listas == null) return new Resultado(new ArrayList<>(), 0);
+
+            for (Lista l : listas) {
+                if (candidatos == null) {
+                    // Primeira lista: só leitura, não precisa copiar.
+                    candidatos = l.vagas;
+                    n = l.tamanho;
+                } else {
+                    int[] r = new int[Math.min(n, l.tamanho)];
+                    n = intersectar(candidatos, n, l.vagas, l.tamanho, r);
+                    candidatos = r;
+                }
+                if (n == 0) return new Resultado(new ArrayList<>(), 0);
+            }
+        }
+
+        String[] comEspaco = comEspaco(palavras);
+
+        // 2) Confere cada candidato (trigramas em comum não garantem o trecho
+        //    inteiro) e guarda só os "limite" de maior pontuação.
+        Comparator<int[]> pior = Comparator.<int[]>comparingInt(a -> a[1])
+                .thenComparingInt(a -> -titulos[a[0]].length())
+                .thenComparing((a, b) -> titulos[b[0]].compareTo(titulos[a[0]]));
+        PriorityQueue<int[]> melhores = new PriorityQueue<>(Math.max(1, limite), pior);
+        int total = 0;
+
+        for (int i = 0; i < n; i++) {
+            int vaga = candidatos[i];
+            if (jogos[vaga] == null) continue;
+
+            int pontos = pontuar(titulos[vaga], plataformas[vaga], palavras, comEspaco);
+            if (pontos < 0) continue;
+            if (filtro != null && !filtro.test(jogos[vaga])) continue;
+
+            total++;
+            if (limite <= 0) continue;
+
+            int[] item = { vaga, pontos };
+            if (melhores.size() < limite) {
+                melhores.add(item);
+            } else if (pior.compare(item, melhores.peek()) > 0) {
+                melhores.poll();
+                melhores.add(item);
+            }
+        }
+
+        // A fila tem o pior no topo: tira todos e inverte.
+        Jogo[] ordem = new Jogo[melhores.size()];
+        for (int i = ordem.length - 1; i >= 0; i--) ordem[i] = jogos[melhores.poll()[0]];
+
+        return new Resultado(new ArrayList<>(Arrays.asList(ordem)), total);
+    }
+
+    // Mesmo critério da busca, para um jogo só (ex.: um jogo que acabou de ser salvo
+    // entra no resultado que está na tela?).
+    public static boolean combina(String texto, Jogo j) {
+        String[] palavras = palavras(normalizar(texto));
+        if (palavras.length == 0) return true;
+        return pontuar(normalizar(j.getTitulo()), normalizar(j.getPlataforma()), palavras, comEspaco(palavras)) >= 0;
+    }
+
+    // Listas de vagas de uma palavra da busca (null se alguma não existe).
+    private Lista[] listasDaPalavra(String p) {
+
+        // 1 ou 2 letras: palavras que começam assim.
+        if (p.length() < 3) {
+            Lista l = indice.get(chavePrefixo(p));
+            return l == null ? null : new Lista[] { l };
+        }
+
+        // 3 ou mais: todos os trigramas da palavra (menores listas primeiro).
+        Lista[] listas = new Lista[p.length() - 2];
+        for (int i = 0; i + 3 <= p.length(); i++) {
+            Lista l = indice.get(chaveTrigrama(p, i));
+            if (l == null) return null;
+            listas[i] = l;
+        }
+        Arrays.sort(listas, Comparator.comparingInt(l -> l.tamanho));
+        return listas;
+    }
+
+    // Pontuação de um candidato (-1 se alguma palavra não aparece de fato).
+    // "comEspaco" => as mesmas palavras com um espaço na frente (começo de palavra).
+    private static int pontuar(String titulo, String plataforma, String[] palavras, String[] comEspaco) {
+
+        int pontos = 0;
+        for (int i = 0; i < palavras.length; i++) {
+            String p = palavras[i];
+            boolean curta = p.length() < 3;
+
+            if (titulo.startsWith(p)) pontos += 10;                                  // começo do título
+            else if (titulo.contains(comEspaco[i])) pontos += 6;                     // começo de uma palavra
+            else if (!curta && titulo.contains(p)) pontos += 3;                      // meio de uma palavra
+            else if (plataforma.startsWith(p)
+                    || plataforma.contains(curta ? comEspaco[i] : p)) pontos += 1;   // só na plataforma
+            else return -1;
+        }
+        if (palavras.length == 1 && titulo.equals(palavras[0])) pontos += 5;         // título exato
+        return pontos;
+    }
+
+    // ==============================
+    // ÍNDICE
+    // ==============================
+
+    private void indexar(String texto, int vaga) {
+        for (String p : palavras(texto)) {
+            adicionarChave(chavePrefixo(p.substring(0, 1)), vaga);
+            if (p.length() >= 2) adicionarChave(chavePrefixo(p.substring(0, 2)), vaga);
+            for (int i = 0; i + 3 <= p.length(); i++) adicionarChave(chaveTrigrama(p, i), vaga);
+        }
+    }
+
+    private void adicionarChave(long chave, int vaga) {
+        indice.computeIfAbsent(chave, k -> new Lista()).adicionar(vaga);
+    }
+
+    private static long chaveTrigrama(String p, int i) {
+        return TRIGRAMA | ((long) p.charAt(i) << 32) | ((long) p.charAt(i + 1) << 16) | p.charAt(i + 2);
+    }
+
+    private static long chavePrefixo(String p) {
+        long c1 = p.length() > 1 ? p.charAt(1) : 0;
+        return PREFIXO | ((long) p.charAt(0) << 32) | (c1 << 16);
+    }
+
+    // Refaz tudo só com os jogos ativos (limpa as vagas vazias das listas).
+    private void reconstruir() {
+        Jogo[] ativos = new Jogo[tamanho()];
+        int k = 0;
+        for (int i = 0; i < vagas; i++) {
+            if (jogos[i] != null) ativos[k++] = jogos[i];
+        }
+
+        indice.clear();
+        vagaPorId.clear();
+        Arrays.fill(jogos, 0, vagas, null);
+        vagas = 0;
+        removidos = 0;
+
+        for (Jogo j : ativos) adicionar(j);
+        compactar();
+    }
+
+    // Corta a folga dos arrays depois de uma carga grande
+    // (chamar ao terminar de adicionar o catálogo jogo a jogo).
+    public void compactar() {
+        for (Lista l : indice.values()) l.compactar();
+    }
+
+    // Interseção de duas listas ordenadas; devolve quantos ficaram em "r".
+    // Lista bem menor que a outra: busca binária (não percorre a grande inteira).
+    private static int intersectar(int[] a, int na, int[] b, int nb, int[] r) {
+        if (na > nb) return intersectar(b, nb, a, na, r);
+
+        int k = 0;
+        if ((long) na * 8 < nb) {
+            int desde = 0;
+            for (int i = 0; i < na; i++) {
+                int pos = Arrays.binarySearch(b, desde, nb, a[i]);
+                if (pos >= 0) {
+                    r[k++] = a[i];
+                    desde = pos + 1;
+                } else {
+                    desde = -pos - 1;
+                }
+                if (desde >= nb) break;
+            }
+            return k;
+        }
+
+        int i = 0, j = 0;
+        while (i < na && j < nb) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                r[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    // ==============================
+    // TEXTO
+    // ==============================
+
+    // Minúsculas, sem acentos e só letras/números ("Edição: Ouro!" => "edicao ouro").
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+        String semAcento = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return semAcento.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static String[] comEspaco(String[] palavras) {
+        String[] r = new String[palavras.length];
+        for (int i = 0; i < palavras.length; i++) r[i] = " " + palavras[i];
+        return r;
+    }
+
+    private static String[] palavras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    // Lista crescente de vagas (int[] que cresce, sem Integer).
+    private static class Lista {
+        int[] vagas = new int[4];
+        int tamanho = 0;
+
+        void adicionar(int vaga) {
+            // Mesma palavra duas vezes no título: não repete a vaga.
+            if (tamanho > 0 && vagas[tamanho - 1] == vaga) return;
+            if (tamanho == vagas.length) vagas = Arrays.copyOf(vagas, tamanho + (tamanho >> 1) + 1);
+            vagas[tamanho++] = vaga;
+        }
+
+        void compactar() {
+            if (vagas.length > tamanho) vagas = Arrays.copyOf(vagas, tamanho);
+        }
+    }
+}
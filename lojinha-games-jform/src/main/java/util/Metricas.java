@@ -0,0 +1,462 @@
+package util;
+
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Tempos das operações do sistema (onde o tempo está sendo gasto).
+//
+// Cada operação tem um Cronometro com nome ("dao.inserir", "sql.executar"...):
+//
+//   private static final Metricas.Cronometro INSERIR = Metricas.cronometro("dao.inserir");
+//   ...
+//   long inicio = System.nanoTime();
+//   try { ... } finally { INSERIR.registrar(inicio); }
+//
+// Com INSERIR.iniciar() no lugar de System.nanoTime(), a operação também
+// aparece em emAndamento() até terminar (o VigiaEdt usa isso para dizer
+// o que estava rodando quando a tela travou).
+//
+// Registrar custa poucas dezenas de nanossegundos e não trava: contagem e
+// soma ficam em LongAdder (cada thread soma na sua célula) e o tempo entra
+// numa faixa de um histograma (como o HdrHistogram: faixas que dobram de
+// tamanho, cada uma dividida em 8 partes; erro máximo de 12,5%).
+//
+// Além dos tempos, há contadores: valores que o dono calcula na hora em que
+// são lidos (conexões em uso, acertos de um cache...):
+//
+//   Metricas.contador("pool.conexoes.ativas", () -> emUso.size());
+//
+// Onde ver:
+// - JMX: cada cronômetro aparece no JConsole/VisualVM em lojinha > Metricas,
+//   cada contador em lojinha > Contadores
+// - CSV: iniciarRegistro(segundos) grava em metricas/metricas-AAAA-MM-DD.csv
+//   o que aconteceu em cada intervalo (contagem, média, p50, p90, p99, máximo)
+//   e em metricas/contadores-AAAA-MM-DD.csv o valor de cada contador
+public final class Metricas {
+
+    private Metricas() {}
+
+    private static final Logger LOG = Logger.getLogger(Metricas.class.getName());
+
+    // Faixas do histograma: 0..7 ns uma por valor; depois 8 por potência de 2.
+    private static final int SUBFAIXAS_BITS = 3;
+    private static final int SUBFAIXAS = 1 << SUBFAIXAS_BITS;
+    private static final int FAIXAS = SUBFAIXAS + (63 - SUBFAIXAS_BITS) * SUBFAIXAS;
+
+    private static final String PASTA_CSV = "metricas";
+    private static final String CABECALHO_CSV = "hora;nome;contagem;media_ms;p50_ms;p90_ms;p99_ms;max_ms";
+    private static final String CABECALHO_CONTADORES = "hora;nome;valor";
+
+    // Nome => cronômetro (criado no primeiro uso).
+    private static final Map<String, Cronometro> CRONOMETROS = new ConcurrentHashMap<>();
+
+    public static Cronometro cronometro(String nome) {
+        return CRONOMETROS.computeIfAbsent(nome, Metricas::criar);
+    }
+
+    private static Cronometro criar(String nome) {
+        Cronometro c = new Cronometro(nome);
+        registrarJmx(c);
+        return c;
+    }
+
+    // Todos os cronômetros, em ordem de nome.
+    public static List<Cronometro> todos() {
+        List<Cronometro> lista = new ArrayList<>(CRONOMETROS.values());
+        lista.sort(Comparator.comparing(Cronometro::getNome));
+        return lista;
+    }
+
+    // ==============================
+    // CRONÔMETRO
+    // ==============================
+
+    // O que o JConsole mostra de cada cronômetro (tempos em milissegundos).
+    public interface CronometroMBean {
+        long getContagem();
+        double getMediaMs();
+        double getP50Ms();
+        double getP90Ms();
+        double getP99Ms();
+        double getMaximoMs();
+    }
+
+    public static final class Cronometro implements CronometroMBean {
+
+        private final String nome;
+        private final LongAdder contagem = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray faixas = new AtomicLongArray(FAIXAS);
+
+        private Cronometro(String nome) {
+            this.nome = nome;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        // Como System.nanoTime(), mas deixa a operação visível em emAndamento().
+        public long iniciar() {
+            long inicio = System.nanoTime();
+            Thread t = Thread.currentThread();
+            EM_ANDAMENTO.put(t, new Andamento(this, inicio, EM_ANDAMENTO.get(t)));
+            return inicio;
+        }
+
+        // Tempo desde "inicio" (de iniciar() ou de um System.nanoTime() tirado antes da operação).
+        public void registrar(long inicio) {
+            long fim = System.nanoTime();
+            terminar(inicio);
+            registrarDuracao(fim - inicio);
+        }
+
+        // Tira a operação da pilha desta thread (se foi aberta por iniciar()).
+        // Se alguma operação de dentro ficou aberta (iniciar() sem registrar()),
+        // ela sai junto: a pilha nunca guarda restos de operações já terminadas.
+        private void terminar(long inicio) {
+            Thread t = Thread.currentThread();
+            Andamento topo = EM_ANDAMENTO.get(t);
+            for (Andamento a = topo; a != null; a = a.anterior) {
+                if (a.cronometro == this && a.inicio == inicio) {
+                    if (a.anterior == null) EM_ANDAMENTO.remove(t);
+                    else EM_ANDAMENTO.put(t, a.anterior);
+                    return;
+                }
+            }
+        }
+
+        public void registrarDuracao(long nanos) {
+            if (nanos < 0) nanos = 0;
+            contagem.increment();
+            totalNanos.add(nanos);
+            maximoNanos.accumulate(nanos);
+            faixas.incrementAndGet(faixa(nanos));
+        }
+
+        // Fotografia dos números de agora.
+        public Resumo resumo() {
+            long[] copia = new long[FAIXAS];
+            for (int i = 0; i < FAIXAS; i++) copia[i] = faixas.get(i);
+            return new Resumo(copia, totalNanos.sum(), maximoNanos.get());
+        }
+
+        @Override
+        public long getContagem() {
+            return contagem.sum();
+        }
+
+        @Override
+        public double getMediaMs() {
+            return resumo().getMediaMs();
+        }
+
+        @Override
+        public double getP50Ms() {
+            return resumo().percentilMs(50);
+        }
+
+        @Override
+        public double getP90Ms() {
+            return resumo().percentilMs(90);
+        }
+
+        @Override
+        public double getP99Ms() {
+            return resumo().percentilMs(99);
+        }
+
+        @Override
+        public double getMaximoMs() {
+            return maximoNanos.get() / 1e6;
+        }
+    }
+
+    // Faixa de uma duração: as 3 casas binárias abaixo do bit mais alto escolhem a subfaixa.
+    static int faixa(long nanos) {
+        if (nanos < SUBFAIXAS) return (int) nanos;
+        int expoente = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (expoente - SUBFAIXAS_BITS)) & (SUBFAIXAS - 1);
+        return SUBFAIXAS + (expoente - SUBFAIXAS_BITS) * SUBFAIXAS + sub;
+    }
+
+    // Maior duração que cai na faixa (o percentil é informado por cima, nunca por baixo).
+    static long limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) return faixa;
+        int expoente = (faixa - SUBFAIXAS) / SUBFAIXAS + SUBFAIXAS_BITS;
+        long sub = (faixa - SUBFAIXAS) % SUBFAIXAS;
+        long largura = 1L << (expoente - SUBFAIXAS_BITS);
+        return ((SUBFAIXAS + sub) << (expoente - SUBFAIXAS_BITS)) + largura - 1;
+    }
+
+    // ==============================
+    // CONTADORES
+    // ==============================
+    // Nome => de onde ler o valor. Registrar de novo com o mesmo nome troca a
+    // origem (ex.: um pool recriado): o JMX continua no mesmo lugar.
+    private static final Map<String, LongSupplier> CONTADORES = new ConcurrentHashMap<>();
+
+    // O que o JConsole mostra de cada contador.
+    public interface ContadorMBean {
+        long getValor();
+    }
+
+    private static final class Contador implements ContadorMBean {
+        private final String nome;
+
+        Contador(String nome) {
+            this.nome = nome;
+        }
+
+        @Override
+        public long getValor() {
+            return ler(nome);
+        }
+    }
+
+    public static void contador(String nome, LongSupplier valor) {
+        if (CONTADORES.put(nome, valor) == null) registrarJmx(nome);
+    }
+
+    // Valor de agora (0 se não existe ou se a leitura falhar).
+    public static long ler(String nome) {
+        LongSupplier s = CONTADORES.get(nome);
+        if (s == null) return 0;
+        try {
+            return s.getAsLong();
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // Todos os contadores com o valor de agora, em ordem de nome.
+    public static Map<String, Long> contadores() {
+        Map<String, Long> valores = new TreeMap<>();
+        for (String nome : CONTADORES.keySet()) valores.put(nome, ler(nome));
+        return valores;
+    }
+
+    // ==============================
+    // RESUMO (números de um momento ou de um intervalo)
+    // ==============================
+    public static final class Resumo {
+
+        private final long[] faixas;
+        private final long contagem;
+        private final long totalNanos;
+        private final long maximoNanos;
+
+        Resumo(long[] faixas, long totalNanos, long maximoNanos) {
+            long soma = 0;
+            for (long n : faixas) soma += n;
+            this.faixas = faixas;
+            this.contagem = soma;
+            this.totalNanos = totalNanos;
+            this.maximoNanos = maximoNanos;
+        }
+
+        // O que aconteceu entre "anterior" e este resumo.
+        // O máximo do intervalo vem do histograma (limite da maior faixa usada).
+        public Resumo menos(Resumo anterior) {
+            long[] diferenca = new long[FAIXAS];
+            int maior = -1;
+            for (int i = 0; i < FAIXAS; i++) {
+                diferenca[i] = faixas[i] - anterior.faixas[i];
+                if (diferenca[i] > 0) maior = i;
+            }
+            long maximo = maior < 0 ? 0 : Math.min(limiteSuperior(maior), maximoNanos);
+            return new Resumo(diferenca, totalNanos - anterior.totalNanos, maximo);
+        }
+
+        public long getContagem() {
+            return contagem;
+        }
+
+        public double getMediaMs() {
+            return contagem == 0 ? 0 : totalNanos / 1e6 / contagem;
+        }
+
+        public double getMaximoMs() {
+            return maximoNanos / 1e6;
+        }
+
+        // Tempo abaixo do qual ficam "p" por cento das operações (ex.: 99).
+        public double percentilMs(double p) {
+            if (contagem == 0) return 0;
+            long alvo = Math.max(1, (long) Math.ceil(contagem * p / 100));
+            long acumulado = 0;
+            for (int i = 0; i < FAIXAS; i++) {
+                acumulado += faixas[i];
+                if (acumulado >= alvo) return Math.min(limiteSuperior(i), maximoNanos) / 1e6;
+            }
+            return maximoNanos / 1e6;
+        }
+    }
+
+    // ==============================
+    // OPERAÇÕES EM ANDAMENTO
+    // ==============================
+    // Thread => operação aberta por iniciar() mais recente.
+    // Operação dentro de operação (dao.inserir > conexao.obter) forma uma pilha:
+    // cada uma aponta para a de fora.
+    private static final Map<Thread, Andamento> EM_ANDAMENTO = new ConcurrentHashMap<>();
+
+    private static final class Andamento {
+        final Cronometro cronometro;
+        final long inicio;
+        final Andamento anterior;
+
+        Andamento(Cronometro cronometro, long inicio, Andamento anterior) {
+            this.cronometro = cronometro;
+            this.inicio = inicio;
+            this.anterior = anterior;
+        }
+    }
+
+    // Uma linha por thread com operação aberta, da mais externa para a mais interna:
+    //   "tarefas-banco: dao.buscarPagina 1520 ms > sql.executar 1498 ms"
+    public static List<String> emAndamento() {
+        long agora = System.nanoTime();
+        List<String> linhas = new ArrayList<>();
+
+        // Thread que morreu no meio de uma operação não volta para tirar a entrada.
+        EM_ANDAMENTO.keySet().removeIf(t -> !t.isAlive());
+
+        for (Map.Entry<Thread, Andamento> e : EM_ANDAMENTO.entrySet()) {
+            List<String> pilha = new ArrayList<>();
+            for (Andamento a = e.getValue(); a != null; a = a.anterior) {
+                pilha.add(0, a.cronometro.getNome() + " " + (agora - a.inicio) / 1_000_000 + " ms");
+            }
+            linhas.add(e.getKey().getName() + ": " + String.join(" > ", pilha));
+        }
+
+        linhas.sort(null);
+        return linhas;
+    }
+
+    // ==============================
+    // JMX
+    // ==============================
+    // lojinha:type=Metricas,name=dao.inserir (e assim por diante).
+    // Métrica nunca derruba o programa: se o JMX falhar, só não aparece lá.
+    private static void registrarJmx(Cronometro c) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(c, CronometroMBean.class),
+                    new ObjectName("lojinha:type=Metricas,name=" + c.getNome()));
+        } catch (Exception ignored) {
+        }
+    }
+
+    // lojinha:type=Contadores,name=pool.conexoes.ativas (e assim por diante).
+    private static void registrarJmx(String contador) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(new Contador(contador), ContadorMBean.class),
+                    new ObjectName("lojinha:type=Contadores,name=" + contador));
+        } catch (Exception ignored) {
+        }
+    }
+
+    // ==============================
+    // REGISTRO EM CSV
+    // ==============================
+    // A cada "segundos", acrescenta uma linha por cronômetro usado no intervalo.
+    // Também grava o último intervalo quando o programa fecha.
+    // segundos <= 0 => não grava.
+    private static ScheduledExecutorService registro;
+    private static final Map<String, Resumo> ANTERIORES = new HashMap<>();
+
+    public static synchronized void iniciarRegistro(long segundos) {
+        if (segundos <= 0 || registro != null) return;
+
+        registro = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metricas-registro");
+            t.setDaemon(true);
+            return t;
+        });
+        registro.scheduleAtFixedRate(Metricas::gravarIntervalo, segundos, segundos, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(Metricas::gravarIntervalo, "metricas-fechar"));
+    }
+
+    private static synchronized void gravarIntervalo() {
+        try {
+            Path arquivo = Path.of(PASTA_CSV, "metricas-" + LocalDate.now() + ".csv");
+            Files.createDirectories(arquivo.getParent());
+            boolean novo = !Files.exists(arquivo);
+
+            String hora = LocalTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+
+            try (BufferedWriter w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+                if (novo) {
+                    w.write(CABECALHO_CSV);
+                    w.newLine();
+                }
+
+                for (Cronometro c : todos()) {
+                    Resumo atual = c.resumo();
+                    Resumo anterior = ANTERIORES.put(c.getNome(), atual);
+                    Resumo intervalo = anterior == null ? atual : atual.menos(anterior);
+                    if (intervalo.getContagem() == 0) continue;
+
+                    w.write(String.format(Locale.ROOT, "%s;%s;%d;%.3f;%.3f;%.3f;%.3f;%.3f",
+                            hora, c.getNome(), intervalo.getContagem(), intervalo.getMediaMs(),
+                            intervalo.percentilMs(50), intervalo.percentilMs(90),
+                            intervalo.percentilMs(99), intervalo.getMaximoMs()));
+                    w.newLine();
+                }
+            }
+
+            // Contadores: o valor no fim do intervalo.
+            Path contadores = Path.of(PASTA_CSV, "contadores-" + LocalDate.now() + ".csv");
+            boolean contadoresNovo = !Files.exists(contadores);
+            try (BufferedWriter w = Files.newBufferedWriter(contadores, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+                if (contadoresNovo) {
+                    w.write(CABECALHO_CONTADORES);
+                    w.newLine();
+                }
+
+                for (Map.Entry<String, Long> c : contadores().entrySet()) {
+                    w.write(hora + ";" + c.getKey() + ";" + c.getValue());
+                    w.newLine();
+                }
+            }
+
+        } catch (IOException e) {
+            // Sem disco/permissão: tenta de novo no próximo intervalo.
+            LOG.log(Level.WARNING, "Erro ao gravar métricas: " + e.getMessage(), e);
+        }
+    }
+}
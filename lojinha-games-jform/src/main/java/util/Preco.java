@@ -0,0 +1,159 @@
+// Define o pacote util.
+// Aqui ficam classes utilitárias (ajudam o sistema).
+package util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Preços em CENTAVOS (long): R$ 199,90 => 19990.
+//
+// double não guarda 0,10 exatamente (0.1 + 0.2 = 0.30000000000000004):
+// somas e reajustes em lote acumulam erro. Em centavos a conta é exata
+// e usa só aritmética de long (sem objetos).
+//
+// O banco guarda DECIMAL(12,2); a conversão acontece só na borda do JDBC
+// (paraDecimal / deDecimal).
+public final class Preco {
+
+    private Preco() {}
+
+    // Maior preço aceito (cabe em DECIMAL(12,2)).
+    public static final long MAXIMO_CENTAVOS = 9_999_999_999_99L;
+
+    // ==============================
+    // TEXTO => CENTAVOS
+    // ==============================
+    // Aceita "199,90", "199.90", "199,9", "199", "R$ 1.234,56" e "1,234.56".
+    // O último "," ou "." seguido de 1 ou 2 dígitos é o separador decimal;
+    // seguido de 3 dígitos é separador de milhar ("1.234" = mil duzentos e trinta e quatro).
+    // Separadores de milhar: sempre o mesmo caractere, diferente do decimal, e
+    // grupos de 3 dígitos ("1.2.3", "12.34.56" e "1234.567" são recusados).
+    // Lê o texto caractere por caractere, sem criar objetos.
+    public static long parse(CharSequence texto) {
+
+        int inicio = 0, fim = texto.length();
+        while (inicio < fim && Character.isWhitespace(texto.charAt(inicio))) inicio++;
+        while (fim > inicio && Character.isWhitespace(texto.charAt(fim - 1))) fim--;
+
+        // "R$" opcional.
+        if (fim - inicio >= 2 && texto.charAt(inicio) == 'R' && texto.charAt(inicio + 1) == '$') {
+            inicio += 2;
+            while (inicio < fim && Character.isWhitespace(texto.charAt(inicio))) inicio++;
+        }
+
+        boolean negativo = inicio < fim && texto.charAt(inicio) == '-';
+        if (negativo) inicio++;
+
+        if (inicio >= fim) throw invalido(texto);
+
+        // Onde está o separador decimal (se houver).
+        int decimal = -1;
+        for (int i = fim - 1; i >= inicio; i--) {
+            char ch = texto.charAt(i);
+            if (ch == ',' || ch == '.') {
+                int digitosDepois = fim - i - 1;
+                if (digitosDepois == 1 || digitosDepois == 2) decimal = i;
+                else if (digitosDepois != 3) throw invalido(texto);
+                break;
+            }
+        }
+
+        long reais = 0;
+        int digitos = 0;
+        char milhar = 0;  // separador de milhar usado (0 = nenhum)
+        int noGrupo = 0;  // dígitos desde o último separador de milhar
+        int limite = decimal >= 0 ? decimal : fim;
+        for (int i = inicio; i < limite; i++) {
+            char ch = texto.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                reais = reais * 10 + (ch - '0');
+                if (++digitos > 11) throw invalido(texto);
+                noGrupo++;
+            } else if (ch == '.' || ch == ',') {
+                // Primeiro grupo: 1 a 3 dígitos; os seguintes: exatamente 3.
+                if (milhar == 0 ? noGrupo == 0 || noGrupo > 3 : ch != milhar || noGrupo != 3) {
+                    throw invalido(texto);
+                }
+                milhar = ch;
+                noGrupo = 0;
+            } else {
+                throw invalido(texto);
+            }
+        }
+        if (digitos == 0) throw invalido(texto);
+        if (milhar != 0 && (noGrupo != 3 || (decimal >= 0 && texto.charAt(decimal) == milhar))) {
+            throw invalido(texto);
+        }
+
+        long centavos = 0;
+        if (decimal >= 0) {
+            for (int i = decimal + 1; i < fim; i++) {
+                char ch = texto.charAt(i);
+                if (ch < '0' || ch > '9') throw invalido(texto);
+                centavos = centavos * 10 + (ch - '0');
+            }
+            if (fim - decimal - 1 == 1) centavos *= 10; // "199,9" => 90 centavos
+        }
+
+        long total = reais * 100 + centavos;
+        if (total > MAXIMO_CENTAVOS) throw invalido(texto);
+        return negativo ? -total : total;
+    }
+
+    private static IllegalArgumentException invalido(CharSequence texto) {
+        return new IllegalArgumentException("Preço inválido: \"" + texto + "\" (ex: 199,90)");
+    }
+
+    // ==============================
+    // CENTAVOS => TEXTO
+    // ==============================
+
+    // 123456 => "1.234,56"
+    public static String formatar(long centavos) {
+        return formatar(centavos, new StringBuilder(16)).toString();
+    }
+
+    // Escreve no StringBuilder recebido (pode ser reaproveitado: sem criar objetos).
+    public static StringBuilder formatar(long centavos, StringBuilder sb) {
+        if (centavos < 0) {
+            sb.append('-');
+            centavos = -centavos;
+        }
+
+        long reais = centavos / 100;
+        int resto = (int) (centavos % 100);
+
+        // Parte inteira com "." a cada 3 dígitos.
+        long divisor = 1;
+        while (divisor <= reais / 1000) divisor *= 1000;
+
+        sb.append(reais / divisor);
+        while (divisor > 1) {
+            divisor /= 1000;
+            int grupo = (int) (reais / divisor % 1000);
+            sb.append('.');
+            if (grupo < 100) sb.append('0');
+            if (grupo < 10) sb.append('0');
+            sb.append(grupo);
+        }
+
+        sb.append(',');
+        if (resto < 10) sb.append('0');
+        return sb.append(resto);
+    }
+
+    // ==============================
+    // JDBC (coluna DECIMAL)
+    // ==============================
+
+    // 19990 => 199.90 (BigDecimal exato, para ps.setBigDecimal).
+    public static BigDecimal paraDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    // 199.90 => 19990 (lido com rs.getBigDecimal). Mais de 2 casas: arredonda.
+    public static long deDecimal(BigDecimal valor) {
+        if (valor == null) return 0;
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
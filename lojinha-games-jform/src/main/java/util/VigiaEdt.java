@@ -0,0 +1,213 @@
+package util;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+// Vigia da thread da tela (EDT).
+//
+// Todo clique, tecla e pintura da tela roda numa única thread (a EDT).
+// Se um evento demora (consulta no banco, imagem grande...), a janela "trava".
+// O vigia descobre ONDE:
+//
+// - troca a fila de eventos do Swing por uma que anota quando cada evento começou;
+// - uma thread de fundo olha a EDT a cada poucos milissegundos;
+// - se o mesmo evento passou do limite, grava no log a pilha da EDT (o método
+//   exato que está segurando a tela) e as operações do DAO/imagens em andamento
+//   (Metricas.emAndamento());
+// - quando o evento termina, grava quanto tempo ele durou no total.
+//
+// O log fica em logs/edt-travamentos.N.log (5 arquivos de 1 MB, o mais antigo é apagado).
+// Com o vigia desligado (limite <= 0), nada disso é instalado.
+public final class VigiaEdt {
+
+    private VigiaEdt() {}
+
+    private static final String PASTA_LOG = "logs";
+    private static final String ARQUIVO_LOG = PASTA_LOG + "/edt-travamentos.%g.log";
+    private static final int TAMANHO_LOG = 1024 * 1024;
+    private static final int ARQUIVOS_LOG = 5;
+
+    // Linhas da pilha gravadas por travamento (o começo da pilha é o que importa).
+    private static final int LINHAS_PILHA = 40;
+
+    // Tempo de cada evento da tela (histograma no JConsole / CSV).
+    private static final Metricas.Cronometro TEMPO_EVENTO = Metricas.cronometro("tela.evento");
+
+    private static final Logger LOG = Logger.getLogger("lojinha.edt");
+
+    private static long limiteNanos;
+    private static ScheduledExecutorService vigia;
+
+    // ===== ESTADO DA EDT (escrito pela EDT, lido pelo vigia) =====
+    private static volatile Thread edt;
+    // Quando o evento atual começou (0 = EDT parada esperando evento).
+    private static volatile long ocupadaDesde = 0;
+    // Número do evento atual: o vigia grava cada travamento uma vez só.
+    private static volatile long evento = 0;
+    private static volatile AWTEvent eventoAtual;
+    private static volatile long relatado = -1;
+
+    // Liga o vigia: grava eventos da tela que passarem de limiteMs.
+    // limiteMs <= 0 => desligado.
+    public static synchronized void iniciar(long limiteMs) {
+        if (limiteMs <= 0 || vigia != null) return;
+
+        try {
+            new File(PASTA_LOG).mkdirs();
+            FileHandler arquivo = new FileHandler(ARQUIVO_LOG, TAMANHO_LOG, ARQUIVOS_LOG, true);
+            arquivo.setEncoding("UTF-8");
+            arquivo.setFormatter(new FormatoLog());
+            LOG.addHandler(arquivo);
+            LOG.setUseParentHandlers(false);
+        } catch (IOException e) {
+            // Sem log não há onde gravar: a tela funciona normalmente, só sem o vigia.
+            // (Vai para o log padrão do Java: o LOG daqui ainda não tem arquivo.)
+            LOG.log(Level.WARNING, "Erro ao abrir log da EDT: " + e.getMessage(), e);
+            return;
+        }
+
+        limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+
+        // Olha a EDT 4 vezes por limite (um travamento é visto com no máximo 25% de atraso).
+        long intervalo = Math.max(10, limiteMs / 4);
+        vigia = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vigia-edt");
+            t.setDaemon(true);
+            return t;
+        });
+        vigia.scheduleWithFixedDelay(VigiaEdt::verificar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new FilaVigiada());
+        LOG.info("Vigia da EDT ligado (limite " + limiteMs + " ms)");
+    }
+
+    // ==============================
+    // FILA DE EVENTOS VIGIADA (roda na EDT)
+    // ==============================
+    private static final class FilaVigiada extends EventQueue {
+
+        // Eventos dentro de eventos: um diálogo modal (JOptionPane) atende
+        // eventos enquanto o evento que o abriu continua "rodando".
+        private int profundidade = 0;
+
+        @Override
+        protected void dispatchEvent(AWTEvent e) {
+            long inicio = System.nanoTime();
+            long numero = ++evento;
+            AWTEvent anterior = eventoAtual;
+
+            edt = Thread.currentThread();
+            eventoAtual = e;
+            ocupadaDesde = inicio;
+            profundidade++;
+
+            try {
+                super.dispatchEvent(e);
+            } finally {
+                profundidade--;
+                long duracao = System.nanoTime() - inicio;
+                TEMPO_EVENTO.registrarDuracao(duracao);
+
+                // O evento de fora continua a partir de agora (o tempo do diálogo não conta).
+                // Conta como um trecho novo (pode ser gravado mesmo que o de dentro já tenha sido).
+                eventoAtual = anterior;
+                if (profundidade > 0) {
+                    ++evento;
+                    ocupadaDesde = System.nanoTime();
+                } else {
+                    ocupadaDesde = 0;
+                }
+
+                // Gravar em disco fica com a thread do vigia, nunca com a EDT.
+                if (relatado == numero) {
+                    String descricao = descrever(e);
+                    vigia.execute(() -> LOG.warning("Evento terminou depois de "
+                            + TimeUnit.NANOSECONDS.toMillis(duracao) + " ms: " + descricao));
+                }
+            }
+        }
+
+        // Esperando o próximo evento, a EDT está livre (também dentro de um diálogo modal).
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            long antes = ocupadaDesde;
+            ocupadaDesde = 0;
+            try {
+                return super.getNextEvent();
+            } finally {
+                if (antes != 0) ocupadaDesde = System.nanoTime();
+            }
+        }
+    }
+
+    // ==============================
+    // VIGIA (thread de fundo)
+    // ==============================
+    private static void verificar() {
+        long desde = ocupadaDesde;
+        long numero = evento;
+        Thread t = edt;
+        if (desde == 0 || t == null || numero == relatado) return;
+
+        long ocupada = System.nanoTime() - desde;
+        if (ocupada < limiteNanos) return;
+
+        // Lê a pilha antes de qualquer outra coisa: é o momento do travamento.
+        StackTraceElement[] pilha = t.getStackTrace();
+        AWTEvent e = eventoAtual;
+        List<String> operacoes = Metricas.emAndamento();
+
+        // O evento pode ter terminado enquanto a pilha era lida: aí não era ele.
+        if (ocupadaDesde != desde) return;
+        relatado = numero;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("EDT ocupada há ").append(TimeUnit.NANOSECONDS.toMillis(ocupada)).append(" ms");
+        sb.append("\n  evento: ").append(descrever(e));
+
+        sb.append("\n  operações em andamento:");
+        if (operacoes.isEmpty()) sb.append(" nenhuma");
+        for (String op : operacoes) sb.append("\n    ").append(op);
+
+        sb.append("\n  pilha da EDT:");
+        for (int i = 0; i < pilha.length && i < LINHAS_PILHA; i++) {
+            sb.append("\n    at ").append(pilha[i]);
+        }
+        if (pilha.length > LINHAS_PILHA) sb.append("\n    ... mais ").append(pilha.length - LINHAS_PILHA);
+
+        LOG.warning(sb.toString());
+    }
+
+    // InvocationEvent mostra a classe do Runnable (o lambda de quem chamou invokeLater).
+    private static String descrever(AWTEvent e) {
+        if (e == null) return "?";
+        String texto = e.toString();
+        return texto.length() > 300 ? texto.substring(0, 300) + "..." : texto;
+    }
+
+    // Uma entrada por travamento: data/hora, nível e a mensagem (com a pilha).
+    private static final class FormatoLog extends Formatter {
+        private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+        @Override
+        public String format(LogRecord r) {
+            return LocalDateTime.ofInstant(r.getInstant(), ZoneId.systemDefault()).format(HORA) + " " + r.getLevel() + " " + r.getMessage()
+                    + System.lineSeparator();
+        }
+    }
+}
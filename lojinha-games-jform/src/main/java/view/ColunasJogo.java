@@ -0,0 +1,230 @@
+package view;
+
+import model.Jogo;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Armazena as linhas da tabela "por coluna" em vez de "por objeto".
+//
+// Em vez de uma lista de Jogo (ou de Object[]), cada coluna é um array:
+// ids e versões em int[], preços (centavos) em long[] e textos em String[].
+// Isso ocupa bem menos memória (sem objeto por linha, sem boxing)
+// e os valores só viram objetos quando a JTable pede uma célula visível.
+//
+// Achar a linha de um jogo: busca binária por (titulo, id) e confere o ID.
+// O Collator do Java não ordena exatamente como o MySQL (títulos com
+// acento/símbolo) e um resultado pronto nem está em ordem de título: quando
+// a busca cai na linha errada, procura o ID percorrendo o int[] (sem mapa
+// para manter a cada linha inserida, removida ou deslocada).
+public class ColunasJogo {
+
+    private static final int CAPACIDADE_INICIAL = 256;
+
+    // Compara títulos como o MySQL (sem diferenciar maiúsculas nem acentos),
+    // para que as linhas novas entrem no mesmo lugar que o ORDER BY colocaria.
+    private static final Collator COLLATOR = Collator.getInstance(new Locale("pt", "BR"));
+    static {
+        COLLATOR.setStrength(Collator.PRIMARY);
+    }
+
+    private int[] ids = new int[CAPACIDADE_INICIAL];
+    private String[] titulos = new String[CAPACIDADE_INICIAL];
+    private String[] plataformas = new String[CAPACIDADE_INICIAL];
+    private long[] precos = new long[CAPACIDADE_INICIAL];
+    private String[] imagens = new String[CAPACIDADE_INICIAL];
+    private int[] versoes = new int[CAPACIDADE_INICIAL];
+
+    private int tamanho = 0;
+
+    // Plataformas se repetem muito ("PS5", "PC"...): guardamos uma única
+    // instância de cada texto em vez de uma String por linha.
+    private final Map<String, String> plataformasUnicas = new HashMap<>();
+
+    // ==============================
+    // LEITURA
+    // ==============================
+
+    public int tamanho() { return tamanho; }
+
+    public int getId(int i) { return ids[i]; }
+
+    public String getTitulo(int i) { return titulos[i]; }
+
+    public String getPlataforma(int i) { return plataformas[i]; }
+
+    public long getPrecoCentavos(int i) { return precos[i]; }
+
+    public String getImagemPath(int i) { return imagens[i]; }
+
+    public int getVersao(int i) { return versoes[i]; }
+
+    // Monta um objeto Jogo a partir da linha i (só quando realmente precisa).
+    public Jogo getJogo(int i) {
+        Jogo j = new Jogo(titulos[i], plataformas[i], precos[i], imagens[i]);
+        j.setId(ids[i]);
+        j.setVersao(versoes[i]);
+        return j;
+    }
+
+    // ==============================
+    // BUSCA (linhas ordenadas por titulo, id)
+    // ==============================
+
+    // Busca binária: posição onde (titulo, id) deveria entrar (para inserir uma linha nova).
+    public int posicao(String titulo, int id) {
+        int baixo = 0;
+        int alto = tamanho - 1;
+
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int cmp = comparar(titulos[meio], ids[meio], titulo, id);
+
+            if (cmp < 0) baixo = meio + 1;
+            else if (cmp > 0) alto = meio - 1;
+            else return meio;
+        }
+        return baixo;
+    }
+
+    // Linha onde está o jogo, sabendo o título que ele tem na tabela.
+    // Retorna -1 se a linha não está carregada.
+    public int localizar(String titulo, int id) {
+        int i = posicao(titulo, id);
+        if (i < tamanho && ids[i] == id) return i;
+        return indiceDe(id);
+    }
+
+    // Linha onde está o jogo, só pelo ID (percorre as linhas).
+    // Retorna -1 se a linha não está carregada.
+    public int indiceDe(int id) {
+        for (int i = 0; i < tamanho; i++) {
+            if (ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    private static int comparar(String tituloA, int idA, String tituloB, int idB) {
+        int cmp = COLLATOR.compare(tituloA, tituloB);
+        return cmp != 0 ? cmp : Integer.compare(idA, idB);
+    }
+
+    // ==============================
+    // ESCRITA
+    // ==============================
+
+    public void adicionar(Jogo j) {
+        garantirCapacidade(tamanho + 1);
+        gravar(tamanho++, j);
+    }
+
+    public void adicionarTodos(List<Jogo> lista) {
+        garantirCapacidade(tamanho + lista.size());
+        for (Jogo j : lista) gravar(tamanho++, j);
+    }
+
+    // Página anterior: entra antes da primeira linha (lista na ordem da tabela).
+    public void inserirNoInicio(List<Jogo> lista) {
+        int n = lista.size();
+        garantirCapacidade(tamanho + n);
+        deslocar(0, n, tamanho);
+        tamanho += n;
+        for (int i = 0; i < n; i++) gravar(i, lista.get(i));
+    }
+
+    // Insere na posição i, empurrando as seguintes uma casa para baixo.
+    public void inserir(int i, Jogo j) {
+        garantirCapacidade(tamanho + 1);
+        deslocar(i, i + 1, tamanho - i);
+        tamanho++;
+        gravar(i, j);
+    }
+
+    // Remove a linha i, puxando as seguintes uma casa para cima.
+    public void remover(int i) {
+        deslocar(i + 1, i, tamanho - i - 1);
+        tamanho--;
+        titulos[tamanho] = null;
+        plataformas[tamanho] = null;
+        imagens[tamanho] = null;
+    }
+
+    // Descarta as n primeiras linhas (as outras sobem n casas).
+    public void removerInicio(int n) {
+        deslocar(n, 0, tamanho - n);
+        soltar(tamanho - n, tamanho);
+        tamanho -= n;
+    }
+
+    // Descarta as n últimas linhas.
+    public void removerFim(int n) {
+        soltar(tamanho - n, tamanho);
+        tamanho -= n;
+    }
+
+    // Move a linha "de" para a posição "para" com os dados novos
+    // (usado quando o título muda e a linha troca de lugar na ordem).
+    public void mover(int de, int para, Jogo j) {
+        if (de < para) deslocar(de + 1, de, para - de);
+        else if (de > para) deslocar(para, para + 1, de - para);
+        gravar(para, j);
+    }
+
+    // Troca os dados da linha i (sem mudar de posição).
+    public void substituir(int i, Jogo j) {
+        gravar(i, j);
+    }
+
+    public void limpar() {
+        soltar(0, tamanho);
+        tamanho = 0;
+    }
+
+    // Solta as referências de texto para o GC.
+    private void soltar(int de, int ate) {
+        Arrays.fill(titulos, de, ate, null);
+        Arrays.fill(plataformas, de, ate, null);
+        Arrays.fill(imagens, de, ate, null);
+    }
+
+    private void gravar(int i, Jogo j) {
+        ids[i] = j.getId();
+        titulos[i] = j.getTitulo();
+        plataformas[i] = unica(j.getPlataforma());
+        precos[i] = j.getPrecoCentavos();
+        imagens[i] = j.getImagemPath();
+        versoes[i] = j.getVersao();
+    }
+
+    private String unica(String plataforma) {
+        if (plataforma == null) return null;
+        return plataformasUnicas.computeIfAbsent(plataforma, p -> p);
+    }
+
+    private void deslocar(int origem, int destino, int quantidade) {
+        if (quantidade <= 0) return;
+        System.arraycopy(ids, origem, ids, destino, quantidade);
+        System.arraycopy(titulos, origem, titulos, destino, quantidade);
+        System.arraycopy(plataformas, origem, plataformas, destino, quantidade);
+        System.arraycopy(precos, origem, precos, destino, quantidade);
+        System.arraycopy(imagens, origem, imagens, destino, quantidade);
+        System.arraycopy(versoes, origem, versoes, destino, quantidade);
+    }
+
+    // Cresce os arrays em 50% quando enchem.
+    private void garantirCapacidade(int minimo) {
+        if (minimo <= ids.length) return;
+
+        int nova = Math.max(minimo, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, nova);
+        titulos = Arrays.copyOf(titulos, nova);
+        plataformas = Arrays.copyOf(plataformas, nova);
+        precos = Arrays.copyOf(precos, nova);
+        imagens = Arrays.copyOf(imagens, nova);
+        versoes = Arrays.copyOf(versoes, nova);
+    }
+}
@@ -0,0 +1,421 @@
+package view;
+
+import dao.FiltroJogo;
+import dao.JogoRepositorio;
+import dao.Pagina;
+import model.Jogo;
+import util.Metricas;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+// Model da JTable de produtos, carregado por páginas.
+// Só a primeira página vem do banco ao abrir a tela; as próximas são
+// buscadas (em segundo plano) quando o usuário rola até perto do fim.
+// Quem avisa é a tela (linhasVisiveis, chamado quando o viewport muda),
+// nunca o getValueAt: pintar uma célula não pode disparar consulta.
+//
+// No máximo "paginasEmMemoria" páginas ficam carregadas: rolando para
+// baixo, as do começo saem; voltando ao começo, elas são buscadas de novo
+// (buscarPaginaAnterior) e as do fim saem. A tela ajusta a rolagem pelas
+// linhas que entraram/saíram antes das visíveis (setAoDeslocar).
+//
+// As linhas ficam guardadas por coluna (ColunasJogo): nenhum Object[] por
+// linha é criado, e os valores só viram objeto quando a célula é desenhada.
+//
+// Com um filtro (busca da tela), só os jogos que passam nele são carregados;
+// a ordem é sempre por título (a mesma usada para achar as linhas).
+//
+// Também pode mostrar um resultado pronto (busca instantânea em memória):
+// as linhas ficam na ordem de relevância e não há páginas a buscar.
+public class JogoTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUNAS = { "ID", "Título", "Plataforma", "Preço", "Imagem" };
+    // Preço em centavos (Long): desenhado pelo PrecoRenderer.
+    private static final Class<?>[] TIPOS = { Integer.class, String.class, String.class, Long.class, String.class };
+
+    // Começa a buscar a próxima página quando faltarem essas linhas para o fim
+    // (ou para o começo, se o começo foi descartado).
+    private static final int MARGEM = 50;
+
+    // Além das páginas pedidas, sempre cabe isto (a parte visível de uma tela
+    // alta mais as duas margens): senão descartar de um lado já deixaria o
+    // usuário perto do outro, e as páginas iriam e voltariam sem parar.
+    private static final int LINHAS_MINIMAS = 1000;
+
+    // Tempo de um recarregamento: do pedido até a primeira página na tela (inclui a fila e o banco).
+    // E só a parte na EDT: trocar as linhas e avisar a JTable.
+    private static final Metricas.Cronometro TEMPO_RECARREGAR = Metricas.cronometro("tela.recarregarTabela");
+    private static final Metricas.Cronometro TEMPO_PREENCHER = Metricas.cronometro("tela.preencherTabela");
+
+    private final JogoRepositorio dao;
+    private final TarefasBanco tarefas;
+    private final int tamanhoPagina;
+    private final int maximoLinhas;
+    private final Consumer<Exception> erro;
+
+    // Recebe quantas linhas entraram (+) ou saíram (-) antes das visíveis.
+    private IntConsumer aoDeslocar;
+
+    // Linhas já carregadas (só acessado na EDT).
+    private final ColunasJogo linhas = new ColunasJogo();
+
+    // Filtro atual (vazio = catálogo inteiro).
+    private FiltroJogo filtro = new FiltroJogo();
+
+    // Quais jogos pertencem à tabela (usado ao salvar/excluir uma linha).
+    private Predicate<Jogo> criterio = filtro.criterio();
+
+    // true => linhas vieram de um resultado pronto (ordem de relevância, sem páginas).
+    private boolean resultadoPronto = false;
+
+    // Última busca de página enviada ao banco (cancelada ao mostrar um resultado pronto).
+    private TarefasBanco.Tarefa pendente;
+
+    // Estado da paginação.
+    private boolean temMais = false;
+    // true => o começo foi descartado (há jogos antes da primeira linha carregada).
+    private boolean temAntes = false;
+    private boolean carregando = false;
+    private long total = -1;
+
+    public JogoTableModel(JogoRepositorio dao, TarefasBanco tarefas, int tamanhoPagina, int paginasEmMemoria,
+                          Consumer<Exception> erro) {
+        this.dao = dao;
+        this.tarefas = tarefas;
+        this.tamanhoPagina = tamanhoPagina;
+        this.maximoLinhas = Math.max(tamanhoPagina * paginasEmMemoria, 2 * tamanhoPagina + LINHAS_MINIMAS);
+        this.erro = erro;
+    }
+
+    public void setAoDeslocar(IntConsumer aoDeslocar) {
+        this.aoDeslocar = aoDeslocar;
+    }
+
+    // ==============================
+    // CARREGAMENTO
+    // ==============================
+
+    // Descarta tudo e busca a primeira página (com contagem total).
+    public void recarregar() {
+        long pedido = System.nanoTime();
+        carregando = true;
+
+        // Mesma chave das próximas páginas: um recarregamento descarta páginas pendentes.
+        resultadoPronto = false;
+        temAntes = false;
+        criterio = filtro.criterio();
+
+        FiltroJogo f = filtro;
+        pendente = tarefas.executar("tabela", () -> dao.buscarPagina(f, null, tamanhoPagina, true), p -> {
+            long inicio = System.nanoTime();
+            carregando = false;
+            temMais = p.isTemMais();
+            total = p.getTotal();
+
+            linhas.limpar();
+            linhas.adicionarTodos(p.getItens());
+
+            // Um único evento para "troquei tudo" (em vez de apagar + inserir).
+            fireTableDataChanged();
+
+            TEMPO_PREENCHER.registrar(inicio);
+            TEMPO_RECARREGAR.registrar(pedido);
+
+        }, this::falhou);
+    }
+
+    // A tela avisa quais linhas estão aparecendo (sempre que a rolagem ou o
+    // tamanho muda). Perto do fim: próxima página; perto do começo descartado: anterior.
+    public void linhasVisiveis(int primeira, int ultima) {
+        if (resultadoPronto || carregando) return;
+        if (temMais && ultima >= linhas.tamanho() - MARGEM) carregarMais();
+        else if (temAntes && primeira < MARGEM) carregarAnterior();
+    }
+
+    // Busca a página seguinte à última linha carregada.
+    private void carregarMais() {
+        if (carregando || !temMais || linhas.tamanho() == 0) return;
+        carregando = true;
+
+        Jogo ultimo = linhas.getJogo(linhas.tamanho() - 1);
+        FiltroJogo f = filtro;
+        pendente = tarefas.executar("tabela", () -> dao.buscarPagina(f, ultimo, tamanhoPagina, false), this::aplicarPagina, this::falhou);
+    }
+
+    // Busca a página anterior à primeira linha carregada (o começo foi descartado).
+    private void carregarAnterior() {
+        if (carregando || !temAntes || linhas.tamanho() == 0) return;
+        carregando = true;
+
+        Jogo primeiro = linhas.getJogo(0);
+        FiltroJogo f = filtro;
+        pendente = tarefas.executar("tabela", () -> dao.buscarPaginaAnterior(f, primeiro, tamanhoPagina), this::aplicarPaginaAnterior, this::falhou);
+    }
+
+    // Troca o filtro e recarrega do começo.
+    // Guarda uma cópia: o filtro de quem chamou não muda (nem a tabela, se ele mudar depois).
+    public void setFiltro(FiltroJogo novo) {
+        FiltroJogo copia = new FiltroJogo(novo);
+        copia.setOrdenacao(FiltroJogo.Ordenacao.TITULO);
+        filtro = copia;
+        recarregar();
+    }
+
+    // Cópia do filtro atual.
+    public FiltroJogo getFiltro() {
+        return new FiltroJogo(filtro);
+    }
+
+    // Mostra um resultado já pronto (sem ir ao banco).
+    // itens    => linhas, na ordem em que devem aparecer
+    // total    => quantos jogos passaram na busca (pode ser mais que itens)
+    // criterio => diz se um jogo salvo depois faz parte deste resultado
+    public void mostrarResultado(List<Jogo> itens, long total, Predicate<Jogo> criterio) {
+        if (pendente != null) pendente.cancelar();
+
+        carregando = false;
+        temMais = false;
+        temAntes = false;
+        resultadoPronto = true;
+        this.criterio = criterio;
+        this.total = total;
+
+        linhas.limpar();
+        linhas.adicionarTodos(itens);
+        fireTableDataChanged();
+    }
+
+    private void aplicarPagina(Pagina<Jogo> p) {
+        carregando = false;
+        temMais = p.isTemMais();
+
+        if (p.getItens().isEmpty()) return;
+
+        int inicio = linhas.tamanho();
+        linhas.adicionarTodos(p.getItens());
+
+        // Um único evento para a página inteira.
+        fireTableRowsInserted(inicio, linhas.tamanho() - 1);
+
+        // Passou do limite: as primeiras linhas (longe da parte visível) saem.
+        int sobra = linhas.tamanho() - maximoLinhas;
+        if (sobra > 0) {
+            linhas.removerInicio(sobra);
+            temAntes = true;
+            fireTableRowsDeleted(0, sobra - 1);
+            deslocar(-sobra);
+        }
+    }
+
+    private void aplicarPaginaAnterior(Pagina<Jogo> p) {
+        carregando = false;
+        temAntes = p.isTemMais();
+
+        int n = p.getItens().size();
+        if (n == 0) return;
+
+        linhas.inserirNoInicio(p.getItens());
+        fireTableRowsInserted(0, n - 1);
+        deslocar(n);
+
+        // Agora sobram linhas no fim: elas voltam quando o usuário rolar até lá.
+        int sobra = linhas.tamanho() - maximoLinhas;
+        if (sobra > 0) {
+            int fim = linhas.tamanho();
+            linhas.removerFim(sobra);
+            temMais = true;
+            fireTableRowsDeleted(fim - sobra, fim - 1);
+        }
+    }
+
+    private void deslocar(int n) {
+        if (aoDeslocar != null) aoDeslocar.accept(n);
+    }
+
+    private void falhou(Exception e) {
+        carregando = false;
+        if (erro != null) erro.accept(e);
+    }
+
+    // ==============================
+    // ATUALIZAÇÃO INCREMENTAL (depois de salvar/excluir)
+    // ==============================
+    // Em vez de recarregar a tabela inteira, aplica só a linha alterada
+    // com um único evento fireTableRows*.
+
+    // Jogo novo (já com o ID gerado pelo banco).
+    public void aplicarInsercao(Jogo novo) {
+        // Não passa no filtro da busca: não aparece nesta tabela.
+        if (!criterio.test(novo)) return;
+
+        if (total >= 0) total++;
+
+        // Resultado pronto (ordem de relevância): entra no fim.
+        if (resultadoPronto) {
+            linhas.adicionar(novo);
+            fireTableRowsInserted(linhas.tamanho() - 1, linhas.tamanho() - 1);
+            return;
+        }
+
+        int i = linhas.posicao(novo.getTitulo(), novo.getId());
+
+        // Depois da última linha carregada e ainda há páginas: ele virá com a página dele.
+        // (O mesmo antes da primeira, se o começo foi descartado.)
+        if (i == linhas.tamanho() && temMais) return;
+        if (i == 0 && temAntes) return;
+
+        linhas.inserir(i, novo);
+        fireTableRowsInserted(i, i);
+    }
+
+    // antigo => como o jogo estava na tabela (para achar a linha); novo => como ficou.
+    public void aplicarAtualizacao(Jogo antigo, Jogo novo) {
+        int de = linhas.localizar(antigo.getTitulo(), antigo.getId());
+
+        // Deixou de passar no filtro da busca: sai da tabela.
+        if (!criterio.test(novo)) {
+            aplicarExclusao(antigo);
+            return;
+        }
+
+        // A linha nem estava carregada: trata como inserção em página já carregada.
+        if (de < 0) {
+            if (total > 0 && criterio.test(antigo)) total--;
+            aplicarInsercao(novo);
+            return;
+        }
+
+        // Resultado pronto: a linha fica onde está.
+        if (resultadoPronto) {
+            linhas.substituir(de, novo);
+            fireTableRowsUpdated(de, de);
+            return;
+        }
+
+        // Posição nova (considerando que a linha antiga sai do lugar).
+        int p = linhas.posicao(novo.getTitulo(), novo.getId());
+        int para = p > de ? p - 1 : p;
+
+        // Foi para depois (ou antes) da parte carregada: some daqui e volta com a página dela.
+        if ((p == linhas.tamanho() && temMais) || (p == 0 && temAntes)) {
+            linhas.remover(de);
+            fireTableRowsDeleted(de, de);
+            return;
+        }
+
+        linhas.mover(de, para, novo);
+
+        // Um único evento cobrindo as linhas que mudaram de lugar.
+        fireTableRowsUpdated(Math.min(de, para), Math.max(de, para));
+    }
+
+    // antigo => como o jogo estava na tabela (para achar a linha).
+    public void aplicarExclusao(Jogo antigo) {
+        if (total > 0 && criterio.test(antigo)) total--;
+
+        int i = linhas.localizar(antigo.getTitulo(), antigo.getId());
+        if (i < 0) return;
+
+        linhas.remover(i);
+        fireTableRowsDeleted(i, i);
+    }
+
+    // ==============================
+    // ALTERAÇÕES DE OUTROS COMPUTADORES (MonitorAlteracoes)
+    // ==============================
+    // Só se sabe o ID e como o jogo está agora (null = excluído): a linha é
+    // achada pelo ID. Se a linha já está nessa versão, nada muda.
+    // inserido => o jogo é novo no banco (conta no total).
+    public void aplicarAlteracaoExterna(int id, Jogo atual, boolean inserido) {
+        int i = linhas.indiceDe(id);
+
+        if (atual == null) {
+            // Excluído. Se a linha não estava carregada, não dá para saber se
+            // contava no total (ele volta a ficar exato no próximo recarregamento).
+            if (i >= 0) aplicarExclusao(linhas.getJogo(i));
+            return;
+        }
+
+        if (i >= 0) {
+            if (linhas.getVersao(i) != atual.getVersao()) aplicarAtualizacao(linhas.getJogo(i), atual);
+            return;
+        }
+
+        if (inserido) {
+            aplicarInsercao(atual);
+        } else {
+            // Alterado, mas a linha não estava carregada: se agora cair na parte
+            // carregada, aparece; o total não muda (ele já contava com o jogo).
+            long antes = total;
+            aplicarInsercao(atual);
+            total = antes;
+        }
+    }
+
+    // Jogo completo da linha (monta o objeto só para esta linha).
+    public Jogo getJogo(int linha) {
+        return linhas.getJogo(linha);
+    }
+
+    // Total de produtos no banco (-1 enquanto não souber).
+    public long getTotal() {
+        return total;
+    }
+
+    // ID da linha (sem boxing), usado pela seleção da tabela.
+    public int getId(int linha) {
+        return linhas.getId(linha);
+    }
+
+    // Caminho da imagem da linha (usado pelo preview).
+    public String getImagemPath(int linha) {
+        return linhas.getImagemPath(linha);
+    }
+
+    // ==============================
+    // TABLE MODEL
+    // ==============================
+
+    @Override
+    public int getRowCount() {
+        return linhas.tamanho();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return TIPOS[coluna];
+    }
+
+    @Override
+    public boolean isCellEditable(int linha, int coluna) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        switch (coluna) {
+            case 0: return linhas.getId(linha);
+            case 1: return linhas.getTitulo(linha);
+            case 2: return linhas.getPlataforma(linha);
+            case 3: return linhas.getPrecoCentavos(linha);
+            case 4: return linhas.getImagemPath(linha);
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package view;
+
+import util.ImageStorage;
+import util.Metricas;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Serviço de miniaturas (capas) para o preview da tela.
+//
+// - Lê e redimensiona a imagem numa thread de fundo (a EDT não trava).
+// - Guarda as miniaturas prontas num cache LRU limitado por bytes.
+//   A chave é caminho + data de modificação: se o arquivo mudar, gera de novo.
+//   A data é lida só nas threads de fundo (é um acesso ao disco).
+// - Permite pré-carregar capas (ex.: linhas vizinhas da tabela), para que
+//   navegar com as setas mostre a imagem na hora. O pré-carregamento tem
+//   fila e thread próprias, de prioridade mais baixa: nunca atrasa a capa
+//   que o usuário pediu para ver, e pedidos velhos são descartados.
+public class Miniaturas {
+
+    // Tempo para ler e redimensionar uma imagem (só quando não estava no cache).
+    private static final Metricas.Cronometro TEMPO_DECODIFICAR = Metricas.cronometro("imagem.decodificar");
+
+    // Quantos pré-carregamentos ficam esperando (os mais antigos são descartados).
+    private static final int FILA_PRE_CARGA = 8;
+
+    private final int largura;
+    private final int altura;
+    private final long limiteBytes;
+
+    // Cache LRU (ordem de acesso): o mais antigo sai primeiro.
+    // Acesso sempre dentro de synchronized (this).
+    private final LinkedHashMap<String, ImageIcon> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytesUsados = 0;
+
+    // Última chave gerada de cada caminho: a EDT acha a miniatura sem ir ao disco.
+    private final Map<String, String> ultimaChave = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    // Pré-carregamento: uma thread só, tirando da fila o pedido mais recente.
+    private final LinkedBlockingDeque<String> filaPreCarga = new LinkedBlockingDeque<>();
+    private final ExecutorService preCarga;
+
+    // Número do último pedido de exibição: pedidos antigos são descartados.
+    private final AtomicLong ultimoPedido = new AtomicLong();
+
+    public Miniaturas(int largura, int altura, long limiteBytes, int threads) {
+        this.largura = largura;
+        this.altura = altura;
+        this.limiteBytes = limiteBytes;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "miniaturas");
+            t.setDaemon(true);
+            // Abaixo da EDT: decodificar imagem nunca deve competir com a tela.
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+        this.preCarga = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "miniaturas-pre-carga");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        this.preCarga.execute(this::preCarregarFila);
+    }
+
+    // ==============================
+    // CONSULTA IMEDIATA (EDT)
+    // ==============================
+
+    // Devolve a miniatura se já estiver pronta no cache (senão, null).
+    // Não toca no disco: usa a chave de quando a miniatura foi gerada.
+    // Só vale para imagens da loja: o nome delas é o hash do conteúdo, o arquivo
+    // nunca muda. Outro arquivo (escolhido no computador) pode ter mudado:
+    // vai por carregar(), que confere a data em segundo plano.
+    public ImageIcon emCache(String caminho) {
+        if (!ImageStorage.daLoja(caminho)) return null;
+        String chave = ultimaChave.get(caminho);
+        if (chave == null) return null;
+        synchronized (this) {
+            return cache.get(chave);
+        }
+    }
+
+    // ==============================
+    // CARREGAMENTO EM SEGUNDO PLANO
+    // ==============================
+
+    // Carrega a miniatura para exibir.
+    // O callback roda na EDT com o ícone (ou null se não deu para ler a imagem).
+    // Se outro carregar(...) for chamado antes deste terminar, este é descartado.
+    public void carregar(String caminho, Consumer<ImageIcon> callback) {
+        long pedido = ultimoPedido.incrementAndGet();
+
+        executor.execute(() -> {
+            // O usuário já pediu outra imagem: nem decodifica esta.
+            if (pedido != ultimoPedido.get()) return;
+
+            ImageIcon icone = obter(caminho);
+
+            SwingUtilities.invokeLater(() -> {
+                if (pedido == ultimoPedido.get()) callback.accept(icone);
+            });
+        });
+    }
+
+    // Descarta o pedido de exibição pendente (ex.: o formulário foi limpo).
+    public void cancelarExibicao() {
+        ultimoPedido.incrementAndGet();
+    }
+
+    // Deixa a miniatura pronta no cache, sem exibir (na fila de pré-carregamento).
+    // O pedido mais novo é atendido primeiro; passando de FILA_PRE_CARGA, os velhos saem.
+    public void preCarregar(String caminho) {
+        if (caminho == null || caminho.isBlank()) return;
+        filaPreCarga.offerFirst(caminho);
+        while (filaPreCarga.size() > FILA_PRE_CARGA) filaPreCarga.pollLast();
+    }
+
+    // Esquece os pré-carregamentos que ainda não começaram.
+    public void cancelarPreCarga() {
+        filaPreCarga.clear();
+    }
+
+    // Laço da thread de pré-carregamento (até encerrar()).
+    private void preCarregarFila() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                obter(filaPreCarga.takeFirst());
+            }
+        } catch (InterruptedException e) {
+            // encerrar(): fim da thread
+        }
+    }
+
+    // Busca no cache ou gera a miniatura (roda na thread de fundo).
+    private ImageIcon obter(String caminho) {
+        String chave = chave(caminho);
+        if (chave == null) return null;
+
+        synchronized (this) {
+            ImageIcon pronto = cache.get(chave);
+            if (pronto != null) {
+                ultimaChave.put(caminho, chave);
+                return pronto;
+            }
+        }
+
+        BufferedImage miniatura = gerar(new File(caminho));
+        if (miniatura == null) return null;
+
+        ImageIcon icone = new ImageIcon(miniatura);
+        guardar(chave, icone, (long) miniatura.getWidth() * miniatura.getHeight() * 4);
+        ultimaChave.put(caminho, chave);
+        return icone;
+    }
+
+    private synchronized void guardar(String chave, ImageIcon icone, long bytes) {
+        if (cache.put(chave, icone) == null) bytesUsados += bytes;
+
+        // Remove as menos usadas até caber no limite.
+        Iterator<Map.Entry<String, ImageIcon>> it = cache.entrySet().iterator();
+        while (bytesUsados > limiteBytes && it.hasNext()) {
+            Map.Entry<String, ImageIcon> e = it.next();
+            if (e.getKey().equals(chave)) continue;
+            bytesUsados -= tamanho(e.getValue());
+            it.remove();
+
+            // "caminho|data" => esquece também a última chave daquele caminho.
+            String removida = e.getKey();
+            ultimaChave.remove(removida.substring(0, removida.lastIndexOf('|')), removida);
+        }
+    }
+
+    private static long tamanho(ImageIcon icone) {
+        return (long) icone.getIconWidth() * icone.getIconHeight() * 4;
+    }
+
+    // Chave do cache: caminho + data de modificação do arquivo.
+    private static String chave(String caminho) {
+        if (caminho == null || caminho.isBlank()) return null;
+        long modificado = new File(caminho).lastModified();
+        if (modificado == 0) return null; // arquivo não existe
+        return caminho + '|' + modificado;
+    }
+
+    // ==============================
+    // DECODIFICAR + REDIMENSIONAR
+    // ==============================
+    private BufferedImage gerar(File arquivo) {
+        long inicio = TEMPO_DECODIFICAR.iniciar();
+        try {
+            // Imagens da loja têm capa pronta em disco (poucos KB): lê ela em vez do original.
+            String caminho = arquivo.getPath();
+            if (ImageStorage.daLoja(caminho)) caminho = ImageStorage.caminhoCapa(caminho);
+
+            Image original = ImageIO.read(new File(caminho));
+
+            // Formatos que o ImageIO não lê: tenta pelo Toolkit (como o ImageIcon faz).
+            if (original == null) {
+                ImageIcon icon = new ImageIcon(arquivo.getPath());
+                if (icon.getIconWidth() <= 0) return null;
+                original = icon.getImage();
+            }
+
+            return ImageStorage.redimensionar(original, largura, altura);
+
+        } catch (Exception e) {
+            return null;
+        } finally {
+            TEMPO_DECODIFICAR.registrar(inicio);
+        }
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+        preCarga.shutdownNow();
+    }
+}
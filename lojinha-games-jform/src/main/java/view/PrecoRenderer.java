@@ -0,0 +1,41 @@
+package view;
+
+import util.Preco;
+
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+
+// Desenha a coluna de preço: centavos (long) => "R$ 1.234,56", alinhado à direita.
+//
+// A JTable chama o renderer para cada célula visível a cada repintura (rolar,
+// passar o mouse...). O texto é montado num StringBuilder reaproveitado, e o
+// último valor formatado fica guardado: a mesma célula não é formatada de novo.
+public class PrecoRenderer extends DefaultTableCellRenderer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final StringBuilder sb = new StringBuilder(24);
+    private long ultimoValor = Long.MIN_VALUE;
+    private String ultimoTexto = "";
+
+    public PrecoRenderer() {
+        setHorizontalAlignment(SwingConstants.RIGHT);
+    }
+
+    @Override
+    protected void setValue(Object valor) {
+        if (!(valor instanceof Long)) {
+            super.setValue(valor);
+            return;
+        }
+
+        long centavos = (Long) valor;
+        if (centavos != ultimoValor) {
+            sb.setLength(0);
+            Preco.formatar(centavos, sb.append("R$ "));
+            ultimoValor = centavos;
+            ultimoTexto = sb.toString();
+        }
+        setText(ultimoTexto);
+    }
+}
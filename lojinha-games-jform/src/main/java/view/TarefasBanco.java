@@ -0,0 +1,131 @@
+package view;
+
+import javax.swing.SwingUtilities;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Executa o acesso ao banco fora da Event Dispatch Thread (EDT).
+// Assim uma consulta lenta não congela a janela.
+//
+// Regras:
+// - executar(...) deve ser chamado na EDT;
+// - o trabalho roda numa thread de fundo;
+// - os callbacks (sucesso/erro) voltam para a EDT;
+// - tarefas com a mesma "chave" se substituem: só o resultado da última é aplicado.
+public class TarefasBanco {
+
+    private static final AtomicInteger CONTADOR_THREADS = new AtomicInteger();
+
+    private final ExecutorService executor;
+
+    // Chamado na EDT quando o sistema fica ocupado (true) ou livre (false).
+    private final Consumer<Boolean> indicadorOcupado;
+
+    // Quantas tarefas ainda não terminaram (só acessado na EDT).
+    private int pendentes = 0;
+
+    // Última tarefa de cada chave (só acessado na EDT).
+    private final Map<String, Tarefa> ultimas = new HashMap<>();
+
+    public TarefasBanco(int threads, Consumer<Boolean> indicadorOcupado) {
+        this.indicadorOcupado = indicadorOcupado;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "banco-" + CONTADOR_THREADS.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Executa uma tarefa em segundo plano.
+    // chave == null => a tarefa nunca é descartada (ex.: salvar, excluir).
+    // chave != null => uma nova tarefa com a mesma chave cancela a anterior
+    //                  (ex.: o usuário trocou de linha antes da consulta terminar).
+    public <T> Tarefa executar(String chave, Callable<T> trabalho, Consumer<T> sucesso, Consumer<Exception> erro) {
+        return executar(chave, trabalho, sucesso, erro, true);
+    }
+
+    // Igual a executar(...), mas sem o cursor de "ocupado".
+    // Para tarefas que o usuário não pediu (ex.: consulta periódica de alterações):
+    // o cursor não pisca a cada poucos segundos.
+    public <T> Tarefa executarEmSilencio(String chave, Callable<T> trabalho, Consumer<T> sucesso, Consumer<Exception> erro) {
+        return executar(chave, trabalho, sucesso, erro, false);
+    }
+
+    private <T> Tarefa executar(String chave, Callable<T> trabalho, Consumer<T> sucesso, Consumer<Exception> erro,
+                                boolean indicar) {
+
+        Tarefa tarefa = new Tarefa();
+
+        if (chave != null) {
+            Tarefa anterior = ultimas.put(chave, tarefa);
+            if (anterior != null) anterior.cancelar();
+        }
+
+        if (indicar && pendentes++ == 0 && indicadorOcupado != null) indicadorOcupado.accept(true);
+
+        executor.execute(() -> {
+            T resultado = null;
+            Exception falha = null;
+
+            // Se foi cancelada antes de começar, nem vai ao banco.
+            if (!tarefa.cancelada) {
+                try {
+                    resultado = trabalho.call();
+                } catch (Exception e) {
+                    falha = e;
+                }
+            }
+
+            T res = resultado;
+            Exception f = falha;
+
+            // Volta para a EDT para mexer na tela.
+            SwingUtilities.invokeLater(() -> {
+                if (indicar && --pendentes == 0 && indicadorOcupado != null) indicadorOcupado.accept(false);
+
+                if (chave != null && ultimas.get(chave) == tarefa) ultimas.remove(chave);
+
+                // Resultado "velho": descartado sem tocar na tela.
+                if (tarefa.cancelada) return;
+
+                if (f == null) {
+                    if (sucesso != null) sucesso.accept(res);
+                } else if (erro != null) {
+                    erro.accept(f);
+                }
+            });
+        });
+
+        return tarefa;
+    }
+
+    // Descarta o resultado da última tarefa da chave (se ainda não terminou).
+    // Ex.: o usuário clicou em "Novo" enquanto o jogo selecionado ainda carregava.
+    public void cancelar(String chave) {
+        Tarefa anterior = ultimas.remove(chave);
+        if (anterior != null) anterior.cancelar();
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // "Recibo" de uma tarefa: permite cancelar o resultado dela.
+    public static class Tarefa {
+
+        private volatile boolean cancelada = false;
+
+        public void cancelar() {
+            cancelada = true;
+        }
+
+        public boolean isCancelada() {
+            return cancelada;
+        }
+    }
+}
@@ -1,32 +1,124 @@
 package view;
 
 // Importa o DAO (quem conversa com o MySQL)
+import dao.ConflitoVersaoException;
+import dao.FiltroJogo;
 import dao.JogoDAO;
+import dao.JogoDAOCache;
+import dao.MonitorAlteracoes;
+import dao.RegraReajuste;
+import dao.Sincronizador;
 
 // Importa o Model (objeto de dados)
 import model.Jogo;
 
+// Tamanhos de cache, páginas, threads e intervalos (lojinha.properties)
+import util.Configuracao;
+
+// Diz se o DAO usa a réplica local (modo -Dlojinha.db=replica)
+import util.ConnectionFactory;
+
 // Utilitário que copia a imagem para a pasta ./imagens e devolve o caminho
 import util.ImageStorage;
 
+// Lê catálogos de fornecedores (CSV/JSON) para importação em lote
+import util.ImportadorCatalogo;
+
+// Busca instantânea por título em memória (sem ir ao banco a cada tecla)
+import util.IndiceBusca;
+
+// Tempo das operações da tela (JConsole / CSV)
+import util.Metricas;
+
+// Preço em centavos: texto da tela <=> long
+import util.Preco;
+
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import java.awt.Image;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 // Essa é a tela principal (View) da aplicação.
 // Ela herda de JFrame: uma janela do Swing.
 public class TelaProdutosForm extends javax.swing.JFrame {
 
+    // Os números abaixo (tamanhos de cache, threads, intervalos...) vêm da
+    // configuração; os padrões estão em util.Configuracao.
+    private static final Configuracao CONFIG = Configuracao.atual();
+
     // Cria o DAO uma única vez para usar em toda a tela.
     // Ele executa inserir/atualizar/excluir/listar no banco.
-    private final JogoDAO dao = new JogoDAO();
-
-    // Guarda o ID selecionado na tabela:
+    // Versão com cache: selecionar uma linha já carregada não vai ao MySQL
+    // (padrão: até 10 mil jogos em memória, cada um válido por 5 minutos).
+    private final JogoDAOCache dao = new JogoDAOCache(CONFIG.getCacheJogos(), CONFIG.getCacheJogosValidadeMs());
+
+    // Executa as chamadas ao DAO fora da EDT (a janela não trava com banco lento).
+    // Enquanto houver tarefa rodando, o cursor fica de "ocupado".
+    private final TarefasBanco tarefas = new TarefasBanco(CONFIG.getThreadsBanco(), this::indicarOcupado);
+
+    // Miniaturas do preview: geradas fora da EDT e guardadas em cache (padrão: até 64 MB).
+    private final Miniaturas miniaturas = new Miniaturas(ImageStorage.TAMANHO_CAPA, ImageStorage.TAMANHO_CAPA,
+            CONFIG.getCacheMiniaturasBytes(), CONFIG.getThreadsMiniaturas());
+
+    // Alterações feitas em outros computadores: a cada 2 segundos (padrão) a tela pede
+    // só o que mudou (jogo_changes) e atualiza as linhas, sem recarregar a tabela.
+    private static final int INTERVALO_ALTERACOES_MS = CONFIG.getIntervaloAlteracoesMs();
+    private final MonitorAlteracoes monitor = new MonitorAlteracoes(500);
+    private javax.swing.Timer timerAlteracoes;
+    private boolean consultandoAlteracoes = false;
+    // Última limpeza do jogo_changes (ms; 0 = ainda não limpou).
+    private long ultimaLimpezaAlteracoes = 0;
+
+    // Modo réplica (-Dlojinha.db=replica): a tela usa o banco deste computador e
+    // o Sincronizador troca as alterações com o servidor a cada 5 segundos (padrão).
+    private static final int INTERVALO_SINCRONIZACAO_MS = CONFIG.getIntervaloSincronizacaoMs();
+    private static final int CONFLITOS_LISTADOS = 10;
+    // Linhas puladas na importação mostradas na mensagem final (as demais só contam).
+    private static final int ERROS_LISTADOS = 10;
+    private Sincronizador sincronizador;
+    private String tituloJanela;
+
+    // Tempo de clicar numa linha até a capa aparecer (cache ou leitura em segundo plano).
+    private static final Metricas.Cronometro TEMPO_MOSTRAR_IMAGEM = Metricas.cronometro("tela.mostrarImagem");
+
+    // Quantos produtos são buscados do banco por vez.
+    private static final int TAMANHO_PAGINA = CONFIG.getTamanhoPagina();
+    // Quantas páginas a tabela mantém carregadas (as mais distantes saem).
+    private static final int PAGINAS_EM_MEMORIA = CONFIG.getPaginasEmMemoria();
+
+    // Model da tabela: guarda só as páginas já carregadas.
+    private JogoTableModel modelo;
+    private long totalExibido = -1;
+
+    // Espera o usuário parar de digitar antes de buscar no banco
+    // (uma consulta por pausa, não uma por tecla).
+    private static final int ESPERA_DIGITACAO_MS = 250;
+    private javax.swing.Timer atrasoBusca;
+
+    // Índice de busca em memória: montado em segundo plano ao abrir a tela.
+    // Enquanto não fica pronto (null), a busca vai ao banco.
+    private IndiceBusca indice = null;
+    private boolean construindoIndice = false;
+    private boolean indiceDesatualizado = false;
+
+    // Máximo de linhas mostradas numa busca em memória (as mais relevantes).
+    private static final int LIMITE_RESULTADOS = 1000;
+
+    // Última regra de reajuste digitada (sugerida de novo na próxima vez).
+    private String ultimaRegra = "plataforma=PS5; ajuste=-20%; arredondar=,90";
+
+    // Quantos exemplos de preço novo a prévia do reajuste mostra.
+    private static final int EXEMPLOS_PREVIA = 10;
+
+    // true enquanto o combo de plataformas é preenchido (não dispara busca).
+    private boolean carregandoPlataformas = false;
+
+    // Guarda o jogo selecionado na tabela (como foi carregado do banco):
     // null => modo "novo cadastro"
-    // número => modo "edição" de um item existente
-    private Integer idSelecionado = null;
+    // jogo => modo "edição" de um item existente
+    private Jogo selecionado = null;
 
     // Guarda o arquivo de imagem que o usuário escolheu no computador.
     // (ainda não foi salvo na pasta ./imagens)
@@ -36,13 +128,42 @@ public class TelaProdutosForm extends javax.swing.JFrame {
     public TelaProdutosForm() {
         initComponents();     // Monta os componentes do formulário (gerado pelo NetBeans)
         configurarTabela();   // Configura clique/seleção da tabela
-        recarregarTabela();   // Carrega dados do banco para a JTable
+        configurarBusca();    // Campo de busca + filtro de plataforma
+        configurarMonitor();  // Começa a acompanhar alterações de outros computadores
+        configurarSincronizacao(); // Réplica local: troca alterações com o servidor
+        configurarFechamento(); // Para timers e threads ao fechar a janela
+        construirIndice();    // Índice da busca instantânea (em segundo plano)
+        recarregarTabela();   // Carrega dados do banco para a JTable (em segundo plano)
         novo();               // Deixa tudo limpo para cadastrar um produto novo
     }
 
     // ===================== LÓGICA (CRUD + IMAGEM) =====================
 
     private void configurarTabela() {
+        // Troca o model do NetBeans (que guarda tudo) por um model paginado.
+        modelo = new JogoTableModel(dao, tarefas, TAMANHO_PAGINA, PAGINAS_EM_MEMORIA, this::mostrarErro);
+        tabela.setModel(modelo);
+
+        // Páginas por rolagem: a cada mudança do viewport (rolar, redimensionar)
+        // o model fica sabendo quais linhas aparecem. Depois de cada mudança nas
+        // linhas também (uma página pequena pode não encher a tela).
+        jScrollPane1.getViewport().addChangeListener(e -> avisarLinhasVisiveis());
+        modelo.addTableModelListener(e -> SwingUtilities.invokeLater(this::avisarLinhasVisiveis));
+
+        // Linhas entraram/saíram antes das visíveis: rola junto, para o
+        // usuário continuar vendo os mesmos jogos.
+        modelo.setAoDeslocar(n -> {
+            java.awt.Point p = jScrollPane1.getViewport().getViewPosition();
+            p.y = Math.max(0, p.y + n * tabela.getRowHeight());
+            jScrollPane1.getViewport().setViewPosition(p);
+        });
+
+        // Preço em centavos => "R$ 1.234,56".
+        tabela.setDefaultRenderer(Long.class, new PrecoRenderer());
+
+        // Mostra o total de produtos no título do painel.
+        modelo.addTableModelListener(e -> atualizarTotal());
+
         // Garante que só um item por vez pode ser selecionado.
         tabela.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
@@ -58,45 +179,76 @@ public class TelaProdutosForm extends javax.swing.JFrame {
                 // Se realmente existe uma linha selecionada...
                 if (row >= 0) {
 
-                    // Pega o ID (coluna 0) da linha
-                    int id = (int) tabela.getModel().getValueAt(row, 0);
+                    // Pega o ID da linha direto do model
+                    int id = modelo.getId(row);
+
+                    // Mesmo jogo, só mudou de linha (página entrou/saiu acima):
+                    // não recarrega os campos (perderia o que está sendo editado).
+                    if (selecionado != null && selecionado.getId() == id) return;
+
+                    // Mostra a capa na hora (o caminho já está na tabela)
+                    // e já prepara as capas das linhas vizinhas.
+                    String capa = modelo.getImagemPath(row);
+                    mostrarImagem(capa, false);
+                    miniaturas.cancelarPreCarga();
+                    if (row > 0) miniaturas.preCarregar(modelo.getImagemPath(row - 1));
+                    if (row + 1 < modelo.getRowCount()) miniaturas.preCarregar(modelo.getImagemPath(row + 1));
 
                     // Carrega esse jogo nos campos para editar
-                    carregarParaEdicao(id);
+                    carregarParaEdicao(id, capa);
                 }
             }
         });
     }
 
-    private void carregarParaEdicao(int id) {
-        // Busca o jogo no banco pelo ID
-        Jogo j = dao.buscarPorId(id);
+    private void avisarLinhasVisiveis() {
+        java.awt.Rectangle r = tabela.getVisibleRect();
+        if (modelo.getRowCount() == 0) return;
 
-        // Se não encontrou, não faz nada
-        if (j == null) return;
+        int primeira = tabela.rowAtPoint(new java.awt.Point(0, r.y));
+        int ultima = tabela.rowAtPoint(new java.awt.Point(0, r.y + r.height - 1));
+        if (primeira < 0) primeira = 0;
+        if (ultima < 0) ultima = modelo.getRowCount() - 1;
+        modelo.linhasVisiveis(primeira, ultima);
+    }
 
-        // Marca que agora estamos editando (não é mais "novo")
-        idSelecionado = j.getId();
+    // capaNaTela => caminho da capa que a seleção já mostrou (vindo da tabela).
+    private void carregarParaEdicao(int id, String capaNaTela) {
+        // Busca o jogo no banco pelo ID (em segundo plano).
+        // Chave "selecao": se o usuário trocar de linha rápido, só a última busca é aplicada.
+        tarefas.executar("selecao", () -> dao.buscarPorId(id), j -> {
 
-        // Preenche os campos do formulário
-        txtTitulo.setText(j.getTitulo());
-        txtPlataforma.setText(j.getPlataforma());
-        txtPreco.setText(String.valueOf(j.getPreco()));
+            // Se não encontrou, não faz nada
+            if (j == null) return;
 
-        // Mostra o caminho da imagem (ou mensagem se não tiver)
-        txtImagem.setText(j.getImagemPath() == null ? "Nenhuma imagem" : j.getImagemPath());
+            // Marca que agora estamos editando (não é mais "novo")
+            selecionado = j;
 
-        // Muito importante:
-        // Ao carregar para edição, não obrigamos escolher imagem de novo.
-        imagemEscolhida = null;
+            // Preenche os campos do formulário
+            txtTitulo.setText(j.getTitulo());
+            txtPlataforma.setText(j.getPlataforma());
+            txtPreco.setText(Preco.formatar(j.getPrecoCentavos()));
+
+            // Mostra o caminho da imagem (ou mensagem se não tiver)
+            txtImagem.setText(j.getImagemPath() == null ? "Nenhuma imagem" : j.getImagemPath());
+
+            // Muito importante:
+            // Ao carregar para edição, não obrigamos escolher imagem de novo.
+            imagemEscolhida = null;
+
+            // Mostra a imagem do produto no preview
+            // (só se mudou no banco: a da tabela já está na tela)
+            if (!Objects.equals(j.getImagemPath(), capaNaTela)) mostrarImagem(j.getImagemPath(), false);
 
-        // Mostra a imagem do produto no preview
-        mostrarImagem(j.getImagemPath(), false);
+        }, this::mostrarErro);
     }
 
     private void novo() {
         // Volta ao modo "novo cadastro"
-        idSelecionado = null;
+        selecionado = null;
+
+        // Jogo que ainda estava carregando não pode mais preencher os campos
+        tarefas.cancelar("selecao");
 
         // Esquece a imagem escolhida no PC
         imagemEscolhida = null;
@@ -107,7 +259,8 @@ public class TelaProdutosForm extends javax.swing.JFrame {
         txtPreco.setText("");
         txtImagem.setText("Nenhuma imagem");
 
-        // Limpa preview
+        // Limpa preview (e esquece capa que ainda estava carregando)
+        miniaturas.cancelarExibicao();
         lblCapa.setIcon(null);
         lblCapa.setText("Selecione um item");
 
@@ -145,60 +298,179 @@ public class TelaProdutosForm extends javax.swing.JFrame {
             return;
         }
 
-        // Converte o preço do texto para double
-        double preco;
+        // Converte o preço do texto para centavos
+        long preco;
         try {
-            // Aceita "199,90" e transforma em "199.90"
-            preco = Double.parseDouble(txtPreco.getText().replace(",", "."));
+            // Aceita "199,90", "199.90" e "1.234,56" (199,90 => 19990)
+            preco = Preco.parse(txtPreco.getText());
+            if (preco < 0) throw new IllegalArgumentException();
         } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Preço inválido! Ex: 199.90", "Atenção", JOptionPane.WARNING_MESSAGE);
+            JOptionPane.showMessageDialog(this, "Preço inválido! Ex: 199,90", "Atenção", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        // Caminho final que será gravado no banco
-        String caminhoImagem = null;
+        // Copia os dados da tela antes de ir para a thread de fundo
+        // (componentes Swing só podem ser lidos na EDT).
+        String titulo = txtTitulo.getText().trim();
+        String plataforma = txtPlataforma.getText().trim();
+        Jogo antigo = selecionado;
+        File imagem = imagemEscolhida;
+
+        // Evita clique duplo enquanto o salvamento está em andamento.
+        btnSalvar.setEnabled(false);
+
+        tarefas.executar(null, () -> {
+
+            // Caminho final que será gravado no banco
+            String caminhoImagem = null;
+
+            // Se o usuário escolheu uma imagem nova agora...
+            if (imagem != null) {
+                // Copia para ./imagens e devolve o caminho relativo
+                caminhoImagem = ImageStorage.salvarImagem(imagem);
+
+            // Senão, se estamos editando um item existente...
+            } else if (antigo != null) {
+
+                // Mantém a imagem atual (já veio do banco ao selecionar a linha)
+                caminhoImagem = antigo.getImagemPath();
+            }
+
+            // Monta o objeto Jogo com os dados do form
+            Jogo j = new Jogo(titulo, plataforma, preco, caminhoImagem);
+
+            // Se não tem jogo selecionado => é cadastro (INSERT)
+            if (antigo == null) return dao.inserir(j);
+
+            // Se tem => é edição (UPDATE), só se ninguém salvou este jogo
+            // depois que ele foi carregado (mesma versão).
+            j.setId(antigo.getId());
+            j.setVersao(antigo.getVersao());
+            Jogo salvo;
+            try {
+                salvo = dao.atualizar(j);
+            } catch (ConflitoVersaoException e) {
+                // Não gravou: a imagem nova já copiada não pode ficar sobrando.
+                if (imagem != null) dao.liberarImagemSeOrfa(caminhoImagem);
+                throw e;
+            }
+
+            // Trocou a imagem: a antiga pode ter ficado sem nenhum jogo usando.
+            if (caminhoImagem != null && !caminhoImagem.equals(antigo.getImagemPath())) {
+                dao.liberarImagemSeOrfa(antigo.getImagemPath());
+            }
+
+            return salvo;
+
+        }, salvo -> {
+            btnSalvar.setEnabled(true);
 
-        // Se o usuário escolheu uma imagem nova agora...
-        if (imagemEscolhida != null) {
-            // Copia para ./imagens e devolve o caminho relativo
-            caminhoImagem = ImageStorage.salvarImagem(imagemEscolhida);
+            // Atualiza só a linha alterada (sem recarregar a tabela inteira)
+            if (antigo == null) {
+                modelo.aplicarInsercao(salvo);
+                JOptionPane.showMessageDialog(this, "Produto cadastrado!", "OK", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                modelo.aplicarAtualizacao(antigo, salvo);
+                JOptionPane.showMessageDialog(this, "Produto atualizado!", "OK", JOptionPane.INFORMATION_MESSAGE);
+            }
 
-        // Senão, se estamos editando um item existente...
-        } else if (idSelecionado != null) {
+            atualizarIndice(salvo, 0);
+            adicionarPlataforma(salvo.getPlataforma());
+            atualizarTotal();
+            novo();
 
-            // Mantém a imagem atual do banco (não perde ao editar)
-            Jogo atual = dao.buscarPorId(idSelecionado);
-            if (atual != null) caminhoImagem = atual.getImagemPath();
+        }, e -> {
+            btnSalvar.setEnabled(true);
+            if (e instanceof ConflitoVersaoException) resolverConflito((ConflitoVersaoException) e, antigo);
+            else mostrarErro(e);
+        });
+    }
+
+    // Outra pessoa salvou este jogo depois que ele foi carregado (ver JogoDAO.atualizar).
+    // antigo => como o usuário carregou; tentativa => o que ele quis gravar; atual => o banco agora.
+    private void resolverConflito(ConflitoVersaoException conflito, Jogo antigo) {
+        Jogo atual = conflito.getAtual();
+
+        // Excluído por outro usuário: não há o que mesclar.
+        if (conflito.foiExcluido()) {
+            JOptionPane.showMessageDialog(this, conflito.getMessage() + "\nSuas alterações não foram gravadas.",
+                    "Conflito", JOptionPane.WARNING_MESSAGE);
+            modelo.aplicarExclusao(antigo);
+            atualizarIndice(null, antigo.getId());
+            atualizarTotal();
+            novo();
+            return;
         }
 
-        // Monta o objeto Jogo com os dados do form
-        Jogo j = new Jogo(
-                txtTitulo.getText().trim(),
-                txtPlataforma.getText().trim(),
-                preco,
-                caminhoImagem
-        );
+        Jogo meu = conflito.getTentativa();
+
+        // Tabela e índice passam a mostrar o que está no banco.
+        modelo.aplicarAtualizacao(antigo, atual);
+        atualizarIndice(atual, 0);
+
+        // O que o outro usuário mudou (e se eu mudei o mesmo campo).
+        StringBuilder msg = new StringBuilder(conflito.getMessage()).append("\n\nO outro usuário mudou:\n");
+        descreverMudanca(msg, "Título", antigo.getTitulo(), atual.getTitulo(), meu.getTitulo());
+        descreverMudanca(msg, "Plataforma", antigo.getPlataforma(), atual.getPlataforma(), meu.getPlataforma());
+        descreverMudanca(msg, "Preço", "R$ " + Preco.formatar(antigo.getPrecoCentavos()),
+                "R$ " + Preco.formatar(atual.getPrecoCentavos()), "R$ " + Preco.formatar(meu.getPrecoCentavos()));
+        descreverMudanca(msg, "Imagem", antigo.getImagemPath(), atual.getImagemPath(),
+                imagemEscolhida != null ? "(nova imagem)" : antigo.getImagemPath());
+        msg.append("\nMesclar: junta as duas versões no formulário (nos campos que os dois mudaram, fica a sua) para revisar e salvar.")
+           .append("\nRecarregar: descarta as suas alterações.")
+           .append("\nSobrescrever: grava as suas alterações por cima.");
+
+        String[] opcoes = {"Mesclar", "Recarregar", "Sobrescrever"};
+        int escolha = JOptionPane.showOptionDialog(this, msg.toString(), "Conflito de edição",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, opcoes, opcoes[0]);
+
+        // Fechou a janela: o formulário fica como está (salvar de novo repete o conflito).
+        if (escolha < 0) return;
+
+        // A partir daqui a edição é sobre a versão atual do banco.
+        selecionado = atual;
+
+        if (escolha == 0) {
+            // Mescla campo a campo: quem mudou o campo fica com a mudança.
+            txtTitulo.setText(mesclar(antigo.getTitulo(), meu.getTitulo(), atual.getTitulo()));
+            txtPlataforma.setText(mesclar(antigo.getPlataforma(), meu.getPlataforma(), atual.getPlataforma()));
+            txtPreco.setText(Preco.formatar(mesclar(antigo.getPrecoCentavos(), meu.getPrecoCentavos(), atual.getPrecoCentavos())));
+            if (imagemEscolhida == null) {
+                txtImagem.setText(atual.getImagemPath() == null ? "Nenhuma imagem" : atual.getImagemPath());
+                mostrarImagem(atual.getImagemPath(), false);
+            }
 
-        // Se não tem ID selecionado => é cadastro (INSERT)
-        if (idSelecionado == null) {
-            dao.inserir(j);
-            JOptionPane.showMessageDialog(this, "Produto cadastrado!", "OK", JOptionPane.INFORMATION_MESSAGE);
+        } else if (escolha == 1) {
+            // Volta a mostrar o jogo como está no banco.
+            imagemEscolhida = null;
+            txtTitulo.setText(atual.getTitulo());
+            txtPlataforma.setText(atual.getPlataforma());
+            txtPreco.setText(Preco.formatar(atual.getPrecoCentavos()));
+            txtImagem.setText(atual.getImagemPath() == null ? "Nenhuma imagem" : atual.getImagemPath());
+            mostrarImagem(atual.getImagemPath(), false);
 
-        // Se tem ID => é edição (UPDATE)
         } else {
-            j.setId(idSelecionado);
-            dao.atualizar(j);
-            JOptionPane.showMessageDialog(this, "Produto atualizado!", "OK", JOptionPane.INFORMATION_MESSAGE);
+            // Os campos ainda têm as minhas alterações: salva de novo com a versão atual.
+            salvarOuAtualizar();
         }
+    }
 
-        // Atualiza a tabela e limpa o form
-        recarregarTabela();
-        novo();
+    // "- Preço: R$ 199,90 => R$ 179,90 (você: R$ 189,90)"
+    private static void descreverMudanca(StringBuilder msg, String campo, String base, String deles, String meu) {
+        if (Objects.equals(base, deles)) return;
+        msg.append("- ").append(campo).append(": ").append(base).append(" => ").append(deles);
+        if (!Objects.equals(base, meu) && !Objects.equals(meu, deles)) msg.append(" (você: ").append(meu).append(")");
+        msg.append('\n');
+    }
+
+    // Mescla de três vias: se eu não mudei o campo, vale o do outro usuário.
+    private static <T> T mesclar(T base, T meu, T deles) {
+        return Objects.equals(base, meu) ? deles : meu;
     }
 
     private void excluir() {
         // Se não selecionou nada, não dá pra excluir
-        if (idSelecionado == null) {
+        if (selecionado == null) {
             JOptionPane.showMessageDialog(this, "Selecione um item para excluir.", "Atenção", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -208,47 +480,384 @@ public class TelaProdutosForm extends javax.swing.JFrame {
 
         // Se confirmou...
         if (confirm == JOptionPane.YES_OPTION) {
-            dao.excluir(idSelecionado);
-            JOptionPane.showMessageDialog(this, "Produto excluído!", "OK", JOptionPane.INFORMATION_MESSAGE);
-            recarregarTabela();
-            novo();
+            Jogo antigo = selecionado;
+            btnExcluir.setEnabled(false);
+
+            tarefas.executar(null, () -> dao.excluir(antigo.getId()), ok -> {
+                btnExcluir.setEnabled(true);
+
+                if (ok) {
+                    // Remove só a linha excluída (sem recarregar a tabela inteira)
+                    modelo.aplicarExclusao(antigo);
+                } else {
+                    // Outro computador excluiu antes: tira a linha como faria o
+                    // MonitorAlteracoes (que depois não acha mais nada para tirar).
+                    modelo.aplicarAlteracaoExterna(antigo.getId(), null, false);
+                }
+                atualizarIndice(null, antigo.getId());
+                atualizarTotal();
+
+                if (ok) {
+                    JOptionPane.showMessageDialog(this, "Produto excluído!", "OK", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this, "Este produto já tinha sido excluído por outro usuário.",
+                            "Atenção", JOptionPane.WARNING_MESSAGE);
+                }
+                novo();
+            }, e -> {
+                btnExcluir.setEnabled(true);
+                mostrarErro(e);
+            });
         }
     }
 
     private void recarregarTabela() {
-        // Pega o model da JTable (onde ficam as linhas)
-        DefaultTableModel m = (DefaultTableModel) tabela.getModel();
+        // Recarrega a partir da primeira página (em segundo plano).
+        // As próximas páginas são buscadas conforme o usuário rola a tabela.
+        // O tempo até a página aparecer é medido no model ("tela.recarregarTabela").
+        modelo.recarregar();
+    }
+
+    private void configurarBusca() {
+        // Busca no banco: cada tecla reinicia o timer, só roda depois de uma pausa.
+        atrasoBusca = new javax.swing.Timer(ESPERA_DIGITACAO_MS, e -> aplicarBusca());
+        atrasoBusca.setRepeats(false);
+
+        txtBusca.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { digitou(); }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { digitou(); }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { digitou(); }
+        });
+
+        // Enter busca na hora.
+        txtBusca.addActionListener(e -> aplicarBusca());
+
+        carregarPlataformas();
+    }
+
+    // Com o índice pronto a busca é instantânea: filtra a cada tecla.
+    // Sem ele, espera o usuário parar de digitar (para não sobrecarregar o banco).
+    private void digitou() {
+        if (indice != null) aplicarBusca();
+        else atrasoBusca.restart();
+    }
+
+    // Monta o filtro com o que está na tela e recarrega a tabela.
+    private void aplicarBusca() {
+        atrasoBusca.stop();
+
+        FiltroJogo filtro = new FiltroJogo();
+        String texto = txtBusca.getText().trim();
+        filtro.setTitulo(texto);
+
+        if (cmbPlataforma.getSelectedIndex() > 0) filtro.setPlataforma((String) cmbPlataforma.getSelectedItem());
+
+        // Texto digitado e índice pronto: busca em memória, sem ir ao banco.
+        if (!texto.isEmpty() && indice != null) {
+            FiltroJogo soPlataforma = new FiltroJogo();
+            soPlataforma.setPlataforma(filtro.getPlataforma());
+
+            java.util.function.Predicate<Jogo> daPlataforma = soPlataforma.criterio();
+
+            IndiceBusca.Resultado r = indice.buscar(texto, daPlataforma, LIMITE_RESULTADOS);
+            java.util.function.Predicate<Jogo> criterio = j -> IndiceBusca.combina(texto, j) && daPlataforma.test(j);
+
+            // A cada tecla: só limpa se o jogo em edição saiu do resultado.
+            limparSeSaiu(criterio);
+            modelo.mostrarResultado(r.getItens(), r.getTotal(), criterio);
+            return;
+        }
+
+        // Texto curto (ex.: "fi"): começo do título, pelo índice normal.
+        // Senão: palavras em qualquer posição ("mario" acha "Super Mario"), pelo FULLTEXT.
+        filtro.setModoTitulo(texto.length() < FiltroJogo.TAMANHO_MINIMO_PALAVRA
+                ? FiltroJogo.ModoTitulo.PREFIXO
+                : FiltroJogo.ModoTitulo.PALAVRAS);
+
+        limparSeSaiu(filtro.criterio());
+        modelo.setFiltro(filtro);
+    }
+
+    // A busca roda a cada pausa na digitação: o formulário só é limpo se o jogo
+    // em edição não faz mais parte do resultado (o que foi digitado nos campos
+    // de um jogo que continua na lista, ou de um cadastro novo, não se perde).
+    private void limparSeSaiu(java.util.function.Predicate<Jogo> criterio) {
+        if (selecionado != null && !criterio.test(selecionado)) novo();
+    }
+
+    // Lê o catálogo inteiro e monta o índice da busca instantânea (em segundo plano).
+    private void construirIndice() {
+        construindoIndice = true;
+        indiceDesatualizado = false;
+
+        tarefas.executar("indice", () -> {
+            // Lê o catálogo em streaming: cada jogo vai direto para o índice,
+            // sem montar antes uma lista com todos.
+            IndiceBusca novo = new IndiceBusca();
+            dao.forEach(novo::adicionar);
+            novo.compactar();
+            return novo;
+
+        }, idx -> {
+            construindoIndice = false;
+
+            // Algo foi salvo enquanto o catálogo era lido: monta de novo.
+            if (indiceDesatualizado) {
+                construirIndice();
+                return;
+            }
+
+            indice = idx;
+            if (!txtBusca.getText().isBlank()) aplicarBusca();
+
+        }, e -> {
+            // Sem índice a busca continua funcionando pelo banco.
+            construindoIndice = false;
+        });
+    }
+
+    // Mantém o índice igual ao banco depois de salvar/excluir.
+    // salvo == null => o jogo idExcluido saiu do banco.
+    private void atualizarIndice(Jogo salvo, int idExcluido) {
+        if (construindoIndice) indiceDesatualizado = true;
+        if (indice == null) return;
+
+        if (salvo != null) indice.atualizar(salvo);
+        else indice.remover(idExcluido);
+    }
+
+    private void configurarMonitor() {
+        timerAlteracoes = new javax.swing.Timer(INTERVALO_ALTERACOES_MS, e -> buscarAlteracoes());
+        timerAlteracoes.start();
+
+        // Primeira consulta já agora (antes de carregar a tabela): marca o ponto
+        // de partida, e o que mudar durante a carga chega na próxima.
+        buscarAlteracoes();
+    }
+
+    private void buscarAlteracoes() {
+        // Uma consulta por vez (o monitor não é para várias threads).
+        if (consultandoAlteracoes) return;
+        consultandoAlteracoes = true;
+
+        // De hora em hora, a consulta também apaga as linhas antigas do jogo_changes.
+        // Na réplica não: lá a tabela é a caixa de saída (quem limpa é o Sincronizador).
+        long agora = System.currentTimeMillis();
+        boolean limpar = !ConnectionFactory.isReplica()
+                && agora - ultimaLimpezaAlteracoes >= MonitorAlteracoes.INTERVALO_LIMPEZA_MS;
+        if (limpar) ultimaLimpezaAlteracoes = agora;
+
+        // Sem cursor de "ocupado": o usuário não pediu esta consulta.
+        tarefas.executarEmSilencio(null, () -> {
+            // Antes de buscar: se a limpeza falhar, nenhum lote já lido se perde.
+            if (limpar) monitor.apagarAntigas();
+
+            MonitorAlteracoes.Lote lote = monitor.buscar();
+
+            // Muita coisa mudou (ou pode ter se perdido): não vale a pena aplicar uma a uma;
+            // pula para o fim (antes de recarregar, para não perder o que mudar durante a carga).
+            if (lote.isMuitas() || lote.isLacuna()) monitor.pularParaFim();
+            return lote;
+
+        }, lote -> {
+            consultandoAlteracoes = false;
+            aplicarAlteracoes(lote);
+
+        }, e -> {
+            // Banco fora do ar: tenta de novo no próximo intervalo, sem mensagem.
+            consultandoAlteracoes = false;
+        });
+    }
+
+    private void aplicarAlteracoes(MonitorAlteracoes.Lote lote) {
+        if (lote.isMuitas() || lote.isLacuna()) {
+            // Ex.: importação de catálogo em outro computador, ou computador suspenso por um dia.
+            recarregarTudo();
+            return;
+        }
+
+        for (MonitorAlteracoes.Alteracao a : lote.getAlteracoes()) {
+            Jogo atual = a.getAtual();
+
+            dao.invalidar(a.getId());
+            modelo.aplicarAlteracaoExterna(a.getId(), atual, a.getOperacao() == JogoDAO.INSERCAO);
+            atualizarIndice(atual, a.getId());
+            if (atual != null) adicionarPlataforma(atual.getPlataforma());
+        }
+
+        if (!lote.getAlteracoes().isEmpty()) atualizarTotal();
+    }
+
+    // Descarta o que está em memória e busca tudo de novo.
+    private void recarregarTudo() {
+        dao.limpar();
+        recarregarTabela();
+        carregarPlataformas();
+        construirIndice();
+    }
+
+    // ==============================
+    // FECHAMENTO DA JANELA
+    // ==============================
+    // windowClosing roda antes do EXIT_ON_CLOSE encerrar o programa.
+    private void configurarFechamento() {
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                encerrar();
+            }
+
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                encerrar();
+            }
+        });
+    }
+
+    // Para o que ainda roda sozinho (pode ser chamado mais de uma vez).
+    // O timer primeiro: depois de encerradas, as threads não aceitam tarefa nova.
+    private void encerrar() {
+        timerAlteracoes.stop();
+        atrasoBusca.stop();
+        if (sincronizador != null) sincronizador.parar();
+        tarefas.encerrar();
+        miniaturas.encerrar();
+    }
+
+    // ==============================
+    // RÉPLICA LOCAL (Sincronizador)
+    // ==============================
+    // As alterações que chegam do servidor entram na réplica e a tela as vê
+    // pelo MonitorAlteracoes, como se fossem de outro computador. Aqui só
+    // ficam os avisos: conflitos, cópia completa e a situação da conexão.
+    private void configurarSincronizacao() {
+        if (!ConnectionFactory.isReplica()) return;
+
+        tituloJanela = getTitle();
+        sincronizador = new Sincronizador(INTERVALO_SINCRONIZACAO_MS);
+
+        // Os avisos chegam na thread do Sincronizador: a tela só muda na EDT.
+        sincronizador.setOuvinte(new Sincronizador.Ouvinte() {
+            @Override
+            public void conflitos(List<ConflitoVersaoException> conflitos) {
+                SwingUtilities.invokeLater(() -> avisarConflitos(conflitos));
+            }
+
+            @Override
+            public void recarregar() {
+                SwingUtilities.invokeLater(TelaProdutosForm.this::recarregarTudo);
+            }
 
-        // Limpa todas as linhas antes de recarregar
-        m.setRowCount(0);
+            @Override
+            public void renumerados(Map<Integer, Integer> ids) {
+                SwingUtilities.invokeLater(() -> renumerarSelecionado(ids));
+            }
+
+            @Override
+            public void estado(boolean conectado, long pendentes) {
+                SwingUtilities.invokeLater(() -> mostrarEstadoSincronizacao(conectado, pendentes));
+            }
+        });
+        sincronizador.iniciar();
+    }
 
-        // Busca lista do banco
-        List<Jogo> lista = dao.listar();
+    // O jogo aberto no formulário foi cadastrado sem conexão e acabou de ganhar
+    // o ID do servidor: sem isto, "Salvar" procuraria o ID provisório, que não existe mais.
+    private void renumerarSelecionado(Map<Integer, Integer> ids) {
+        if (selecionado == null) return;
+        Integer novo = ids.get(selecionado.getId());
+        if (novo != null) selecionado.setId(novo);
+    }
 
-        // Adiciona cada jogo como uma nova linha da tabela
-        for (Jogo j : lista) {
-            m.addRow(new Object[]{ j.getId(), j.getTitulo(), j.getPlataforma(), j.getPreco(), j.getImagemPath() });
+    // Alterações feitas aqui sem conexão que perderam para as do servidor.
+    private void avisarConflitos(List<ConflitoVersaoException> conflitos) {
+        StringBuilder msg = new StringBuilder("Alterações feitas neste computador foram descartadas:\n\n");
+        for (int i = 0; i < conflitos.size() && i < CONFLITOS_LISTADOS; i++) {
+            msg.append("- ").append(conflitos.get(i).getMessage()).append('\n');
         }
+        if (conflitos.size() > CONFLITOS_LISTADOS) {
+            msg.append("... e mais ").append(conflitos.size() - CONFLITOS_LISTADOS).append('\n');
+        }
+        msg.append("\nVale o que está no servidor.");
+        JOptionPane.showMessageDialog(this, msg.toString(), "Sincronização", JOptionPane.WARNING_MESSAGE);
+    }
+
+    // Sem conexão / alterações a enviar: aparece no título da janela.
+    private void mostrarEstadoSincronizacao(boolean conectado, long pendentes) {
+        String titulo = tituloJanela;
+        if (!conectado) titulo += " — sem conexão com o servidor";
+        if (pendentes > 0) titulo += " (" + pendentes + (pendentes == 1 ? " alteração" : " alterações") + " a enviar)";
+        setTitle(titulo);
+    }
+
+    // Preenche o combo com as plataformas cadastradas (em segundo plano).
+    private void carregarPlataformas() {
+        tarefas.executar("plataformas", dao::listarPlataformas, lista -> {
+            Object atual = cmbPlataforma.getSelectedItem();
+
+            carregandoPlataformas = true;
+            cmbPlataforma.removeAllItems();
+            cmbPlataforma.addItem("Todas as plataformas");
+            for (String p : lista) cmbPlataforma.addItem(p);
+            cmbPlataforma.setSelectedItem(atual);
+            if (cmbPlataforma.getSelectedIndex() < 0) cmbPlataforma.setSelectedIndex(0);
+            carregandoPlataformas = false;
+
+        }, this::mostrarErro);
+    }
+
+    // Plataforma nova digitada no cadastro: entra no combo (sem ir ao banco).
+    private void adicionarPlataforma(String plataforma) {
+        for (int i = 1; i < cmbPlataforma.getItemCount(); i++) {
+            if (cmbPlataforma.getItemAt(i).equalsIgnoreCase(plataforma)) return;
+        }
+        carregandoPlataformas = true;
+        cmbPlataforma.addItem(plataforma);
+        carregandoPlataformas = false;
     }
 
     private void mostrarImagem(String caminho, boolean caminhoAbsoluto) {
+        long inicio = System.nanoTime();
         try {
             // Se não tem caminho, mostra texto
             if (caminho == null || caminho.isBlank()) {
+                miniaturas.cancelarExibicao();
                 lblCapa.setIcon(null);
                 lblCapa.setText("Sem imagem");
                 return;
             }
 
-            // Cria um ícone usando o caminho recebido
-            ImageIcon icon = new ImageIcon(caminho);
+            // Se a miniatura já está pronta no cache, mostra na hora
+            ImageIcon pronto = miniaturas.emCache(caminho);
+            if (pronto != null) {
+                miniaturas.cancelarExibicao();
+                lblCapa.setText("");
+                lblCapa.setIcon(pronto);
+                TEMPO_MOSTRAR_IMAGEM.registrar(inicio);
+                return;
+            }
 
-            // Redimensiona a imagem para caber no preview
-            Image img = icon.getImage().getScaledInstance(280, 280, Image.SCALE_SMOOTH);
+            // Senão, lê e redimensiona em segundo plano
+            lblCapa.setIcon(null);
+            lblCapa.setText("Carregando imagem...");
 
-            // Troca o texto pelo ícone
-            lblCapa.setText("");
-            lblCapa.setIcon(new ImageIcon(img));
+            miniaturas.carregar(caminho, icon -> {
+                if (icon == null) {
+                    lblCapa.setIcon(null);
+                    lblCapa.setText("Erro ao carregar imagem");
+                    return;
+                }
+
+                // Troca o texto pelo ícone
+                lblCapa.setText("");
+                lblCapa.setIcon(icon);
+                TEMPO_MOSTRAR_IMAGEM.registrar(inicio);
+            });
 
         } catch (Exception e) {
             // Se deu erro (arquivo não encontrado, etc.)
@@ -257,6 +866,218 @@ public class TelaProdutosForm extends javax.swing.JFrame {
         }
     }
 
+    private void importarCatalogo() {
+        // Escolhe o arquivo do fornecedor
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Escolha o catálogo (CSV ou JSON)");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Catálogo (CSV, JSON)", "csv", "json", "txt"));
+
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        ImportadorCatalogo catalogo;
+        try {
+            catalogo = ImportadorCatalogo.abrir(chooser.getSelectedFile().toPath());
+        } catch (Exception e) {
+            mostrarErro(e);
+            return;
+        }
+
+        // Progresso pelo quanto do arquivo já foi lido (em KB, cabe num int).
+        ProgressMonitor monitor = new ProgressMonitor(this, "Importando catálogo...", "", 0,
+                (int) Math.max(1, catalogo.getTamanhoArquivo() / 1024));
+        monitor.setMillisToDecideToPopup(200);
+
+        btnImportar.setEnabled(false);
+
+        // O ProgressMonitor é da tela: só a EDT lê o "Cancelar" dele
+        // e copia aqui, para a thread da importação.
+        java.util.concurrent.atomic.AtomicBoolean cancelado = new java.util.concurrent.atomic.AtomicBoolean();
+
+        tarefas.executar(null, () -> {
+            try (ImportadorCatalogo c = catalogo) {
+                return dao.inserirLote(c, JogoDAO.TAMANHO_LOTE_PADRAO, inseridos -> {
+
+                    // Atualiza a barra na EDT (a importação continua em segundo plano).
+                    int kb = (int) (c.getBytesLidos() / 1024);
+                    SwingUtilities.invokeLater(() -> {
+                        if (monitor.isCanceled()) cancelado.set(true);
+                        monitor.setProgress(kb);
+                        monitor.setNote(inseridos + " jogos gravados");
+                    });
+
+                    // "Cancelar" interrompe entre um lote e outro.
+                    return !cancelado.get();
+                });
+            }
+        }, inseridos -> {
+            monitor.close();
+            btnImportar.setEnabled(true);
+            if (catalogo.getTotalErros() == 0) {
+                JOptionPane.showMessageDialog(this, inseridos + " jogos importados!", "OK", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                // Linhas com dado inválido foram puladas: mostra quais.
+                StringBuilder msg = new StringBuilder();
+                msg.append(inseridos).append(" jogos importados. ")
+                        .append(catalogo.getTotalErros()).append(" linhas puladas:\n\n");
+                List<String> erros = catalogo.getErros();
+                for (int i = 0; i < erros.size() && i < ERROS_LISTADOS; i++) {
+                    msg.append(erros.get(i)).append('\n');
+                }
+                if (catalogo.getTotalErros() > ERROS_LISTADOS) {
+                    msg.append("... e mais ").append(catalogo.getTotalErros() - ERROS_LISTADOS).append('\n');
+                }
+                JOptionPane.showMessageDialog(this, msg.toString(), "Importação", JOptionPane.WARNING_MESSAGE);
+            }
+            recarregarTabela();
+            carregarPlataformas();
+            construirIndice();
+
+        }, e -> {
+            monitor.close();
+            btnImportar.setEnabled(true);
+            mostrarErro(e);
+
+            // Os lotes gravados antes do erro continuam no banco.
+            recarregarTabela();
+            construirIndice();
+        });
+    }
+
+    private void reajustarPrecos() {
+        // Pede a regra (ver RegraReajuste: plataforma, titulo, preco, ajuste, arredondar)
+        Object texto = JOptionPane.showInputDialog(this,
+                "Regra de reajuste (ex: plataforma=PS5; titulo=fifa; preco=100..300; ajuste=-20%; arredondar=,90):",
+                "Reajustar preços", JOptionPane.QUESTION_MESSAGE, null, null, ultimaRegra);
+        if (texto == null || texto.toString().isBlank()) return;
+        ultimaRegra = texto.toString().trim();
+
+        RegraReajuste regra;
+        try {
+            regra = RegraReajuste.parse(ultimaRegra);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Atenção", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        // A prévia usa o catálogo que já está em memória (o do índice de busca).
+        // Sem índice pronto, lê o catálogo do banco uma vez.
+        List<Jogo> emMemoria = indice != null ? indice.jogos() : null;
+
+        btnReajustar.setEnabled(false);
+
+        tarefas.executar(null, () -> {
+            List<Jogo> catalogo = emMemoria;
+            if (catalogo == null) {
+                catalogo = new ArrayList<>();
+                dao.forEach(catalogo::add);
+            }
+            return regra.previsualizar(catalogo);
+
+        }, alteracoes -> {
+            if (alteracoes.isEmpty()) {
+                btnReajustar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Nenhum preço muda com essa regra.", "Reajustar preços", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+
+            // Confirmação com o resumo da prévia
+            int confirm = JOptionPane.showConfirmDialog(this, resumirPrevia(alteracoes),
+                    "Confirmar reajuste", JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                btnReajustar.setEnabled(true);
+                return;
+            }
+
+            gravarReajuste(alteracoes);
+
+        }, e -> {
+            btnReajustar.setEnabled(true);
+            mostrarErro(e);
+        });
+    }
+
+    // Grava a prévia confirmada (uma transação) e atualiza tabela e índice.
+    private void gravarReajuste(List<RegraReajuste.Alteracao> alteracoes) {
+        tarefas.executar(null, () -> dao.reajustarPrecos(alteracoes), alterados -> {
+            btnReajustar.setEnabled(true);
+
+            for (Jogo j : alterados) atualizarIndice(j, 0);
+            atualizarSelecionado(alterados);
+            recarregarTabela();
+
+            String msg = alterados.size() + " preços reajustados!";
+            int ignorados = alteracoes.size() - alterados.size();
+            if (ignorados > 0) msg += "\n" + ignorados + " jogos mudaram depois da prévia e ficaram como estavam.";
+            JOptionPane.showMessageDialog(this, msg, "OK", JOptionPane.INFORMATION_MESSAGE);
+
+        }, e -> {
+            btnReajustar.setEnabled(true);
+            mostrarErro(e);
+        });
+    }
+
+    // O jogo aberto no formulário também foi reajustado: a edição continua
+    // (o que foi digitado não se perde), só com a versão e o preço novos.
+    private void atualizarSelecionado(List<Jogo> alterados) {
+        if (selecionado == null) return;
+
+        for (Jogo j : alterados) {
+            if (j.getId() != selecionado.getId()) continue;
+
+            // Preço que o usuário não mexeu: mostra o reajustado.
+            if (txtPreco.getText().equals(Preco.formatar(selecionado.getPrecoCentavos()))) {
+                txtPreco.setText(Preco.formatar(j.getPrecoCentavos()));
+            }
+            selecionado = j;
+            return;
+        }
+    }
+
+    // "N jogos, total de R$ x => R$ y" + alguns exemplos.
+    private String resumirPrevia(List<RegraReajuste.Alteracao> alteracoes) {
+        long antes = 0, depois = 0;
+        for (RegraReajuste.Alteracao a : alteracoes) {
+            antes += a.getPrecoAntigo();
+            depois += a.getPrecoNovo();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(alteracoes.size()).append(" jogos terão o preço alterado.\n");
+        sb.append("Soma dos preços: R$ ").append(Preco.formatar(antes))
+          .append(" => R$ ").append(Preco.formatar(depois)).append("\n\n");
+
+        for (int i = 0; i < alteracoes.size() && i < EXEMPLOS_PREVIA; i++) {
+            RegraReajuste.Alteracao a = alteracoes.get(i);
+            sb.append(a.getJogo().getTitulo()).append(" (").append(a.getJogo().getPlataforma()).append("): R$ ");
+            Preco.formatar(a.getPrecoAntigo(), sb).append(" => R$ ");
+            Preco.formatar(a.getPrecoNovo(), sb).append('\n');
+        }
+        if (alteracoes.size() > EXEMPLOS_PREVIA) sb.append("...\n");
+
+        return sb.append("\nGravar?").toString();
+    }
+
+    // Mostra o total de produtos no título do painel.
+    private void atualizarTotal() {
+        long total = modelo.getTotal();
+        if (total == totalExibido) return;
+        totalExibido = total;
+        painelTabela.setBorder(javax.swing.BorderFactory.createTitledBorder(
+                total < 0 ? "Produtos cadastrados" : "Produtos cadastrados (" + total + ")"));
+    }
+
+    // Indicador de ocupado: cursor de espera enquanto o banco trabalha.
+    private void indicarOcupado(boolean ocupado) {
+        setCursor(ocupado
+                ? java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR)
+                : java.awt.Cursor.getDefaultCursor());
+    }
+
+    // Mostra erros que aconteceram na thread de fundo (ex.: banco fora do ar).
+    private void mostrarErro(Exception e) {
+        JOptionPane.showMessageDialog(this, e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+    }
+
     // ===================== EVENTOS DOS BOTÕES =====================
 
     // Botão "Novo" limpa o formulário
@@ -279,6 +1100,22 @@ public class TelaProdutosForm extends javax.swing.JFrame {
         excluir();
     }
 
+    // Botão "Importar catálogo" grava um arquivo CSV/JSON inteiro em lote
+    private void btnImportarActionPerformed(java.awt.event.ActionEvent evt) {
+        importarCatalogo();
+    }
+
+    // Botão "Reajustar preços" aplica uma regra de promoção a vários jogos de uma vez
+    private void btnReajustarActionPerformed(java.awt.event.ActionEvent evt) {
+        reajustarPrecos();
+    }
+
+    // Filtro de plataforma: aplica na hora (não precisa esperar digitação)
+    private void cmbPlataformaActionPerformed(java.awt.event.ActionEvent evt) {
+        if (carregandoPlataformas) return;
+        aplicarBusca();
+    }
+
     // ===================== GUI BUILDER (NETBEANS) =====================
     // Essa parte é gerada automaticamente pelo NetBeans (JForm).
     // Normalmente não editamos manualmente para não quebrar o Designer.
@@ -305,7 +1142,12 @@ public class TelaProdutosForm extends javax.swing.JFrame {
         btnNovo = new javax.swing.JButton();
         btnSalvar = new javax.swing.JButton();
         btnExcluir = new javax.swing.JButton();
+        btnImportar = new javax.swing.JButton();
+        btnReajustar = new javax.swing.JButton();
         painelTabela = new javax.swing.JPanel();
+        lblBusca = new javax.swing.JLabel();
+        txtBusca = new javax.swing.JTextField();
+        cmbPlataforma = new javax.swing.JComboBox<>();
         jScrollPane1 = new javax.swing.JScrollPane();
         tabela = new javax.swing.JTable();
         painelPreview = new javax.swing.JPanel();
@@ -348,7 +1190,7 @@ public class TelaProdutosForm extends javax.swing.JFrame {
 
         jLabel2.setText("Plataforma:");
 
-        jLabel3.setText("Preço (ex: 199.90):");
+        jLabel3.setText("Preço (ex: 199,90):");
 
         jLabel4.setText("Imagem (upload):");
 
@@ -427,6 +1269,20 @@ public class TelaProdutosForm extends javax.swing.JFrame {
             }
         });
 
+        btnImportar.setText("Importar catálogo (CSV/JSON)...");
+        btnImportar.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                btnImportarActionPerformed(evt);
+            }
+        });
+
+        btnReajustar.setText("Reajustar preços...");
+        btnReajustar.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                btnReajustarActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout painelBotoesLayout = new javax.swing.GroupLayout(painelBotoes);
         painelBotoes.setLayout(painelBotoesLayout);
         painelBotoesLayout.setHorizontalGroup(
@@ -437,6 +1293,8 @@ public class TelaProdutosForm extends javax.swing.JFrame {
                 .addComponent(btnSalvar, javax.swing.GroupLayout.DEFAULT_SIZE, 210, Short.MAX_VALUE)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
                 .addComponent(btnExcluir, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE))
+            .addComponent(btnImportar, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addComponent(btnReajustar, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
         );
         painelBotoesLayout.setVerticalGroup(
             painelBotoesLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
@@ -445,11 +1303,26 @@ public class TelaProdutosForm extends javax.swing.JFrame {
                     .addComponent(btnNovo, javax.swing.GroupLayout.PREFERRED_SIZE, 34, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addComponent(btnSalvar, javax.swing.GroupLayout.PREFERRED_SIZE, 34, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addComponent(btnExcluir, javax.swing.GroupLayout.PREFERRED_SIZE, 34, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addComponent(btnImportar, javax.swing.GroupLayout.PREFERRED_SIZE, 30, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(btnReajustar, javax.swing.GroupLayout.PREFERRED_SIZE, 30, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(0, 0, Short.MAX_VALUE))
         );
 
         painelTabela.setBorder(javax.swing.BorderFactory.createTitledBorder("Produtos cadastrados"));
 
+        lblBusca.setText("Buscar:");
+
+        txtBusca.setToolTipText("Título (ou parte dele)");
+
+        cmbPlataforma.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] { "Todas as plataformas" }));
+        cmbPlataforma.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                cmbPlataformaActionPerformed(evt);
+            }
+        });
+
         tabela.setModel(new javax.swing.table.DefaultTableModel(
             new Object [][] {
 
@@ -481,14 +1354,26 @@ public class TelaProdutosForm extends javax.swing.JFrame {
             painelTabelaLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(painelTabelaLayout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 520, Short.MAX_VALUE)
+                .addGroup(painelTabelaLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 520, Short.MAX_VALUE)
+                    .addGroup(painelTabelaLayout.createSequentialGroup()
+                        .addComponent(lblBusca)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(txtBusca)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                        .addComponent(cmbPlataforma, javax.swing.GroupLayout.PREFERRED_SIZE, 170, javax.swing.GroupLayout.PREFERRED_SIZE)))
                 .addContainerGap())
         );
         painelTabelaLayout.setVerticalGroup(
             painelTabelaLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(painelTabelaLayout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 360, Short.MAX_VALUE)
+                .addGroup(painelTabelaLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(lblBusca)
+                    .addComponent(txtBusca, javax.swing.GroupLayout.PREFERRED_SIZE, 28, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(cmbPlataforma, javax.swing.GroupLayout.PREFERRED_SIZE, 28, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(jScrollPane1, javax.swing.GroupLayout.DEFAULT_SIZE, 326, Short.MAX_VALUE)
                 .addContainerGap())
         );
 
@@ -552,13 +1437,17 @@ public class TelaProdutosForm extends javax.swing.JFrame {
     // Variables declaration - do not modify
     private javax.swing.JButton btnEscolherImagem;
     private javax.swing.JButton btnExcluir;
+    private javax.swing.JButton btnImportar;
     private javax.swing.JButton btnNovo;
+    private javax.swing.JButton btnReajustar;
     private javax.swing.JButton btnSalvar;
+    private javax.swing.JComboBox<String> cmbPlataforma;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JLabel jLabel2;
     private javax.swing.JLabel jLabel3;
     private javax.swing.JLabel jLabel4;
     private javax.swing.JScrollPane jScrollPane1;
+    private javax.swing.JLabel lblBusca;
     private javax.swing.JLabel lblCapa;
     private javax.swing.JLabel lblSubtitulo;
     private javax.swing.JLabel lblTitulo;
@@ -568,6 +1457,7 @@ public class TelaProdutosForm extends javax.swing.JFrame {
     private javax.swing.JPanel painelTabela;
     private javax.swing.JPanel painelTopo;
     private javax.swing.JTable tabela;
+    private javax.swing.JTextField txtBusca;
     private javax.swing.JTextField txtImagem;
     private javax.swing.JTextField txtPlataforma;
     private javax.swing.JTextField txtPreco;
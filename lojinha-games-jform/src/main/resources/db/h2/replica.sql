@@ -0,0 +1,45 @@
+-- Réplica local do banco central (modo -Dlojinha.db=replica, dao.Sincronizador).
+--
+-- Mesma estrutura de schema.sql, com três diferenças:
+-- - jogo cadastrado aqui sem conexão recebe ID negativo (-1, -2...): não
+--   colide com os IDs do servidor; ao enviar, ganha o ID definitivo
+-- - jogo_changes também é a caixa de saída: as linhas gravadas pelo JogoDAO
+--   (origem diferente de 'sincronizacao') ainda não foram enviadas ao servidor
+-- - jogo_sync e sync_estado guardam o que o Sincronizador sabe do servidor
+CREATE TABLE IF NOT EXISTS jogo (
+  id INT GENERATED BY DEFAULT AS IDENTITY (START WITH -1 INCREMENT BY -1) PRIMARY KEY,
+  titulo VARCHAR(120) NOT NULL,
+  plataforma VARCHAR(50) NOT NULL,
+  preco DECIMAL(12,2) NOT NULL,
+  imagem_path VARCHAR(255),
+  versao INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_jogo_titulo ON jogo (titulo, id);
+CREATE INDEX IF NOT EXISTS idx_jogo_imagem_path ON jogo (imagem_path);
+CREATE INDEX IF NOT EXISTS idx_jogo_plataforma_preco ON jogo (plataforma, preco);
+
+CREATE TABLE IF NOT EXISTS jogo_changes (
+  seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+  jogo_id INT NOT NULL,
+  operacao CHAR(1) NOT NULL,
+  origem VARCHAR(36) NOT NULL,
+  criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_jogo_changes_criado_em ON jogo_changes (criado_em);
+CREATE INDEX IF NOT EXISTS idx_jogo_changes_jogo ON jogo_changes (jogo_id);
+
+-- Versão de cada jogo no servidor, da última vez que as duas cópias ficaram iguais
+-- (o envio só grava lá se ela ainda for essa: concorrência otimista).
+CREATE TABLE IF NOT EXISTS jogo_sync (
+  id INT PRIMARY KEY,
+  versao INT NOT NULL
+);
+
+-- Posição da sincronização ('recebido' = último seq de jogo_changes do servidor já aplicado aqui;
+-- 'replica' = número aleatório desta réplica, usado na chave de envio dos cadastros).
+CREATE TABLE IF NOT EXISTS sync_estado (
+  chave VARCHAR(20) PRIMARY KEY,
+  valor BIGINT NOT NULL
+);
@@ -0,0 +1,34 @@
+-- Estrutura do banco embutido (H2 no modo MySQL, util.Dialeto.H2).
+--
+-- Roda toda vez que o programa abre o banco (util.ConnectionFactory):
+-- só cria o que ainda não existe. É a mesma estrutura do MySQL depois
+-- dos scripts 001 a 008 de db/mysql, menos o índice FULLTEXT, que o H2
+-- não tem (a busca por palavras vira LIKE no JogoDAO).
+--
+-- Ao mudar a estrutura, mude aqui também (ex.: ALTER TABLE jogo ADD COLUMN IF NOT EXISTS ...).
+CREATE TABLE IF NOT EXISTS jogo (
+  id INT AUTO_INCREMENT PRIMARY KEY,
+  titulo VARCHAR(120) NOT NULL,
+  plataforma VARCHAR(50) NOT NULL,
+  preco DECIMAL(12,2) NOT NULL,
+  imagem_path VARCHAR(255),
+  versao INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_jogo_titulo ON jogo (titulo, id);
+CREATE INDEX IF NOT EXISTS idx_jogo_imagem_path ON jogo (imagem_path);
+CREATE INDEX IF NOT EXISTS idx_jogo_plataforma_preco ON jogo (plataforma, preco);
+
+CREATE TABLE IF NOT EXISTS jogo_changes (
+  seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+  jogo_id INT NOT NULL,
+  operacao CHAR(1) NOT NULL,
+  origem VARCHAR(36) NOT NULL,
+  criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_jogo_changes_criado_em ON jogo_changes (criado_em);
+
+-- Chave de envio dos cadastros vindos de uma réplica (ver db/mysql/008_origem_sync.sql).
+ALTER TABLE jogo ADD COLUMN IF NOT EXISTS origem_sync VARCHAR(40);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_jogo_origem_sync ON jogo (origem_sync);
@@ -0,0 +1,11 @@
+-- Estrutura inicial do banco (a mesma do README).
+CREATE DATABASE IF NOT EXISTS lojinha_games;
+USE lojinha_games;
+
+CREATE TABLE IF NOT EXISTS jogo (
+  id INT AUTO_INCREMENT PRIMARY KEY,
+  titulo VARCHAR(120) NOT NULL,
+  plataforma VARCHAR(50) NOT NULL,
+  preco DECIMAL(10,2) NOT NULL,
+  imagem_path VARCHAR(255)
+);
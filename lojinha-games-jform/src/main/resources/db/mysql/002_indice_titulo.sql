@@ -0,0 +1,6 @@
+-- Índice usado pela listagem paginada (ORDER BY titulo, id).
+-- No InnoDB todo índice secundário já carrega o id (chave primária),
+-- então (titulo) atende o "keyset" (titulo, id) sem ordenar em memória.
+USE lojinha_games;
+
+CREATE INDEX idx_jogo_titulo ON jogo (titulo);
@@ -0,0 +1,6 @@
+-- Índice usado na contagem de referências das imagens.
+-- Com o armazenamento por conteúdo, vários jogos podem usar o mesmo arquivo;
+-- ao excluir um jogo, o DAO conta quantos ainda usam o caminho antes de apagar.
+USE lojinha_games;
+
+CREATE INDEX idx_jogo_imagem_path ON jogo (imagem_path);
@@ -0,0 +1,17 @@
+-- Índices usados pela busca da tela (JogoDAO.buscarPagina).
+--
+-- (plataforma, preco): filtro por plataforma + faixa de preço numa única
+-- varredura de intervalo; também serve o SELECT DISTINCT plataforma do combo.
+--
+-- FULLTEXT (titulo): busca por palavras em qualquer posição do título
+-- ("mario" acha "Super Mario Odyssey") sem percorrer a tabela inteira.
+-- As stopwords ficam desligadas ao criar o índice: títulos como "The Last of Us"
+-- precisam achar "the". Palavras com menos de 3 letras não entram no índice
+-- (innodb_ft_min_token_size); para elas a tela busca pelo começo do título.
+USE lojinha_games;
+
+CREATE INDEX idx_jogo_plataforma_preco ON jogo (plataforma, preco);
+
+SET SESSION innodb_ft_enable_stopword = OFF;
+CREATE FULLTEXT INDEX ft_jogo_titulo ON jogo (titulo);
+SET SESSION innodb_ft_enable_stopword = ON;
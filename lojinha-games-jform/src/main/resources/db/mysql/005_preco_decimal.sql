@@ -0,0 +1,9 @@
+-- Preço exato em centavos (Jogo.precoCentavos, util.Preco).
+--
+-- O Java não usa mais double: lê e grava o DECIMAL via BigDecimal.
+-- A coluna passa a aceitar o mesmo limite do Java (Preco.MAXIMO_CENTAVOS);
+-- o ROUND garante que nenhum valor antigo tenha mais de 2 casas.
+USE lojinha_games;
+
+UPDATE jogo SET preco = ROUND(preco, 2);
+ALTER TABLE jogo MODIFY preco DECIMAL(12,2) NOT NULL;
@@ -0,0 +1,8 @@
+-- Controle de concorrência otimista (JogoDAO.atualizar).
+--
+-- Cada UPDATE soma 1 em "versao" e só acontece se a versão ainda for a que
+-- o usuário carregou: dois balconistas editando o mesmo jogo não apagam
+-- a alteração um do outro sem aviso, e nenhuma linha fica travada.
+USE lojinha_games;
+
+ALTER TABLE jogo ADD COLUMN versao INT NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- Registro de alterações (dao.MonitorAlteracoes).
+--
+-- Cada INSERT/UPDATE/DELETE do JogoDAO grava aqui uma linha, na mesma
+-- transação. As telas abertas em outros computadores pedem só as linhas
+-- com seq maior que o último que viram (intervalo da chave primária)
+-- em vez de recarregar a tabela jogo inteira.
+--
+-- operacao: I = inserido, U = alterado, D = excluído
+-- origem:   identifica o programa que gravou (JogoDAO.ORIGEM), para ele ignorar o próprio eco
+--
+-- As telas só precisam das linhas recentes: o próprio programa apaga, de hora
+-- em hora, as que têm mais de 1 dia (MonitorAlteracoes.apagarAntigas).
+USE lojinha_games;
+
+CREATE TABLE IF NOT EXISTS jogo_changes (
+  seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+  jogo_id INT NOT NULL,
+  operacao CHAR(1) NOT NULL,
+  origem VARCHAR(36) NOT NULL,
+  criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  INDEX idx_jogo_changes_criado_em (criado_em)
+);
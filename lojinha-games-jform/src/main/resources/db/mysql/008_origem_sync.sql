@@ -0,0 +1,13 @@
+-- Chave de envio dos cadastros feitos na réplica local (dao.Sincronizador).
+--
+-- O Sincronizador grava no servidor e depois confirma na réplica, em duas
+-- transações. Se o programa cair entre as duas, o cadastro é enviado de novo
+-- na próxima rodada: com a chave (número da réplica + ID provisório) o
+-- servidor acha o jogo já gravado em vez de cadastrá-lo outra vez.
+--
+-- NULL nos jogos cadastrados direto no servidor (o índice UNIQUE aceita vários NULL).
+USE lojinha_games;
+
+ALTER TABLE jogo
+  ADD COLUMN origem_sync VARCHAR(40) NULL,
+  ADD UNIQUE INDEX uk_jogo_origem_sync (origem_sync);